@@ -0,0 +1,261 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.processor;
+
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.DslMethod;
+import com.lmax.simpledsl.api.ParseError;
+import com.lmax.simpledsl.api.ParseResult;
+import com.lmax.simpledsl.internal.DslParamsParser;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Checks calls to {@link DslMethod} methods made with literal values while compiling.
+ * <p>
+ * Each call whose values are all compile-time constants is parsed against the {@link DslArg DslArgs} read from the
+ * called method's source, and every {@link ParseError} found is reported as a compile error at the call. Calls to
+ * methods whose source is not part of the compilation, such as those in a jar, are not checked, and a note names each
+ * such method.
+ * <p>
+ * The processor relies on the compiler's tree API, so needs a Java 11 or later {@code javac}. It is shipped in its own
+ * artifact, which registers it as a service, so it runs when added to the annotation processor path:
+ *
+ * <pre>{@code
+ *   dependencies {
+ *       annotationProcessor 'com.lmax:simple-dsl-processor:<version>'
+ *   }
+ * }</pre>
+ */
+@SupportedAnnotationTypes("com.lmax.simpledsl.api.DslMethod")
+public final class DslCallSiteProcessor extends AbstractProcessor
+{
+    private final Map<String, Optional<DslArg[]>> schemas = new HashMap<>();
+    private Trees trees;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv)
+    {
+        super.init(processingEnv);
+        try
+        {
+            trees = Trees.instance(processingEnv);
+            JavacTask.instance(processingEnv).addTaskListener(new CallSiteListener());
+        }
+        catch (final IllegalArgumentException e)
+        {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "DSL call sites can only be checked by javac");
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv)
+    {
+        if (trees != null)
+        {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(DslMethod.class))
+            {
+                if (element.getKind() == ElementKind.METHOD)
+                {
+                    schemaFor((ExecutableElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void checkCallSite(final MethodInvocationTree invocation, final ExecutableElement method, final TreePath path)
+    {
+        final String[] args = constantArgs(invocation, method, path);
+        final DslArg[] dslArgs = args != null ? schemaFor(method) : null;
+        if (dslArgs == null)
+        {
+            return;
+        }
+
+        final ParseResult result = new DslParamsParser().tryParse(args, true, dslArgs);
+        if (!result.isSuccess())
+        {
+            for (final ParseError error : result.getErrors())
+            {
+                trees.printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "Invalid arguments for " + method.getSimpleName() + ": " + error.getMessage(),
+                        invocation,
+                        path.getCompilationUnit());
+            }
+        }
+    }
+
+    private String[] constantArgs(final MethodInvocationTree invocation, final ExecutableElement method, final TreePath path)
+    {
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final TypeMirror valuesType = parameters.isEmpty() ? null : parameters.get(parameters.size() - 1).asType();
+        final boolean stringValues = method.isVarArgs() && valuesType instanceof ArrayType &&
+                "java.lang.String".equals(((ArrayType) valuesType).getComponentType().toString());
+        if (!stringValues)
+        {
+            return null;
+        }
+
+        final List<? extends ExpressionTree> arguments = invocation.getArguments();
+        final String[] args = new String[arguments.size() - parameters.size() + 1];
+        for (int i = 0; i < args.length; i++)
+        {
+            final Object value = constantValue(arguments.get(parameters.size() - 1 + i), path);
+            if (!(value instanceof String))
+            {
+                return null;
+            }
+            args[i] = (String) value;
+        }
+        return args;
+    }
+
+    private Object constantValue(final ExpressionTree tree, final TreePath path)
+    {
+        final Object value;
+        if (tree instanceof LiteralTree)
+        {
+            value = ((LiteralTree) tree).getValue();
+        }
+        else if (tree instanceof ParenthesizedTree)
+        {
+            value = constantValue(((ParenthesizedTree) tree).getExpression(), path);
+        }
+        else if (tree.getKind() == Tree.Kind.PLUS)
+        {
+            final Object left = constantValue(((BinaryTree) tree).getLeftOperand(), path);
+            final Object right = constantValue(((BinaryTree) tree).getRightOperand(), path);
+            value = left != null && right != null && (left instanceof String || right instanceof String) ? String.valueOf(left) + right : null;
+        }
+        else
+        {
+            final Element element = trees.getElement(new TreePath(path, tree));
+            value = element instanceof VariableElement ? ((VariableElement) element).getConstantValue() : null;
+        }
+        return value;
+    }
+
+    /**
+     * Find the {@link DslArg DslArgs} of a method, which are read while processing annotations as the compiler may
+     * discard the method's source once its class has been generated.
+     */
+    private DslArg[] schemaFor(final ExecutableElement method)
+    {
+        final String key = ((TypeElement) method.getEnclosingElement()).getQualifiedName() + "#" + method;
+        return schemas.computeIfAbsent(key, unused -> readSchema(method)).orElse(null);
+    }
+
+    private Optional<DslArg[]> readSchema(final ExecutableElement method)
+    {
+        final MethodTree methodTree = trees.getTree(method);
+        final ClassTree classTree = trees.getTree((TypeElement) method.getEnclosingElement());
+        if (methodTree == null || classTree == null)
+        {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.NOTE,
+                    "Calls to " + method.getEnclosingElement() + "." + method.getSimpleName() + " are not checked, as its source is not part of this compilation");
+            return Optional.empty();
+        }
+
+        final Map<String, VariableTree> fields = new HashMap<>();
+        for (final Tree member : classTree.getMembers())
+        {
+            if (member instanceof VariableTree)
+            {
+                fields.put(((VariableTree) member).getName().toString(), (VariableTree) member);
+            }
+        }
+
+        final DslArg[] dslArgs = new SchemaReader(fields).read(methodTree, method.getAnnotation(DslMethod.class).schema());
+        if (dslArgs == null)
+        {
+            trees.printMessage(
+                    Diagnostic.Kind.WARNING,
+                    "Unable to read the DslArgs of " + method.getSimpleName() + ", so calls to it are not checked",
+                    methodTree,
+                    trees.getPath(method).getCompilationUnit());
+        }
+        return Optional.ofNullable(dslArgs);
+    }
+
+    private final class CallSiteListener implements TaskListener
+    {
+        @Override
+        public void finished(final TaskEvent event)
+        {
+            if (event.getKind() == TaskEvent.Kind.ANALYZE && event.getTypeElement() != null)
+            {
+                new CallSiteScanner().scan(trees.getPath(event.getTypeElement()), null);
+            }
+        }
+    }
+
+    private final class CallSiteScanner extends TreePathScanner<Void, Void>
+    {
+        @Override
+        public Void visitMethodInvocation(final MethodInvocationTree node, final Void unused)
+        {
+            final Element element = trees.getElement(getCurrentPath());
+            if (element != null && element.getKind() == ElementKind.METHOD && element.getAnnotation(DslMethod.class) != null)
+            {
+                checkCallSite(node, (ExecutableElement) element, getCurrentPath());
+            }
+            return super.visitMethodInvocation(node, unused);
+        }
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.processor;
+
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.DslSchema;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewArrayTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the {@link DslArg DslArgs} declared in the source of a DSL method by evaluating the expressions that build
+ * them.
+ * <p>
+ * Only literals, arrays and the constructors and methods of the public {@code com.lmax.simpledsl.api} classes are
+ * evaluated, which covers {@link DslArg DslArgs} written as they are in the documentation. Anything else - a constant
+ * from another class, an enum's values or a helper method - can not be evaluated without running the code being
+ * compiled, so the {@link DslArg DslArgs} are reported as unknown.
+ */
+final class SchemaReader
+{
+    private static final String API_PACKAGE = "com.lmax.simpledsl.api.";
+    private static final Object UNKNOWN = new Object();
+
+    private final Map<String, VariableTree> fields;
+
+    /**
+     * Create a reader for the methods of one class.
+     *
+     * @param fields the fields declared by the class, by name, used to find {@link DslSchema DslSchemas}.
+     */
+    SchemaReader(final Map<String, VariableTree> fields)
+    {
+        this.fields = fields;
+    }
+
+    /**
+     * Read the {@link DslArg DslArgs} that a method parses its values with.
+     *
+     * @param method     the method.
+     * @param schemaName the name of the field holding the method's {@link DslSchema}, or an empty {@link String} to
+     *                   look for the {@link DslArg DslArgs} in the method's body.
+     * @return the {@link DslArg DslArgs}, or {@literal null} if they can not be read.
+     */
+    DslArg[] read(final MethodTree method, final String schemaName)
+    {
+        if (!schemaName.isEmpty())
+        {
+            return fieldSchema(schemaName);
+        }
+
+        final List<? extends VariableTree> parameters = method.getParameters();
+        if (method.getBody() == null || parameters.isEmpty())
+        {
+            return null;
+        }
+
+        final String valuesName = parameters.get(parameters.size() - 1).getName().toString();
+        final DslArg[][] found = new DslArg[1][];
+        new TreeScanner<Void, Void>()
+        {
+            @Override
+            public Void visitNewClass(final NewClassTree node, final Void unused)
+            {
+                if (found[0] == null && "DslSchema".equals(simpleName(node.getIdentifier())))
+                {
+                    found[0] = schemaArgs(evaluate(node));
+                }
+                return found[0] == null ? super.visitNewClass(node, unused) : null;
+            }
+
+            @Override
+            public Void visitMethodInvocation(final MethodInvocationTree node, final Void unused)
+            {
+                if (found[0] == null && passesValues(node, valuesName))
+                {
+                    found[0] = invocationArgs(node, valuesName);
+                }
+                return found[0] == null ? super.visitMethodInvocation(node, unused) : null;
+            }
+        }.scan(method.getBody(), null);
+        return found[0];
+    }
+
+    private DslArg[] fieldSchema(final String name)
+    {
+        final VariableTree field = fields.get(name);
+        return field != null && field.getInitializer() != null ? schemaArgs(evaluate(field.getInitializer())) : null;
+    }
+
+    private DslArg[] invocationArgs(final MethodInvocationTree node, final String valuesName)
+    {
+        final List<? extends ExpressionTree> arguments = node.getArguments();
+        final ExpressionTree select = node.getMethodSelect();
+        final String target = select instanceof MemberSelectTree ? simpleName(((MemberSelectTree) select).getExpression()) : null;
+        if (arguments.size() == 1 && fields.containsKey(target))
+        {
+            return fieldSchema(target);
+        }
+
+        final List<DslArg> dslArgs = new ArrayList<>();
+        for (final ExpressionTree argument : arguments)
+        {
+            final Object value = valuesName.equals(simpleName(argument)) ? valuesName : evaluate(argument);
+            if (value instanceof DslArg)
+            {
+                dslArgs.add((DslArg) value);
+            }
+            else if (value instanceof DslArg[])
+            {
+                dslArgs.addAll(Arrays.asList((DslArg[]) value));
+            }
+            else if (!(value instanceof Boolean) && !(value instanceof String))
+            {
+                return null;
+            }
+        }
+        return dslArgs.isEmpty() ? null : dslArgs.toArray(new DslArg[0]);
+    }
+
+    private static boolean passesValues(final MethodInvocationTree node, final String valuesName)
+    {
+        final ExpressionTree select = node.getMethodSelect();
+        final String methodName = select instanceof MemberSelectTree ? ((MemberSelectTree) select).getIdentifier().toString() : "";
+        final boolean parseMethod = "create".equals(methodName) || methodName.startsWith("parse") || methodName.startsWith("tryParse");
+        return parseMethod && node.getArguments().stream().anyMatch(argument -> valuesName.equals(simpleName(argument)));
+    }
+
+    private static DslArg[] schemaArgs(final Object schema)
+    {
+        return schema instanceof DslSchema ? ((DslSchema) schema).getArgs() : null;
+    }
+
+    private Object evaluate(final ExpressionTree tree)
+    {
+        final Object value;
+        switch (tree.getKind())
+        {
+            case STRING_LITERAL:
+            case INT_LITERAL:
+            case LONG_LITERAL:
+            case BOOLEAN_LITERAL:
+            case CHAR_LITERAL:
+                value = ((LiteralTree) tree).getValue();
+                break;
+            case PARENTHESIZED:
+                value = evaluate(((ParenthesizedTree) tree).getExpression());
+                break;
+            case UNARY_MINUS:
+                value = negate(evaluate(((UnaryTree) tree).getExpression()));
+                break;
+            case NEW_CLASS:
+                value = construct((NewClassTree) tree);
+                break;
+            case NEW_ARRAY:
+                value = newArray((NewArrayTree) tree);
+                break;
+            case METHOD_INVOCATION:
+                value = invoke((MethodInvocationTree) tree);
+                break;
+            default:
+                value = UNKNOWN;
+                break;
+        }
+        return value;
+    }
+
+    private static Object negate(final Object value)
+    {
+        final Object negated;
+        if (value instanceof Integer)
+        {
+            negated = -(Integer) value;
+        }
+        else
+        {
+            negated = value instanceof Long ? (Object) (-(Long) value) : UNKNOWN;
+        }
+        return negated;
+    }
+
+    private Object construct(final NewClassTree tree)
+    {
+        final Class<?> type = apiClass(tree.getIdentifier());
+        final Object[] arguments = evaluateAll(tree.getArguments());
+        if (type == null || arguments == null || tree.getClassBody() != null)
+        {
+            return UNKNOWN;
+        }
+
+        for (final Constructor<?> constructor : type.getConstructors())
+        {
+            final Object[] adapted = adapt(constructor, arguments);
+            if (adapted != null)
+            {
+                return call(constructor, null, adapted);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private Object newArray(final NewArrayTree tree)
+    {
+        final Class<?> componentType = tree.getType() != null ? apiClass(tree.getType()) : null;
+        final Object[] elements = tree.getInitializers() != null ? evaluateAll(tree.getInitializers()) : null;
+        if (componentType == null || elements == null)
+        {
+            return UNKNOWN;
+        }
+
+        final Object array = Array.newInstance(componentType, elements.length);
+        for (int i = 0; i < elements.length; i++)
+        {
+            if (!componentType.isInstance(elements[i]))
+            {
+                return UNKNOWN;
+            }
+            Array.set(array, i, elements[i]);
+        }
+        return array;
+    }
+
+    private Object invoke(final MethodInvocationTree tree)
+    {
+        if (!(tree.getMethodSelect() instanceof MemberSelectTree))
+        {
+            return UNKNOWN;
+        }
+
+        final MemberSelectTree select = (MemberSelectTree) tree.getMethodSelect();
+        final Class<?> staticType = apiClass(select.getExpression());
+        final Object target = staticType == null ? evaluate(select.getExpression()) : null;
+        final Class<?> type = staticType != null ? staticType : target.getClass();
+        final Object[] arguments = evaluateAll(tree.getArguments());
+        if (arguments == null || !type.getName().startsWith(API_PACKAGE))
+        {
+            return UNKNOWN;
+        }
+
+        for (final Method method : type.getMethods())
+        {
+            final boolean isStatic = Modifier.isStatic(method.getModifiers());
+            final Object[] adapted = method.getName().contentEquals(select.getIdentifier()) && isStatic == (target == null) ? adapt(method, arguments) : null;
+            if (adapted != null)
+            {
+                return call(method, target, adapted);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private Object[] evaluateAll(final List<? extends ExpressionTree> trees)
+    {
+        final Object[] values = new Object[trees.size()];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = evaluate(trees.get(i));
+            if (values[i] == UNKNOWN)
+            {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    private static Object[] adapt(final Executable executable, final Object[] arguments)
+    {
+        final Class<?>[] parameterTypes = executable.getParameterTypes();
+        final int fixedCount = executable.isVarArgs() ? parameterTypes.length - 1 : parameterTypes.length;
+        final boolean spread = executable.isVarArgs() &&
+                !(arguments.length == parameterTypes.length && parameterTypes[fixedCount].isInstance(arguments[fixedCount]));
+        if (spread ? arguments.length < fixedCount : arguments.length != parameterTypes.length)
+        {
+            return null;
+        }
+
+        final Object[] adapted = new Object[parameterTypes.length];
+        for (int i = 0; i < adapted.length; i++)
+        {
+            adapted[i] = spread && i == fixedCount ? spread(parameterTypes[i].getComponentType(), arguments, fixedCount) : coerce(parameterTypes[i], arguments[i]);
+            if (adapted[i] == UNKNOWN)
+            {
+                return null;
+            }
+        }
+        return adapted;
+    }
+
+    private static Object spread(final Class<?> componentType, final Object[] arguments, final int start)
+    {
+        final Object array = Array.newInstance(componentType, arguments.length - start);
+        for (int i = start; i < arguments.length; i++)
+        {
+            final Object element = coerce(componentType, arguments[i]);
+            if (element == UNKNOWN)
+            {
+                return UNKNOWN;
+            }
+            Array.set(array, i - start, element);
+        }
+        return array;
+    }
+
+    private static Object coerce(final Class<?> type, final Object value)
+    {
+        final Object coerced;
+        if (type == int.class || type == Integer.class)
+        {
+            coerced = value instanceof Integer ? value : UNKNOWN;
+        }
+        else if (type == long.class || type == Long.class)
+        {
+            coerced = value instanceof Integer || value instanceof Long ? (Object) ((Number) value).longValue() : UNKNOWN;
+        }
+        else if (type == boolean.class)
+        {
+            coerced = value instanceof Boolean ? value : UNKNOWN;
+        }
+        else
+        {
+            coerced = !type.isPrimitive() && (value == null || type.isInstance(value)) ? value : UNKNOWN;
+        }
+        return coerced;
+    }
+
+    private static Object call(final Executable executable, final Object target, final Object[] arguments)
+    {
+        try
+        {
+            return executable instanceof Constructor
+                    ? ((Constructor<?>) executable).newInstance(arguments)
+                    : ((Method) executable).invoke(target, arguments);
+        }
+        catch (final InstantiationException | IllegalAccessException | InvocationTargetException e)
+        {
+            return UNKNOWN;
+        }
+    }
+
+    private static Class<?> apiClass(final Tree tree)
+    {
+        final String name = tree.toString();
+        final String className = name.startsWith(API_PACKAGE) ? name : API_PACKAGE + name;
+        Class<?> type;
+        try
+        {
+            type = "String".equals(name) || "java.lang.String".equals(name) ? String.class : Class.forName(className, false, SchemaReader.class.getClassLoader());
+        }
+        catch (final ClassNotFoundException e)
+        {
+            type = null;
+        }
+        return type;
+    }
+
+    private static String simpleName(final Tree tree)
+    {
+        final String name;
+        if (tree instanceof IdentifierTree)
+        {
+            name = ((IdentifierTree) tree).getName().toString();
+        }
+        else
+        {
+            name = tree instanceof MemberSelectTree ? ((MemberSelectTree) tree).getIdentifier().toString() : null;
+        }
+        return name;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.processor;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DslCallSiteProcessorTest
+{
+    private static final String DSL = String.join("\n",
+            "package test;",
+            "import com.lmax.simpledsl.api.*;",
+            "public class Orders {",
+            "    private static final DslSchema CANCEL = new DslSchema(new RequiredArg(\"orderId\"));",
+            "    @DslMethod",
+            "    public void place(final String... args) {",
+            "        DslParams.create(args, new RequiredArg(\"side\").setAllowedValues(\"buy\", \"sell\"), IntArg.required(\"quantity\").setMin(1));",
+            "    }",
+            "    @DslMethod(schema = \"CANCEL\")",
+            "    public void cancel(final String... args) {",
+            "        CANCEL.parse(args);",
+            "    }",
+            "    @DslMethod",
+            "    public void unreadable(final String... args) {",
+            "        DslParams.create(args, EnumArg.required(\"state\", Thread.State.class));",
+            "    }",
+            "}");
+
+    private final List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+
+    @Test
+    public void shouldAcceptValidLiteralCalls() throws IOException
+    {
+        compile(
+                "o.place(\"side: buy\", \"quantity: 10\");",
+                "o.place(\"sell\", \"quantity\" + \": 5\");",
+                "o.place(\"side: BUY\", \"quantity: 1\");",
+                "o.cancel(\"orderId: 7\");");
+
+        assertEquals(0, count(Diagnostic.Kind.ERROR), diagnostics.toString());
+    }
+
+    @Test
+    public void shouldReportInvalidLiteralCallsAsErrors() throws IOException
+    {
+        compile(
+                "o.place(\"side: hold\", \"quantity: 1\");",
+                "o.place(\"side: buy\", \"quantity: 1\", \"colour: red\");",
+                "o.place(\"side: buy\");",
+                "o.cancel(\"orderId: 1\", \"orderId: 2\");");
+
+        final List<String> messages = messages(Diagnostic.Kind.ERROR);
+        assertTrue(messages.contains("Invalid arguments for place: side parameter value 'hold' must be one of: [buy, sell]"), messages.toString());
+        assertTrue(messages.contains("Invalid arguments for place: Unexpected argument colour: red"), messages.toString());
+        assertTrue(messages.contains("Invalid arguments for place: Missing value for parameter: quantity"), messages.toString());
+        assertTrue(messages.contains("Invalid arguments for cancel: Multiple orderId parameters are not allowed"), messages.toString());
+        assertEquals(5, messages.size(), messages.toString());
+    }
+
+    @Test
+    public void shouldIgnoreCallsThatCanNotBeChecked() throws IOException
+    {
+        compile(
+                "o.place(dynamic);",
+                "o.place(\"side: \" + dynamic, \"quantity: 1\");",
+                "o.unreadable(\"state: nonsense\");");
+
+        assertEquals(0, count(Diagnostic.Kind.ERROR), diagnostics.toString());
+        assertEquals(
+                Arrays.asList("Unable to read the DslArgs of unreadable, so calls to it are not checked"),
+                messages(Diagnostic.Kind.WARNING));
+    }
+
+    @Test
+    public void shouldNoteCallsToMethodsWhoseSourceIsNotCompiled() throws IOException
+    {
+        final Path sources = Files.createTempDirectory("dsl-sources");
+        final Path dslClasses = javac(System.getProperty("java.class.path"), writeDsl(sources));
+        diagnostics.clear();
+
+        javac(System.getProperty("java.class.path") + File.pathSeparator + dslClasses, writeCaller(sources, "o.place(\"side: hold\", \"quantity: 1\");"));
+
+        assertEquals(0, count(Diagnostic.Kind.ERROR), diagnostics.toString());
+        assertEquals(
+                Arrays.asList("Calls to test.Orders.place are not checked, as its source is not part of this compilation"),
+                messages(Diagnostic.Kind.NOTE));
+    }
+
+    private void compile(final String... calls) throws IOException
+    {
+        final Path sources = Files.createTempDirectory("dsl-sources");
+        javac(System.getProperty("java.class.path"), writeDsl(sources), writeCaller(sources, calls));
+    }
+
+    private static Path writeDsl(final Path sources) throws IOException
+    {
+        return Files.write(sources.resolve("Orders.java"), DSL.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path writeCaller(final Path sources, final String... calls) throws IOException
+    {
+        return Files.write(sources.resolve("Caller.java"), String.join("\n",
+                "package test;",
+                "class Caller {",
+                "    void run(final Orders o, final String dynamic) {",
+                String.join("\n", calls),
+                "    }",
+                "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path javac(final String classpath, final Path... sources) throws IOException
+    {
+        final Path output = Files.createTempDirectory("dsl-classes");
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(collector, null, StandardCharsets.UTF_8))
+        {
+            final List<File> files = new ArrayList<>();
+            for (final Path source : sources)
+            {
+                files.add(source.toFile());
+            }
+            compiler.getTask(
+                    null,
+                    fileManager,
+                    collector,
+                    Arrays.asList(
+                            "-classpath", classpath,
+                            "-processor", "com.lmax.simpledsl.processor.DslCallSiteProcessor",
+                            "-d", output.toString()),
+                    null,
+                    fileManager.getJavaFileObjectsFromFiles(files)).call();
+        }
+        diagnostics.addAll(collector.getDiagnostics());
+        return output;
+    }
+
+    private long count(final Diagnostic.Kind kind)
+    {
+        return messages(kind).size();
+    }
+
+    private List<String> messages(final Diagnostic.Kind kind)
+    {
+        final List<String> messages = new ArrayList<>();
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics)
+        {
+            if (diagnostic.getKind() == kind)
+            {
+                messages.add(diagnostic.getMessage(null));
+            }
+        }
+        return messages;
+    }
+}
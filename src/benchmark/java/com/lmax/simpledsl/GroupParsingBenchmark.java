@@ -0,0 +1,111 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl;
+
+import com.lmax.simpledsl.api.DslSchema;
+import com.lmax.simpledsl.api.OptionalArg;
+import com.lmax.simpledsl.api.RepeatingArgGroup;
+import com.lmax.simpledsl.api.RequiredArg;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how the cost of parsing a five argument {@link RepeatingArgGroup} grows with the number of rows, from 10 to
+ * 1,000,000.
+ * <p>
+ * Each size is parsed repeatedly after warming up, and the time per row is reported both in total and excluding garbage
+ * collection. Once a group is too large for its rows to die young, collecting them dominates the total, so the time
+ * excluding collection is the better measure of the parser itself. Run with {@code ./gradlew groupParsingBenchmark}.
+ */
+public final class GroupParsingBenchmark
+{
+    private static final int[] ROW_COUNTS = {10, 100, 1_000, 10_000, 100_000, 1_000_000};
+    private static final int ARGS_PER_ROW = 5;
+    private static final int ROWS_PER_SIZE = 2_000_000;
+    private static final int WARM_UP_PARSES = 3;
+    private static final int VENUES = 7;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final DslSchema SCHEMA = new DslSchema(
+            new RepeatingArgGroup(
+                    new RequiredArg("instrument"),
+                    new OptionalArg("price"),
+                    new OptionalArg("quantity"),
+                    new OptionalArg("side").setAllowedValues("buy", "sell"),
+                    new OptionalArg("venue")));
+
+    private GroupParsingBenchmark()
+    {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args ignored.
+     */
+    public static void main(final String[] args)
+    {
+        System.out.printf("%10s %12s %16s %16s%n", "rows", "parses", "ns/row", "ns/row (no GC)");
+        for (final int rowCount : ROW_COUNTS)
+        {
+            final String[] groupArgs = createArgs(rowCount);
+            final int parses = Math.max(1, ROWS_PER_SIZE / rowCount);
+            for (int i = 0; i < WARM_UP_PARSES; i++)
+            {
+                SCHEMA.parse(groupArgs);
+            }
+
+            final long startGcNanos = gcNanos();
+            final long start = System.nanoTime();
+            for (int i = 0; i < parses; i++)
+            {
+                SCHEMA.parse(groupArgs);
+            }
+            final long elapsed = System.nanoTime() - start;
+            final long gc = gcNanos() - startGcNanos;
+
+            final double rowsParsed = (double) rowCount * parses;
+            System.out.printf("%10d %12d %16.1f %16.1f%n", rowCount, parses, elapsed / rowsParsed, (elapsed - gc) / rowsParsed);
+        }
+    }
+
+    private static String[] createArgs(final int rowCount)
+    {
+        final String[] args = new String[rowCount * ARGS_PER_ROW];
+        int index = 0;
+        for (int row = 0; row < rowCount; row++)
+        {
+            args[index++] = "instrument: I" + row;
+            args[index++] = "price: 1." + row;
+            args[index++] = "quantity: " + row;
+            args[index++] = row % 2 == 0 ? "side: buy" : "side: sell";
+            args[index++] = "venue: V" + row % VENUES;
+        }
+        return args;
+    }
+
+    private static long gcNanos()
+    {
+        long millis = 0;
+        for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis * NANOS_PER_MILLI;
+    }
+}
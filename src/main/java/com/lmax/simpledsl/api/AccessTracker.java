@@ -0,0 +1,132 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.AccessCounts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks which parameters are read from parsed {@link DslParams}, to find parameters that callers supply but the DSL
+ * never reads.
+ * <p>
+ * Each parsed {@link DslParams}, and each row of a repeating group, records its own reads in a small bitset. The first
+ * read of each parameter is added to totals kept for each schema, so a single tracker can gather usage across a full
+ * test run. Schemas that share a name but accept different arguments are counted separately:
+ *
+ * <pre>{@code
+ *   private static final AccessTracker ACCESS_TRACKER = new AccessTracker();
+ *   private static final DslSchema PLACE_ORDER = new DslSchema(...).withAccessTracker(ACCESS_TRACKER);
+ *
+ *   @AfterAll
+ *   public static void reportUnusedParams() {
+ *       System.out.println(ACCESS_TRACKER.report());
+ *   }
+ * }</pre>
+ */
+public final class AccessTracker
+{
+    private final AccessCounts counts = new AccessCounts();
+
+    /**
+     * Get the parameters that were supplied by callers but never read.
+     *
+     * @return the unused parameters.
+     */
+    public List<UnusedParam> getUnusedParams()
+    {
+        final List<UnusedParam> unusedParams = new ArrayList<>();
+        counts.forEachUnusedParam((signature, paramName, suppliedCount) -> unusedParams.add(new UnusedParam(signature, paramName, suppliedCount)));
+        unusedParams.sort((a, b) -> a.toString().compareTo(b.toString()));
+        return unusedParams;
+    }
+
+    /**
+     * Describe the parameters that were supplied by callers but never read, one per line.
+     *
+     * @return the report.
+     */
+    public String report()
+    {
+        final StringBuilder report = new StringBuilder();
+        for (final UnusedParam unusedParam : getUnusedParams())
+        {
+            report.append(unusedParam).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    AccessCounts getCounts()
+    {
+        return counts;
+    }
+
+    /**
+     * A parameter that was supplied by callers but never read.
+     */
+    public static final class UnusedParam
+    {
+        private final String signature;
+        private final String paramName;
+        private final long suppliedCount;
+
+        UnusedParam(final String signature, final String paramName, final long suppliedCount)
+        {
+            this.signature = signature;
+            this.paramName = paramName;
+            this.suppliedCount = suppliedCount;
+        }
+
+        /**
+         * Get the name of the schema, or of the schema and group, that declares the parameter.
+         *
+         * @return the signature.
+         */
+        public String getSignature()
+        {
+            return signature;
+        }
+
+        /**
+         * Get the name of the parameter.
+         *
+         * @return the parameter name.
+         */
+        public String getParamName()
+        {
+            return paramName;
+        }
+
+        /**
+         * Get the number of times a value was supplied for the parameter.
+         *
+         * @return the supplied count.
+         */
+        public long getSuppliedCount()
+        {
+            return suppliedCount;
+        }
+
+        @Override
+        public String toString()
+        {
+            return signature + ": " + paramName + " supplied " + suppliedCount + " times but never read";
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * An argument whose values are {@code boolean}.
+ * <p>
+ * The allowed values are {@code true} and {@code false}, matched ignoring case:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args, BooleanArg.optional("active").setDefault("true"));
+ *   boolean active = params.valueAsBoolean("active");
+ * }</pre>
+ */
+public final class BooleanArg extends TypedArg<Boolean>
+{
+    private BooleanArg(final String name, final boolean required)
+    {
+        super(name, required, Boolean.class);
+        setAllowedValues(Boolean.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static BooleanArg required(final String name)
+    {
+        return new BooleanArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static BooleanArg optional(final String name)
+    {
+        return new BooleanArg(name, false);
+    }
+
+    @Override
+    public BooleanArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public BooleanArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public BooleanArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public BooleanArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
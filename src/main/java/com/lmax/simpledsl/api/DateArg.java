@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.time.LocalDate;
+
+/**
+ * An argument whose values are dates, held as the number of days since the epoch.
+ * <p>
+ * Values are parsed as they are supplied, using {@link #setFormat(TemporalFormat) the format} of the argument:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args, DateArg.required("expiry").setPattern("dd/MM/yyyy"));
+ *   long expiry = params.valueAsEpochDay("expiry");
+ * }</pre>
+ */
+public final class DateArg extends TemporalArg<LocalDate>
+{
+    private DateArg(final String name, final boolean required)
+    {
+        super(name, required, LocalDate.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DateArg required(final String name)
+    {
+        return new DateArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DateArg optional(final String name)
+    {
+        return new DateArg(name, false);
+    }
+
+    @Override
+    public DateArg setFormat(final TemporalFormat format)
+    {
+        super.setFormat(format);
+        return this;
+    }
+
+    @Override
+    public DateArg setPattern(final String pattern)
+    {
+        super.setPattern(pattern);
+        return this;
+    }
+
+    @Override
+    public DateArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public DateArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public DateArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public DateArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.time.Instant;
+
+/**
+ * An argument whose values are instants, held as the number of nanoseconds since the epoch.
+ * <p>
+ * Values are parsed as they are supplied, using {@link #setFormat(TemporalFormat) the format} of the argument. Values
+ * without an offset are treated as UTC:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args, DateTimeArg.required("at"));
+ *   long at = params.valueAsEpochMillis("at");
+ * }</pre>
+ */
+public final class DateTimeArg extends TemporalArg<Instant>
+{
+    private DateTimeArg(final String name, final boolean required)
+    {
+        super(name, required, Instant.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DateTimeArg required(final String name)
+    {
+        return new DateTimeArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DateTimeArg optional(final String name)
+    {
+        return new DateTimeArg(name, false);
+    }
+
+    @Override
+    public DateTimeArg setFormat(final TemporalFormat format)
+    {
+        super.setFormat(format);
+        return this;
+    }
+
+    @Override
+    public DateTimeArg setPattern(final String pattern)
+    {
+        super.setPattern(pattern);
+        return this;
+    }
+
+    @Override
+    public DateTimeArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public DateTimeArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public DateTimeArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public DateTimeArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.math.BigDecimal;
+
+/**
+ * An argument whose values are {@link BigDecimal} numbers.
+ * <p>
+ * Values are converted as they are parsed and can be limited to a range with {@link #setMin(BigDecimal)} and
+ * {@link #setMax(BigDecimal)}:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args,
+ *                                       DecimalArg.required("price").setMin(BigDecimal.ZERO),
+ *                                       DecimalArg.optional("fee").setDefault("0.00"));
+ *   BigDecimal price = params.valueAsBigDecimal("price");
+ * }</pre>
+ */
+public final class DecimalArg extends TypedArg<BigDecimal>
+{
+    private DecimalArg(final String name, final boolean required)
+    {
+        super(name, required, BigDecimal.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DecimalArg required(final String name)
+    {
+        return new DecimalArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DecimalArg optional(final String name)
+    {
+        return new DecimalArg(name, false);
+    }
+
+    /**
+     * Set the lowest value allowed for this argument.
+     *
+     * @param min the lowest value allowed, inclusive.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public DecimalArg setMin(final BigDecimal min)
+    {
+        setMinValue(min);
+        return this;
+    }
+
+    /**
+     * Set the highest value allowed for this argument.
+     *
+     * @param max the highest value allowed, inclusive.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public DecimalArg setMax(final BigDecimal max)
+    {
+        setMaxValue(max);
+        return this;
+    }
+
+    @Override
+    public DecimalArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public DecimalArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public DecimalArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public DecimalArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
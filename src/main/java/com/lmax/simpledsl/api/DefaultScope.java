@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.ScopedValues;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Values shared by many calls, used for any parameter that is not supplied before falling back to its default value.
+ * <p>
+ * Scopes are immutable and nest cheaply: {@link #with(String, String...)} creates a child scope holding one more
+ * value, which hides any value with the same name in its enclosing scopes. The values are not split, and values for a
+ * {@link TypedArg} are converted when they are read. Repeating groups do not take values from a scope.
+ * <p>
+ * Each scope resolves its values to the slots of a schema's {@link DslArg DslArgs} once, checking them against the
+ * allowed values and the number of values each {@link DslArg} accepts, and then remembers them for the most recently
+ * used schemas, so parsing with a scope costs a single lookup per parameter. A scoped value that is rejected is
+ * reported as an error of each parse that would use it.
+ *
+ * <pre>{@code
+ *   DefaultScope session = DefaultScope.EMPTY.with("account", "acc-1").with("session", "FIX-1");
+ *   DslSchema placeOrder = PLACE_ORDER.withDefaultScope(session.with("instrument", "EURUSD"));
+ *
+ *   placeOrder.parse("side: buy", "quantity: 10");
+ * }</pre>
+ */
+public final class DefaultScope
+{
+    /**
+     * A scope holding no values.
+     */
+    public static final DefaultScope EMPTY = new DefaultScope(null, null, Collections.emptyList());
+
+    private final DefaultScope parent;
+    private final String name;
+    private final List<String> values;
+    private final ScopedValues scopedValues = new ScopedValues(this::find);
+
+    private DefaultScope(final DefaultScope parent, final String name, final List<String> values)
+    {
+        this.parent = parent;
+        this.name = name;
+        this.values = values;
+    }
+
+    /**
+     * Create a child of this scope holding the values of a parameter.
+     * <p>
+     * Passing no values hides any value of the parameter held by this scope, so that its default value is used.
+     *
+     * @param name   the name of the parameter.
+     * @param values the values of the parameter, already split if the parameter allows multiple values.
+     * @return the new scope.
+     */
+    public DefaultScope with(final String name, final String... values)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("A scoped value must have a name");
+        }
+        return new DefaultScope(this, name, values.length == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(values.clone())));
+    }
+
+    /**
+     * Get the values of a parameter held by this scope or the scopes enclosing it.
+     *
+     * @param name the name of the parameter.
+     * @return the values, or {@literal null} if the scope holds no values for the parameter.
+     */
+    public String[] values(final String name)
+    {
+        final List<String> found = find(name);
+        return found != null ? found.toArray(new String[0]) : null;
+    }
+
+    ScopedValues getScopedValues()
+    {
+        return scopedValues;
+    }
+
+    private List<String> find(final String name)
+    {
+        for (DefaultScope scope = this; scope.parent != null; scope = scope.parent)
+        {
+            if (scope.name.equalsIgnoreCase(name))
+            {
+                return scope.values.isEmpty() ? null : scope.values;
+            }
+        }
+        return null;
+    }
+}
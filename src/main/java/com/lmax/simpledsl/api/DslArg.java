@@ -64,4 +64,42 @@ public interface DslArg
      * @return the values allowed by this argument, or {@literal null} if all values are allowed
      */
     String[] getAllowedValues();
+
+    /**
+     * Find the allowed value that matches the given value, ignoring case.
+     * <p>
+     * Unlike {@link #getAllowedValues()}, this does not require a copy of the allowed values to be made.
+     *
+     * @param value the value to look up.
+     * @return the matching allowed value, {@code value} itself if all values are allowed, or {@literal null} if the value is not allowed.
+     */
+    default String findAllowedValue(final String value)
+    {
+        final String[] allowedValues = getAllowedValues();
+        if (allowedValues == null)
+        {
+            return value;
+        }
+
+        for (final String allowedValue : allowedValues)
+        {
+            if (allowedValue.equalsIgnoreCase(value))
+            {
+                return allowedValue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prevent any further changes to this argument, so that it can be safely shared between threads.
+     * <p>
+     * Implementations that can be changed after construction should override this method.
+     *
+     * @return this argument
+     */
+    default DslArg freeze()
+    {
+        return this;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a DSL method whose {@code String...} parameter is parsed against a set of {@link DslArg DslArgs}, so that calls
+ * made with literal values can be checked while compiling.
+ * <p>
+ * When {@code com.lmax.simpledsl.processor.DslCallSiteProcessor}, from the {@code simple-dsl-processor} artifact, is
+ * on the annotation processor path of a Java 11 or later compiler, every call to an annotated method whose values are
+ * all compile-time constants is parsed against the method's {@link DslArg DslArgs}.
+ * Unknown names, values that are not allowed and missing required values are reported as compile errors. The values
+ * are still parsed and validated as usual when the method is called.
+ * <p>
+ * The {@link DslArg DslArgs} are read from the method's source: either the {@code static} {@link DslSchema} field named
+ * by {@link #schema()}, or the first {@link DslSchema}, {@link DslParams#create(String[], DslArg...)} or
+ * {@code parse} call in the method's body that is passed the method's values. Only {@link DslArg DslArgs} built from
+ * literals can be read; calls to methods whose {@link DslArg DslArgs} can not be read are not checked.
+ *
+ * <pre>{@code
+ *   @DslMethod
+ *   public void createUser(String... args) {
+ *       DslParams params = DslParams.create(args,
+ *                                           new RequiredArg("user"),
+ *                                           new OptionalArg("accountType").setAllowedValues("standard", "premium"));
+ *       ...
+ *   }
+ * }</pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface DslMethod
+{
+    /**
+     * The name of a {@code static} {@link DslSchema} field, declared in the same class, that the method parses its
+     * values with.
+     *
+     * @return the field name, or an empty {@link String} to find the {@link DslArg DslArgs} in the method's body.
+     */
+    String schema() default "";
+}
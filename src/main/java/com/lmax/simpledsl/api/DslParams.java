@@ -18,6 +18,11 @@ package com.lmax.simpledsl.api;
 
 import com.lmax.simpledsl.internal.DslParamsParser;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * The main entry point for defining the DSL language. Create a DslParams instance with the supplied arguments and the supported params.
  * The supplied values can then be retrieved using {@link DslParams#value(String)} and related methods.
@@ -52,6 +57,135 @@ public interface DslParams extends DslValues
      */
     RepeatingGroup[] valuesAsGroup(String groupName);
 
+    /**
+     * Stream the rows supplied for a {@link RepeatingArgGroup}, without copying them. e.g.
+     *
+     * <pre>{@code
+     *   long buyQuantity = params.groupStream("order")
+     *           .parallel()
+     *           .filter(order -> order.value("side").equals("buy"))
+     *           .mapToLong(order -> order.valueAsLong("quantity"))
+     *           .sum();
+     * }</pre>
+     * <p>
+     * The stream is sequential, but splits evenly by size, so large groups can be processed with
+     * {@link Stream#parallel()}. Rows are immutable and may be read from any thread.
+     * <p>
+     * The default implementation streams a copy of {@link #valuesAsGroup(String)}.
+     *
+     * @param groupName the name of the first required parameter.
+     * @return a stream of the rows, in the order they were supplied.
+     * @throws IllegalArgumentException if {@code groupName} does not match the name of a {@link RepeatingArgGroup}.
+     */
+    default Stream<RepeatingGroup> groupStream(final String groupName)
+    {
+        return Arrays.stream(valuesAsGroup(groupName));
+    }
+
+    /**
+     * Find the row of a {@link RepeatingArgGroup} with the given identity value, the value of its first required
+     * parameter. e.g.
+     *
+     * <pre>{@code
+     *   RepeatingGroup eurusd = params.groupRow("instrument", "EURUSD");
+     *   assertEquals("1.1", eurusd.value("price"));
+     * }</pre>
+     * <p>
+     * The first lookup builds a hash index of the rows by identity value, which is kept with these {@link DslParams},
+     * so later lookups do not scan the rows. Values are compared exactly, after any allowed value has been matched.
+     * The default implementation scans the rows on every lookup.
+     *
+     * @param groupName     the name of the first required parameter.
+     * @param identityValue the value of the first required parameter to look for.
+     * @return the first row supplied with the identity value, or {@literal null} if there is none.
+     * @throws IllegalArgumentException if {@code groupName} does not match the name of a {@link RepeatingArgGroup}.
+     */
+    default RepeatingGroup groupRow(final String groupName, final String identityValue)
+    {
+        for (final RepeatingGroup row : valuesAsGroup(groupName))
+        {
+            if (row.value(groupName).equals(identityValue))
+            {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the rows of a {@link RepeatingArgGroup} with the given value for one of its parameters.
+     * <p>
+     * As with {@link #groupRow(String, String)}, the first lookup for each parameter builds a hash index of the rows,
+     * which is kept for later lookups. A row matches if any of its values for the parameter matches. The default
+     * implementation scans the rows on every lookup, so can only check {@code field} when the group has rows.
+     *
+     * @param groupName the name of the first required parameter.
+     * @param field     the name of the parameter within the group to compare.
+     * @param value     the value to look for.
+     * @return the matching rows, in the order they were supplied, or an empty array if there are none.
+     * @throws IllegalArgumentException if {@code groupName} does not match the name of a {@link RepeatingArgGroup}, or
+     *                                  {@code field} does not match the name of one of its parameters.
+     */
+    default RepeatingGroup[] groupRowsWhere(final String groupName, final String field, final String value)
+    {
+        final List<RepeatingGroup> matches = new ArrayList<>();
+        for (final RepeatingGroup row : valuesAsGroup(groupName))
+        {
+            if (!row.hasParam(field))
+            {
+                throw new IllegalArgumentException(field + " is not a parameter of " + groupName);
+            }
+            if (Arrays.asList(row.values(field)).contains(value))
+            {
+                matches.add(row);
+            }
+        }
+        return matches.toArray(new RepeatingGroup[0]);
+    }
+
+    /**
+     * Create new {@link DslParams} with the value of one parameter replaced, as if it had been supplied as
+     * {@code name: value}.
+     * <p>
+     * Only the new value is validated. The new {@link DslParams} share every other parameter with these, which are
+     * unchanged. e.g.
+     *
+     * <pre>{@code
+     *   placeOrder(params.with("account", DEFAULT_ACCOUNT).with("orderId", nextOrderId()));
+     * }</pre>
+     *
+     * @param name  the name of the parameter.
+     * @param value the new value, which may hold several values separated as they would be when supplied if the
+     *              parameter allows multiple values.
+     * @return the new {@link DslParams}.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if it names a
+     *                                  {@link RepeatingArgGroup} or if the value is not valid for the parameter.
+     * @throws UnsupportedOperationException if this implementation can not derive new {@link DslParams}, which is the
+     *                                       default; the {@link DslParams} created by parsing always can.
+     */
+    default DslParams with(final String name, final String value)
+    {
+        throw new UnsupportedOperationException(getClass().getName() + " can not derive new DslParams");
+    }
+
+    /**
+     * Create new {@link DslParams} without the value of one parameter, as if it had not been supplied.
+     * <p>
+     * The parameter's default value is used, if it has one. The new {@link DslParams} share every other parameter with
+     * these, which are unchanged.
+     *
+     * @param name the name of the parameter.
+     * @return the new {@link DslParams}.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if it names a
+     *                                  {@link RepeatingArgGroup} or if the parameter is required.
+     * @throws UnsupportedOperationException if this implementation can not derive new {@link DslParams}, which is the
+     *                                       default; the {@link DslParams} created by parsing always can.
+     */
+    default DslParams without(final String name)
+    {
+        throw new UnsupportedOperationException(getClass().getName() + " can not derive new DslParams");
+    }
+
     /**
      * Create new {@link DslParams}.
      *
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least-recently-used cache of parsed {@link DslParams}, keyed by the {@link DslArg DslArgs} they were
+ * parsed against and the supplied argument values.
+ * <p>
+ * Lookups first try an identity tier, which matches when every supplied value is the very same {@link String} instance
+ * as a previous call - the common case when tests pass string literals. Failing that, a content tier matches values by
+ * {@link String#equals(Object) equality}. In both tiers the {@link DslArg DslArgs} are matched by identity, so the
+ * cache is only effective when the argument definitions are reused, for example by holding them in a {@link DslSchema}.
+ * <p>
+ * Larger caches split each tier into independently locked segments, each evicting its own least-recently-used entries,
+ * so a single cache can be shared by tests running in parallel.
+ * Only successfully parsed {@link DslParams} are cached.
+ *
+ * <pre>{@code
+ *   private static final DslParamsCache CACHE = new DslParamsCache(1024);
+ *   private static final DslSchema CREATE_INSTRUMENT = new DslSchema(
+ *           new DslParamsParser().withResultCache(CACHE),
+ *           new RequiredArg("name"));
+ * }</pre>
+ */
+public final class DslParamsCache
+{
+    private static final int MAXIMUM_SEGMENTS = 16;
+    private static final int MINIMUM_SEGMENT_SIZE = 64;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int HASH_MULTIPLIER = 31;
+
+    private final Segment[] identitySegments;
+    private final Segment[] contentSegments;
+    private final int segmentMask;
+
+    private final LongAdder identityHits = new LongAdder();
+    private final LongAdder contentHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a new cache.
+     *
+     * @param maximumSize the maximum number of results to retain in each tier.
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+     */
+    public DslParamsCache(final int maximumSize)
+    {
+        if (maximumSize <= 0)
+        {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maximumSize);
+        }
+
+        final int segmentCount = Math.min(MAXIMUM_SEGMENTS, Math.max(1, Integer.highestOneBit(maximumSize / MINIMUM_SEGMENT_SIZE)));
+        final int segmentSize = (maximumSize + segmentCount - 1) / segmentCount;
+        this.identitySegments = new Segment[segmentCount];
+        this.contentSegments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+        {
+            identitySegments[i] = new Segment(segmentSize);
+            contentSegments[i] = new Segment(segmentSize);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Look up the result of a previous parse.
+     *
+     * @param dslArgs the {@link DslArg DslArgs} the values are to be parsed against.
+     * @param args    the supplied values.
+     * @return the cached {@link DslParams}, or {@code null} if there is no cached result.
+     */
+    public DslParams get(final DslArg[] dslArgs, final String[] args)
+    {
+        final IdentityKey identityKey = new IdentityKey(dslArgs, args);
+        final DslParams identityMatch = segmentFor(identitySegments, identityKey.hash).get(identityKey);
+        if (identityMatch != null)
+        {
+            identityHits.increment();
+            return identityMatch;
+        }
+
+        final ContentKey contentKey = new ContentKey(dslArgs, args);
+        final DslParams contentMatch = segmentFor(contentSegments, contentKey.hash).get(contentKey);
+        if (contentMatch != null)
+        {
+            contentHits.increment();
+            segmentFor(identitySegments, identityKey.hash).put(identityKey.copy(), contentMatch);
+            return contentMatch;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Record the result of a parse.
+     *
+     * @param dslArgs the {@link DslArg DslArgs} the values were parsed against.
+     * @param args    the supplied values.
+     * @param params  the parsed {@link DslParams}.
+     */
+    public void put(final DslArg[] dslArgs, final String[] args, final DslParams params)
+    {
+        final IdentityKey identityKey = new IdentityKey(dslArgs.clone(), args.clone());
+        segmentFor(identitySegments, identityKey.hash).put(identityKey, params);
+
+        final ContentKey contentKey = new ContentKey(identityKey.dslArgs, identityKey.args);
+        segmentFor(contentSegments, contentKey.hash).put(contentKey, params);
+    }
+
+    /**
+     * Get the number of lookups that were answered from the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount()
+    {
+        return identityHits.sum() + contentHits.sum();
+    }
+
+    /**
+     * Get the number of lookups that were answered by matching the identity of every supplied value.
+     *
+     * @return the identity hit count.
+     */
+    public long getIdentityHitCount()
+    {
+        return identityHits.sum();
+    }
+
+    /**
+     * Get the number of lookups that were answered by matching the content of the supplied values.
+     *
+     * @return the content hit count.
+     */
+    public long getContentHitCount()
+    {
+        return contentHits.sum();
+    }
+
+    /**
+     * Get the number of lookups that were not answered from the cache.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * Get the proportion of lookups that were answered from the cache.
+     *
+     * @return the hit rate between {@code 0} and {@code 1}, or {@code 0} if there have been no lookups.
+     */
+    public double getHitRate()
+    {
+        final long hits = getHitCount();
+        final long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private Segment segmentFor(final Segment[] segments, final int hash)
+    {
+        return segments[hash & segmentMask];
+    }
+
+    private static int identityHash(final Object[] values, final int seed)
+    {
+        int hash = seed;
+        for (final Object value : values)
+        {
+            hash = HASH_MULTIPLIER * hash + System.identityHashCode(value);
+        }
+        return hash;
+    }
+
+    private static boolean identical(final Object[] a, final Object[] b)
+    {
+        if (a.length != b.length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < a.length; i++)
+        {
+            if (a[i] != b[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class IdentityKey
+    {
+        private final DslArg[] dslArgs;
+        private final String[] args;
+        private final int hash;
+
+        IdentityKey(final DslArg[] dslArgs, final String[] args)
+        {
+            this.dslArgs = dslArgs;
+            this.args = args;
+            this.hash = identityHash(args, identityHash(dslArgs, 1));
+        }
+
+        IdentityKey copy()
+        {
+            return new IdentityKey(dslArgs.clone(), args.clone());
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (!(o instanceof IdentityKey))
+            {
+                return false;
+            }
+
+            final IdentityKey other = (IdentityKey) o;
+            return hash == other.hash && identical(dslArgs, other.dslArgs) && identical(args, other.args);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static final class ContentKey
+    {
+        private final DslArg[] dslArgs;
+        private final String[] args;
+        private final int hash;
+
+        ContentKey(final DslArg[] dslArgs, final String[] args)
+        {
+            this.dslArgs = dslArgs;
+            this.args = args;
+            this.hash = HASH_MULTIPLIER * identityHash(dslArgs, 1) + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (!(o instanceof ContentKey))
+            {
+                return false;
+            }
+
+            final ContentKey other = (ContentKey) o;
+            return hash == other.hash && identical(dslArgs, other.dslArgs) && Arrays.equals(args, other.args);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static final class Segment
+    {
+        private final Map<Object, DslParams> entries;
+
+        Segment(final int maximumSize)
+        {
+            this.entries = new LinkedHashMap<Object, DslParams>(INITIAL_SEGMENT_CAPACITY, LOAD_FACTOR, true)
+            {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Object, DslParams> eldest)
+                {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        synchronized DslParams get(final Object key)
+        {
+            return entries.get(key);
+        }
+
+        synchronized void put(final Object key, final DslParams params)
+        {
+            entries.put(key, params);
+        }
+    }
+}
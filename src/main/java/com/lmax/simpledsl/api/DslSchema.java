@@ -0,0 +1,236 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.DslParamsParser;
+import com.lmax.simpledsl.internal.FlightRecorderEvents;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reusable definition of the {@link DslArg DslArgs} accepted by a DSL method, together with the
+ * {@link DslParamsParser} used to parse values against them.
+ * <p>
+ * Holding the definition in a schema avoids rebuilding the {@link DslArg DslArgs} on every call and gives the
+ * definition a stable identity, which features such as the {@link DslParamsCache result cache} rely on.
+ * <p>
+ * The {@link DslArg DslArgs} are {@link DslArg#freeze() frozen} when the schema is created, so a schema held in a
+ * {@code static final} field can be used by any number of threads.
+ *
+ * <pre>{@code
+ *   private static final DslSchema CREATE_USER = new DslSchema(
+ *           new RequiredArg("user"),
+ *           new OptionalArg("password"));
+ *
+ *   public void createUser(String... args) {
+ *       DslParams params = CREATE_USER.parse(args);
+ *       getDriver().createUser(params.value("user"), params.valueAsOptional("password"));
+ *   }
+ * }</pre>
+ */
+public final class DslSchema
+{
+    private final String name;
+    private final DslParamsParser parser;
+    private final DslArg[] dslArgs;
+
+    /**
+     * Create a new schema using a default {@link DslParamsParser}.
+     *
+     * @param dslArgs the {@link DslArg DslArgs} accepted.
+     */
+    public DslSchema(final DslArg... dslArgs)
+    {
+        this(new DslParamsParser(), dslArgs);
+    }
+
+    /**
+     * Create a new schema using the given {@link DslParamsParser}.
+     * <p>
+     * The {@link DslArg DslArgs} are {@link DslArg#freeze() frozen} and can no longer be changed.
+     *
+     * @param parser  the parser to parse values with.
+     * @param dslArgs the {@link DslArg DslArgs} accepted.
+     */
+    public DslSchema(final DslParamsParser parser, final DslArg... dslArgs)
+    {
+        this(DslParamsParser.signatureOf(dslArgs), parser, dslArgs.clone());
+        final Object schemaCompileEvent = FlightRecorderEvents.beginSchemaCompile();
+        for (final DslArg dslArg : this.dslArgs)
+        {
+            dslArg.freeze();
+        }
+        FlightRecorderEvents.endSchemaCompile(schemaCompileEvent, name, this.dslArgs.length);
+    }
+
+    private DslSchema(final String name, final DslParamsParser parser, final DslArg[] dslArgs)
+    {
+        this.name = name;
+        this.parser = parser;
+        this.dslArgs = dslArgs;
+    }
+
+    /**
+     * Create a copy of this schema with the given name.
+     * <p>
+     * The name identifies the schema to any {@link ParseListener} and defaults to a comma separated list of the
+     * argument names.
+     *
+     * @param name the name of the schema.
+     * @return the new schema.
+     */
+    public DslSchema withName(final String name)
+    {
+        return new DslSchema(name, parser, dslArgs);
+    }
+
+    /**
+     * Create a copy of this schema that records which parameters are read from the {@link DslParams} it creates.
+     * <p>
+     * A single tracker can be shared by several schemas, to gather usage across a full test run.
+     *
+     * @param accessTracker the tracker to record reads with.
+     * @return the new schema.
+     */
+    public DslSchema withAccessTracker(final AccessTracker accessTracker)
+    {
+        return new DslSchema(name, parser.withAccessCounts(accessTracker.getCounts()), dslArgs);
+    }
+
+    /**
+     * Create a copy of this schema that uses the values held by the given {@link DefaultScope} for any parameter that
+     * is not supplied, before falling back to the parameter's default value.
+     *
+     * @param defaultScope the scope holding the values.
+     * @return the new schema.
+     */
+    public DslSchema withDefaultScope(final DefaultScope defaultScope)
+    {
+        return new DslSchema(name, parser.withDefaultScope(defaultScope.getScopedValues()), dslArgs);
+    }
+
+    /**
+     * Create a copy of this schema that packs the values of its repeating groups into the given {@link GroupStorage}.
+     *
+     * @param groupStorage the storage to pack groups into.
+     * @return the new schema.
+     */
+    public DslSchema withGroupStorage(final GroupStorage groupStorage)
+    {
+        return new DslSchema(name, parser.withGroupStorage(groupStorage.getArena()), dslArgs);
+    }
+
+    /**
+     * Get the name of this schema.
+     *
+     * @return the name.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Parse the supplied values against this schema.
+     *
+     * @param args the values
+     * @return the parsed {@link DslParams}
+     * @throws IllegalArgumentException if any of the provided {@link String} arguments are invalid
+     */
+    public DslParams parse(final String... args)
+    {
+        return parser.tryParse(name, args, false, dslArgs).getParams();
+    }
+
+    /**
+     * Parse the supplied values against this schema, taking the value of any parameter that is not supplied from the
+     * forwarded {@link DslParams}.
+     *
+     * @param forwarded the parameters forwarded from another DSL layer.
+     * @param args      the values
+     * @return the parsed {@link DslParams}
+     * @throws IllegalArgumentException if any of the provided {@link String} arguments or forwarded values are invalid
+     */
+    public DslParams parse(final ParamForwarding forwarded, final String... args)
+    {
+        return parser.tryParse(name, forwarded, args, false, dslArgs).getParams();
+    }
+
+    /**
+     * Parse the supplied values against this schema, adding the rows of a {@link GroupTable} to the
+     * {@link RepeatingArgGroup} it names.
+     *
+     * @param table the rows of a repeating group.
+     * @param args  the values
+     * @return the parsed {@link DslParams}
+     * @throws IllegalArgumentException if any of the provided {@link String} arguments or table values are invalid
+     */
+    public DslParams parse(final GroupTable table, final String... args)
+    {
+        return parse(Collections.singletonList(table), args);
+    }
+
+    /**
+     * Parse the supplied values against this schema, adding the rows of each {@link GroupTable} to the
+     * {@link RepeatingArgGroup} it names.
+     *
+     * @param tables the rows of repeating groups.
+     * @param args   the values
+     * @return the parsed {@link DslParams}
+     * @throws IllegalArgumentException if any of the provided {@link String} arguments or table values are invalid
+     */
+    public DslParams parse(final List<GroupTable> tables, final String... args)
+    {
+        return parser.tryParse(name, tables, args, false, dslArgs).getParams();
+    }
+
+    /**
+     * Parse the supplied values against this schema without throwing an exception if they are invalid.
+     * <p>
+     * Parsing stops collecting errors after the first one is found.
+     *
+     * @param args the values
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or the first {@link ParseError}.
+     */
+    public ParseResult tryParse(final String... args)
+    {
+        return parser.tryParse(name, args, false, dslArgs);
+    }
+
+    /**
+     * Parse the supplied values against this schema without throwing an exception, collecting every problem found.
+     *
+     * @param args the values
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or all the {@link ParseError ParseErrors}.
+     */
+    public ParseResult tryParseCollectingErrors(final String... args)
+    {
+        return parser.tryParse(name, args, true, dslArgs);
+    }
+
+    /**
+     * Get the {@link DslArg DslArgs} accepted by this schema.
+     *
+     * @return the {@link DslArg DslArgs}.
+     */
+    public DslArg[] getArgs()
+    {
+        return dslArgs.clone();
+    }
+}
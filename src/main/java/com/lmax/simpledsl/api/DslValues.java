@@ -16,15 +16,17 @@
 
 package com.lmax.simpledsl.api;
 
+import com.lmax.simpledsl.internal.FlightRecorderEvents;
 
-import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -120,7 +122,28 @@ public interface DslValues
      */
     default <T extends Enum<T>> T valueAs(final String name, final Class<T> enumType)
     {
-        return valueAs(name, val -> Enum.valueOf(enumType, val));
+        return valueAsType(name, enumType);
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter, converting it to the specified type with the converter from
+     * {@link ValueConverters}.
+     * <p>
+     * Any {@link Enum}, and types such as {@link java.time.Instant} that can parse themselves from a {@link String}, can
+     * be converted without registering a converter.
+     *
+     * @param name the name of the parameter.
+     * @param type the type to convert to.
+     * @param <T>  the type to convert to.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values
+     *                                  or if no converter is available for {@code type}.
+     */
+    default <T> T valueAsType(final String name, final Class<T> type)
+    {
+        final ValueConverters.Conversion<T> conversion = ValueConverters.conversionFor(type);
+        final String value = value(name);
+        return value != null ? conversion.convert(value) : null;
     }
 
     /**
@@ -153,27 +176,56 @@ public interface DslValues
      * @return a {@link Stream} of values supplied for the parameter.
      * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter.
      */
-    @SuppressWarnings("unchecked")
     default <T> T[] valuesAs(final String name, final Class<T> type, final Function<String, T> mapper)
     {
-        return stream(values(name)).map(mapper).toArray(n -> (T[]) Array.newInstance(type, n));
+        final String[] values = values(name);
+        final T[] converted = ValueConverters.conversionFor(type).newArray(values.length);
+        for (int i = 0; i < values.length; i++)
+        {
+            converted[i] = mapper.apply(values[i]);
+        }
+        return converted;
     }
 
     /**
-     * Retrieve the values supplied for a parameter, mapping each provided value using the specified
-     * {@link Function function} and returning an array of these values.
+     * Retrieve the values supplied for a parameter, mapping each provided value to the specified {@link Enum} and
+     * returning an array of these values.
      * <p>
-     * Returns an empty {@link Stream} if the parameter is optional and a value has not been supplied.
+     * Returns an empty array if the parameter is optional and a value has not been supplied.
      *
-     * @param name   the name of the parameter.
+     * @param name     the name of the parameter.
      * @param enumType the {@link Enum} type.
      * @param <T>      the {@link Enum} type.
-     * @return a {@link Stream} of values supplied for the parameter.
+     * @return an array of values supplied for the parameter.
      * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter.
      */
     default <T extends Enum<T>> T[] valuesAs(final String name, final Class<T> enumType)
     {
-        return valuesAs(name, enumType, val -> Enum.valueOf(enumType, val));
+        return valuesAsType(name, enumType);
+    }
+
+    /**
+     * Retrieve the values supplied for a parameter, converting each provided value to the specified type with the
+     * converter from {@link ValueConverters} and returning an array of these values.
+     * <p>
+     * Returns an empty array if the parameter is optional and a value has not been supplied.
+     *
+     * @param name the name of the parameter.
+     * @param type the type to convert to.
+     * @param <T>  the type to convert to.
+     * @return an array of values supplied for the parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter or if no converter is available for {@code type}.
+     */
+    default <T> T[] valuesAsType(final String name, final Class<T> type)
+    {
+        final ValueConverters.Conversion<T> conversion = ValueConverters.conversionFor(type);
+        final String[] values = values(name);
+        final T[] converted = conversion.newArray(values.length);
+        for (int i = 0; i < values.length; i++)
+        {
+            converted[i] = conversion.convert(values[i]);
+        }
+        return converted;
     }
 
     /**
@@ -273,7 +325,104 @@ public interface DslValues
      */
     default BigDecimal valueAsBigDecimal(final String name)
     {
-        return valueAs(name, BigDecimal::new);
+        final Object conversionEvent = FlightRecorderEvents.beginConversion();
+        final BigDecimal value = valueAs(name, BigDecimal::new);
+        FlightRecorderEvents.endConversion(conversionEvent, name, BigDecimal.class, 1);
+        return value;
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter as a number of nanoseconds since the epoch, 1970-01-01T00:00:00Z.
+     * <p>
+     * The value is parsed as an ISO-8601 date-time, or a date at midnight, by {@link TemporalFormat#ISO} without
+     * creating any intermediate objects. Values without an offset are treated as UTC.
+     *
+     * @param name the name of the parameter.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values or
+     *                                  if the value is not a valid date-time (including because it wasn't supplied).
+     */
+    default long valueAsEpochNanos(final String name)
+    {
+        final String value = value(name);
+        return TemporalFormat.requireValid(name, value, TemporalFormat.ISO.parseEpochNanos(value), "date-time");
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter as a number of milliseconds since the epoch, 1970-01-01T00:00:00Z.
+     *
+     * @param name the name of the parameter.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values or
+     *                                  if the value is not a valid date-time (including because it wasn't supplied).
+     * @see #valueAsEpochNanos(String)
+     */
+    default long valueAsEpochMillis(final String name)
+    {
+        return Math.floorDiv(valueAsEpochNanos(name), TemporalFormat.NANOS_PER_MILLI);
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter as a number of days since the epoch, 1970-01-01.
+     * <p>
+     * The value is parsed as an ISO-8601 date by {@link TemporalFormat#ISO} without creating any intermediate objects.
+     *
+     * @param name the name of the parameter.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values or
+     *                                  if the value is not a valid date (including because it wasn't supplied).
+     */
+    default long valueAsEpochDay(final String name)
+    {
+        final String value = value(name);
+        return TemporalFormat.requireValid(name, value, TemporalFormat.ISO.parseEpochDay(value), "date");
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter as a number of nanoseconds since midnight.
+     * <p>
+     * The value is parsed as an ISO-8601 time by {@link TemporalFormat#ISO} without creating any intermediate objects.
+     *
+     * @param name the name of the parameter.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values or
+     *                                  if the value is not a valid time (including because it wasn't supplied).
+     */
+    default long valueAsNanosOfDay(final String name)
+    {
+        final String value = value(name);
+        return TemporalFormat.requireValid(name, value, TemporalFormat.ISO.parseNanosOfDay(value), "time");
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter as a duration in nanoseconds.
+     * <p>
+     * The value is parsed by {@link TemporalFormat#parseDurationNanos(CharSequence)}, so may be an ISO-8601 duration
+     * such as {@code PT0.25S} or an amount with a unit such as {@code 250ms}.
+     *
+     * @param name the name of the parameter.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values or
+     *                                  if the value is not a valid duration (including because it wasn't supplied).
+     */
+    default long valueAsDurationNanos(final String name)
+    {
+        final String value = value(name);
+        return TemporalFormat.requireValid(name, value, TemporalFormat.parseDurationNanos(value), "duration");
+    }
+
+    /**
+     * Retrieve the value supplied for a parameter as a duration in milliseconds, truncating any smaller part.
+     *
+     * @param name the name of the parameter.
+     * @return the value supplied for that parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, if the parameter supports multiple values or
+     *                                  if the value is not a valid duration (including because it wasn't supplied).
+     * @see #valueAsDurationNanos(String)
+     */
+    default long valueAsDurationMillis(final String name)
+    {
+        return valueAsDurationNanos(name) / TemporalFormat.NANOS_PER_MILLI;
     }
 
     /**
@@ -490,7 +639,126 @@ public interface DslValues
      */
     default BigDecimal[] valuesAsBigDecimals(final String name)
     {
-        return valuesAs(name, BigDecimal.class, BigDecimal::new);
+        final Object conversionEvent = FlightRecorderEvents.beginConversion();
+        final BigDecimal[] values = valuesAs(name, BigDecimal.class, BigDecimal::new);
+        FlightRecorderEvents.endConversion(conversionEvent, name, BigDecimal.class, values.length);
+        return values;
+    }
+
+    /**
+     * Check whether one of the values supplied for a parameter is equal to the given value.
+     * <p>
+     * Values of an argument with {@link DslArg#getAllowedValues() allowed values} are compared ignoring case, as they
+     * are matched when parsing. Parsed parameters hash their values into a set the first time this is called, so
+     * checking many values against a long list does not scan or copy it each time.
+     *
+     * @param name  the name of the parameter.
+     * @param value the value to look for.
+     * @return {@literal true} if and only if the value was supplied for the parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter.
+     */
+    default boolean containsValue(final String name, final CharSequence value)
+    {
+        final boolean ignoreCase = stream(getParams()).anyMatch(arg -> arg.getName().equalsIgnoreCase(name) && arg.getAllowedValues() != null);
+        for (final String candidate : values(name))
+        {
+            if (ignoreCase ? candidate.equalsIgnoreCase(value.toString()) : candidate.contentEquals(value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether one of the values supplied for a parameter is equal to the given number.
+     * <p>
+     * Parsed parameters hash their values into a set of primitive values the first time this is called, so checking
+     * many numbers against a long list does not convert or scan it each time.
+     *
+     * @param name  the name of the parameter.
+     * @param value the number to look for.
+     * @return {@literal true} if and only if the number was supplied for the parameter.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter.
+     * @throws NumberFormatException    if any of the supplied values can not be parsed as a {@code long}.
+     */
+    default boolean containsLong(final String name, final long value)
+    {
+        for (final long candidate : valuesAsLongs(name))
+        {
+            if (candidate == value)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Iterate over the values supplied for a parameter.
+     * <p>
+     * Values of an argument that is {@link SimpleDslArg#setSplitLazily() split lazily} are found, trimmed and matched
+     * against its allowed values one at a time, as they are read, without holding them all in memory.
+     *
+     * @param name the name of the parameter.
+     * @return an iterator over the values supplied for the parameter, which is empty if none were supplied.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, or, when the
+     *                                  iterator is advanced, if a lazily split value is not allowed.
+     */
+    default Iterator<CharSequence> valuesIterator(final String name)
+    {
+        return Arrays.<CharSequence>asList(values(name)).iterator();
+    }
+
+    /**
+     * Iterate over the values supplied for a parameter as {@code int} values.
+     * <p>
+     * Values of an argument that is {@link SimpleDslArg#setSplitLazily() split lazily} are converted one at a time, as
+     * they are read, without holding them all in memory.
+     *
+     * @param name the name of the parameter.
+     * @return an iterator over the values supplied for the parameter, which is empty if none were supplied.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, or, when the
+     *                                  iterator is advanced, if a lazily split value is not allowed or out of range.
+     * @throws NumberFormatException    if any of the supplied values can not be parsed as an {@code int}.
+     */
+    default PrimitiveIterator.OfInt valuesAsIntIterator(final String name)
+    {
+        return stream(values(name)).mapToInt(Integer::parseInt).iterator();
+    }
+
+    /**
+     * Iterate over the values supplied for a parameter as {@code long} values.
+     * <p>
+     * Values of an argument that is {@link SimpleDslArg#setSplitLazily() split lazily} are converted one at a time, as
+     * they are read, without holding them all in memory.
+     *
+     * @param name the name of the parameter.
+     * @return an iterator over the values supplied for the parameter, which is empty if none were supplied.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, or, when the
+     *                                  iterator is advanced, if a lazily split value is not allowed or out of range.
+     * @throws NumberFormatException    if any of the supplied values can not be parsed as a {@code long}.
+     */
+    default PrimitiveIterator.OfLong valuesAsLongIterator(final String name)
+    {
+        return stream(values(name)).mapToLong(Long::parseLong).iterator();
+    }
+
+    /**
+     * Iterate over the values supplied for a parameter as {@code double} values.
+     * <p>
+     * Values of an argument that is {@link SimpleDslArg#setSplitLazily() split lazily} are converted one at a time, as
+     * they are read, without holding them all in memory.
+     *
+     * @param name the name of the parameter.
+     * @return an iterator over the values supplied for the parameter, which is empty if none were supplied.
+     * @throws IllegalArgumentException if {@code name} does not match the name of a supported parameter, or, when the
+     *                                  iterator is advanced, if a lazily split value is not allowed.
+     * @throws NumberFormatException    if any of the supplied values can not be parsed as a {@code double}.
+     */
+    default PrimitiveIterator.OfDouble valuesAsDoubleIterator(final String name)
+    {
+        return stream(values(name)).mapToDouble(Double::parseDouble).iterator();
     }
 
     /**
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.time.Duration;
+
+/**
+ * An argument whose values are durations, held as a number of nanoseconds.
+ * <p>
+ * Values are parsed as they are supplied, as described by {@link TemporalFormat#parseDurationNanos(CharSequence)}, so
+ * both {@code 250ms} and {@code PT0.25S} are accepted:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args, DurationArg.optional("timeout").setDefault("5s"));
+ *   long timeoutNanos = params.valueAsDurationNanos("timeout");
+ * }</pre>
+ */
+public final class DurationArg extends TypedArg<Duration>
+{
+    private DurationArg(final String name, final boolean required)
+    {
+        super(name, required, Duration.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DurationArg required(final String name)
+    {
+        return new DurationArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static DurationArg optional(final String name)
+    {
+        return new DurationArg(name, false);
+    }
+
+    @Override
+    public DurationArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public DurationArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public DurationArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public DurationArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * An argument whose values are constants of an {@link Enum}.
+ * <p>
+ * The allowed values are the names of the constants, matched ignoring case, and values are converted to the constants
+ * as they are parsed:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args, EnumArg.required("side", Side.class));
+ *   Side side = params.valueAs("side", Side.class);
+ * }</pre>
+ *
+ * @param <E> the {@link Enum} type.
+ */
+public final class EnumArg<E extends Enum<E>> extends TypedArg<E>
+{
+    private EnumArg(final String name, final boolean required, final Class<E> enumType)
+    {
+        super(name, required, enumType);
+        setAllowedValues(enumType);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name     the name of the argument.
+     * @param enumType the {@link Enum} type.
+     * @param <E>      the {@link Enum} type.
+     * @return the argument.
+     */
+    public static <E extends Enum<E>> EnumArg<E> required(final String name, final Class<E> enumType)
+    {
+        return new EnumArg<>(name, true, enumType);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name     the name of the argument.
+     * @param enumType the {@link Enum} type.
+     * @param <E>      the {@link Enum} type.
+     * @return the argument.
+     */
+    public static <E extends Enum<E>> EnumArg<E> optional(final String name, final Class<E> enumType)
+    {
+        return new EnumArg<>(name, false, enumType);
+    }
+
+    @Override
+    public EnumArg<E> setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public EnumArg<E> setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public EnumArg<E> setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public EnumArg<E> freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.BufferArena;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off-heap storage for the values of {@link RepeatingArgGroup RepeatingArgGroups}, for groups too large to hold
+ * comfortably as one object per row.
+ * <p>
+ * Groups parsed with a storage have their values packed into columns of direct {@link ByteBuffer ByteBuffers}, one
+ * column per argument, and their rows are read through lightweight views that decode values when they are accessed.
+ * Closing the storage frees every buffer it allocated. The memory is released immediately on Java 8 and on Java 11
+ * and later, through the JDK's own cleaner for direct buffers; where that is not accessible, such as on Java 9 and 10,
+ * it is released when the garbage collector finds the buffers unreachable. The {@link DslParams} parsed with the
+ * storage can not be read once it has been closed, and it must not be closed while they are being read.
+ *
+ * <pre>{@code
+ *   try (GroupStorage storage = new GroupStorage()) {
+ *       DslParams params = INSTRUMENTS.withGroupStorage(storage).parse(args);
+ *       for (RepeatingGroup instrument : params.valuesAsGroup("instrument")) {
+ *           ...
+ *       }
+ *   }
+ * }</pre>
+ */
+public final class GroupStorage implements AutoCloseable
+{
+    private final BufferArena arena = new BufferArena();
+
+    /**
+     * Get the number of bytes currently allocated by this storage.
+     *
+     * @return the allocated bytes.
+     */
+    public long getAllocatedBytes()
+    {
+        return arena.getAllocatedBytes();
+    }
+
+    /**
+     * Free every buffer allocated by this storage.
+     */
+    @Override
+    public void close()
+    {
+        arena.close();
+    }
+
+    BufferArena getArena()
+    {
+        return arena;
+    }
+}
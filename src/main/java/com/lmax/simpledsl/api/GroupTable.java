@@ -0,0 +1,410 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The rows of a {@link RepeatingArgGroup} supplied as a table, rather than as alternating {@code "name: value"}
+ * arguments.
+ * <p>
+ * The table has a header naming a {@link DslArg} of the group for each column, followed by one row of values per
+ * occurrence of the group. Each value is used exactly as if it had been supplied by name: values for an argument that
+ * {@link DslArg#isAllowMultipleValues() allows multiple values} are split on its separator, and allowed values and
+ * required arguments are checked in the same way. A {@literal null} or missing value is treated as not supplied.
+ * <p>
+ * The rows of a table are added to the group after any rows supplied as arguments.
+ *
+ * <pre>{@code
+ *   DslParams params = PLACE_ORDERS.parse(
+ *           GroupTable.parse("order",
+ *                   "order, side, quantity\n" +
+ *                   "o-1,   buy,  10\n" +
+ *                   "o-2,   sell, 20\n"),
+ *           "account: acc-1");
+ * }</pre>
+ *
+ * @see DslSchema#parse(GroupTable, String...)
+ */
+public final class GroupTable
+{
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char NEW_LINE = '\n';
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final String groupName;
+    private final String[] header;
+    private final String[][] rows;
+    private RecordReader rowReader;
+
+    private GroupTable(final String groupName, final String[] header, final String[][] rows, final RecordReader rowReader)
+    {
+        this.groupName = groupName;
+        this.header = header;
+        this.rows = rows;
+        this.rowReader = rowReader;
+    }
+
+    /**
+     * Create a table from a header and rows of values.
+     *
+     * @param groupName the name of the {@link RepeatingArgGroup} the rows are for.
+     * @param header    the name of the {@link DslArg} for each column.
+     * @param rows      the values of each row, which can be shorter than the header but not longer.
+     * @return the table.
+     * @throws IllegalArgumentException if a row has more values than the header has columns.
+     */
+    public static GroupTable of(final String groupName, final String[] header, final String[]... rows)
+    {
+        final String[][] copiedRows = new String[rows.length][];
+        for (int i = 0; i < rows.length; i++)
+        {
+            checkRowLength(i, rows[i].length, header.length);
+            copiedRows[i] = rows[i].clone();
+        }
+        return new GroupTable(groupName, header.clone(), copiedRows, null);
+    }
+
+    /**
+     * Create a table from comma separated values, the first line of which is the header.
+     * <p>
+     * Values are trimmed and an empty value is treated as not supplied. A value can be enclosed in double quotes to
+     * keep its surrounding whitespace or to include commas, new lines or, by doubling them, double quotes. Blank lines
+     * are ignored.
+     *
+     * @param groupName the name of the {@link RepeatingArgGroup} the rows are for.
+     * @param text      the comma separated values.
+     * @return the table.
+     * @throws IllegalArgumentException if the text has no header, a row has more values than the header has columns or
+     *                                  a quoted value is not closed.
+     */
+    public static GroupTable parse(final String groupName, final CharSequence text)
+    {
+        try
+        {
+            final RecordReader records = new RecordReader(new StringReader(text.toString()));
+            final String[] header = readHeader(groupName, records);
+            final List<String[]> rows = new ArrayList<>();
+            for (String[] row = records.next(header.length); row != null; row = records.next(header.length))
+            {
+                rows.add(row);
+            }
+            return new GroupTable(groupName, header, rows.toArray(new String[0][]), null);
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Create a table from comma separated values read from a {@link Reader}, in the same format as
+     * {@link #parse(String, CharSequence)}.
+     * <p>
+     * Only the header is read here. The rows are read as they are parsed, one at a time, so a table of any size is
+     * parsed without holding its text or its rows. The table can therefore only be parsed once, and does not know its
+     * {@link #getRowCount() row count} or {@link #value(int, int) values}. Problems with the rows are reported when
+     * they are parsed, as an {@link UncheckedIOException} if they can not be read or an {@link IllegalArgumentException}
+     * if they are not valid. The reader is not closed.
+     *
+     * @param groupName the name of the {@link RepeatingArgGroup} the rows are for.
+     * @param reader    the source of the comma separated values.
+     * @return the table.
+     * @throws IOException              if the header can not be read.
+     * @throws IllegalArgumentException if there is no header.
+     */
+    public static GroupTable read(final String groupName, final Reader reader) throws IOException
+    {
+        final RecordReader records = new RecordReader(reader);
+        return new GroupTable(groupName, readHeader(groupName, records), null, records);
+    }
+
+    /**
+     * Get the name of the {@link RepeatingArgGroup} the rows are for.
+     *
+     * @return the group name.
+     */
+    public String getGroupName()
+    {
+        return groupName;
+    }
+
+    /**
+     * Get the name of the {@link DslArg} for each column.
+     *
+     * @return a copy of the header.
+     */
+    public String[] getHeader()
+    {
+        return header.clone();
+    }
+
+    /**
+     * Get the number of columns.
+     *
+     * @return the column count.
+     */
+    public int getColumnCount()
+    {
+        return header.length;
+    }
+
+    /**
+     * Get the number of rows, not counting the header.
+     *
+     * @return the row count.
+     * @throws IllegalStateException if the table is {@link #read(String, Reader) read} from a {@link Reader}, so its
+     *                               rows are not held.
+     */
+    public int getRowCount()
+    {
+        return heldRows().length;
+    }
+
+    /**
+     * Get a single value.
+     *
+     * @param row    the index of the row, not counting the header.
+     * @param column the index of the column.
+     * @return the value, or {@literal null} if it was not supplied.
+     * @throws IllegalStateException if the table is {@link #read(String, Reader) read} from a {@link Reader}, so its
+     *                               rows are not held.
+     */
+    public String value(final int row, final int column)
+    {
+        final String[] values = heldRows()[row];
+        return column < values.length ? values[column] : null;
+    }
+
+    /**
+     * Pass each row to an action, in order.
+     * <p>
+     * Each row holds a value for each column, or fewer if its last values were not supplied. The arrays passed may be
+     * the table's own, so must not be changed. The rows of a table {@link #read(String, Reader) read} from a
+     * {@link Reader} are read as they are passed, so can only be passed once.
+     *
+     * @param action the action to pass each row to.
+     * @throws IllegalStateException    if the rows have already been read from a {@link Reader}.
+     * @throws UncheckedIOException     if the rows can not be read from a {@link Reader}.
+     * @throws IllegalArgumentException if a row read from a {@link Reader} is not valid.
+     */
+    public void forEachRow(final Consumer<String[]> action)
+    {
+        if (rows != null)
+        {
+            for (final String[] row : rows)
+            {
+                action.accept(row);
+            }
+            return;
+        }
+
+        final RecordReader records = takeRowReader();
+        try
+        {
+            for (String[] row = records.next(header.length); row != null; row = records.next(header.length))
+            {
+                action.accept(row);
+            }
+        }
+        catch (final IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String[][] heldRows()
+    {
+        if (rows == null)
+        {
+            throw new IllegalStateException("The rows of group " + groupName + " are read as they are parsed, so are not held");
+        }
+        return rows;
+    }
+
+    private synchronized RecordReader takeRowReader()
+    {
+        final RecordReader records = rowReader;
+        if (records == null)
+        {
+            throw new IllegalStateException("The rows of group " + groupName + " have already been read");
+        }
+        rowReader = null;
+        return records;
+    }
+
+    private static String[] readHeader(final String groupName, final RecordReader records) throws IOException
+    {
+        final String[] header = records.next(Integer.MAX_VALUE);
+        if (header == null)
+        {
+            throw new IllegalArgumentException("No header found for group " + groupName);
+        }
+        return header;
+    }
+
+    private static void checkRowLength(final int row, final int length, final int columnCount)
+    {
+        if (length > columnCount)
+        {
+            throw new IllegalArgumentException("Row " + (row + 1) + " has " + length + " values but the header only has " + columnCount + " columns");
+        }
+    }
+
+    private static boolean isEndOfField(final int c)
+    {
+        return c == SEPARATOR || c == NEW_LINE;
+    }
+
+    private static boolean isBlank(final int c)
+    {
+        return c != NEW_LINE && c != -1 && Character.isWhitespace(c);
+    }
+
+    /**
+     * Reads the comma separated records of a table one at a time, through its own buffer so that each character costs
+     * no more than an array access.
+     */
+    private static final class RecordReader
+    {
+        private final Reader reader;
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+        private int position;
+        private int limit;
+        private int recordCount;
+
+        RecordReader(final Reader reader)
+        {
+            this.reader = reader;
+        }
+
+        /**
+         * Read the next record that is not blank, or return {@literal null} at the end of the input.
+         */
+        String[] next(final int columnCount) throws IOException
+        {
+            while (peek() != -1)
+            {
+                readRecord();
+                if (fields.size() > 1 || fields.get(0) != null)
+                {
+                    final String[] record = fields.toArray(new String[0]);
+                    fields.clear();
+                    if (recordCount++ != 0)
+                    {
+                        checkRowLength(recordCount - 2, record.length, columnCount);
+                    }
+                    return record;
+                }
+                fields.clear();
+            }
+            return null;
+        }
+
+        /**
+         * Read a single line of values, or more than one if a quoted value contains a new line.
+         */
+        private void readRecord() throws IOException
+        {
+            while (true)
+            {
+                while (isBlank(peek()))
+                {
+                    position++;
+                }
+
+                String field = null;
+                if (peek() == QUOTE)
+                {
+                    position++;
+                    field = readQuoted();
+                }
+
+                text.setLength(0);
+                for (int c = peek(); c != -1 && !isEndOfField(c); c = peek())
+                {
+                    text.append((char) c);
+                    position++;
+                }
+                if (field == null)
+                {
+                    final String unquoted = text.toString().trim();
+                    field = unquoted.isEmpty() ? null : unquoted;
+                }
+                fields.add(field);
+
+                final int end = peek();
+                if (end == -1)
+                {
+                    return;
+                }
+                position++;
+                if (end == NEW_LINE)
+                {
+                    return;
+                }
+            }
+        }
+
+        private String readQuoted() throws IOException
+        {
+            final StringBuilder quoted = new StringBuilder();
+            for (int c = peek(); c != -1; c = peek())
+            {
+                position++;
+                if (c != QUOTE)
+                {
+                    quoted.append((char) c);
+                }
+                else if (peek() == QUOTE)
+                {
+                    quoted.append(QUOTE);
+                    position++;
+                }
+                else
+                {
+                    return quoted.toString();
+                }
+            }
+            throw new IllegalArgumentException("Quoted value is not closed: \"" + quoted);
+        }
+
+        private int peek() throws IOException
+        {
+            while (position == limit)
+            {
+                final int read = reader.read(buffer);
+                if (read == -1)
+                {
+                    return -1;
+                }
+                position = 0;
+                limit = read;
+            }
+            return buffer[position];
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * An argument whose values are {@code int} numbers.
+ * <p>
+ * Values are converted as they are parsed and can be limited to a range with {@link #setMin(int)} and
+ * {@link #setMax(int)}:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args,
+ *                                       IntArg.required("quantity").setMin(1),
+ *                                       IntArg.optional("retries").setMax(5).setDefault("3"));
+ *   int quantity = params.valueAsInt("quantity");
+ * }</pre>
+ */
+public final class IntArg extends TypedArg<Integer>
+{
+    private IntArg(final String name, final boolean required)
+    {
+        super(name, required, Integer.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static IntArg required(final String name)
+    {
+        return new IntArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static IntArg optional(final String name)
+    {
+        return new IntArg(name, false);
+    }
+
+    /**
+     * Set the lowest value allowed for this argument.
+     *
+     * @param min the lowest value allowed, inclusive.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public IntArg setMin(final int min)
+    {
+        setMinValue(min);
+        return this;
+    }
+
+    /**
+     * Set the highest value allowed for this argument.
+     *
+     * @param max the highest value allowed, inclusive.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public IntArg setMax(final int max)
+    {
+        setMaxValue(max);
+        return this;
+    }
+
+    @Override
+    public IntArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public IntArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public IntArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public IntArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
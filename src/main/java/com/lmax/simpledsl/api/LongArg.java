@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * An argument whose values are {@code long} numbers.
+ * <p>
+ * Values are converted as they are parsed and can be limited to a range with {@link #setMin(long)} and
+ * {@link #setMax(long)}:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args,
+ *                                       LongArg.required("accountId").setMin(1),
+ *                                       LongArg.optional("timeoutMillis").setDefault("5000"));
+ *   long accountId = params.valueAsLong("accountId");
+ * }</pre>
+ */
+public final class LongArg extends TypedArg<Long>
+{
+    private LongArg(final String name, final boolean required)
+    {
+        super(name, required, Long.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static LongArg required(final String name)
+    {
+        return new LongArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static LongArg optional(final String name)
+    {
+        return new LongArg(name, false);
+    }
+
+    /**
+     * Set the lowest value allowed for this argument.
+     *
+     * @param min the lowest value allowed, inclusive.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public LongArg setMin(final long min)
+    {
+        setMinValue(min);
+        return this;
+    }
+
+    /**
+     * Set the highest value allowed for this argument.
+     *
+     * @param max the highest value allowed, inclusive.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public LongArg setMax(final long max)
+    {
+        setMaxValue(max);
+        return this;
+    }
+
+    @Override
+    public LongArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public LongArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public LongArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public LongArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parsed {@link DslParams} passed on from one DSL layer to another without converting them back to {@link String}
+ * arguments.
+ * <p>
+ * Each parameter of the receiving schema that is not supplied as an argument takes the values of the parameter with the
+ * same name in the source {@link DslParams}, if it has any. The forwarded values are used as they are rather than
+ * being split and matched against their source {@link DslArg} again; only the receiving {@link DslArg}'s own allowed
+ * values, multiple value setting and type are checked. Repeating groups are not forwarded.
+ *
+ * <pre>{@code
+ *   public void registerAndLogin(String... args) {
+ *       DslParams params = REGISTER_AND_LOGIN.parse(args);
+ *       createUser(ParamForwarding.from(params));
+ *       login(ParamForwarding.from(params).rename("user", "loginAs"), "password: password");
+ *   }
+ *
+ *   private void login(ParamForwarding forwarded, String... args) {
+ *       DslParams params = LOGIN.parse(forwarded, args);
+ *       ...
+ *   }
+ * }</pre>
+ *
+ * @see DslSchema#parse(ParamForwarding, String...)
+ */
+public final class ParamForwarding
+{
+    private final DslParams source;
+    private final Map<String, String> sourceNamesByTargetName;
+    private final Map<String, String> targetNamesBySourceName;
+
+    private ParamForwarding(
+            final DslParams source,
+            final Map<String, String> sourceNamesByTargetName,
+            final Map<String, String> targetNamesBySourceName)
+    {
+        this.source = source;
+        this.sourceNamesByTargetName = sourceNamesByTargetName;
+        this.targetNamesBySourceName = targetNamesBySourceName;
+    }
+
+    /**
+     * Forward every parameter of the given {@link DslParams} under its own name.
+     *
+     * @param source the {@link DslParams} to forward.
+     * @return the forwarding.
+     */
+    public static ParamForwarding from(final DslParams source)
+    {
+        return new ParamForwarding(source, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * Create a copy of this forwarding that passes on a source parameter under a different name, in the same way as
+     * {@link DslValues#valueAsParamNamed(String, String)}.
+     * <p>
+     * The source parameter is then no longer forwarded under its own name.
+     *
+     * @param sourceName the name of the parameter in the source {@link DslParams}.
+     * @param targetName the name of the parameter in the receiving schema.
+     * @return the new forwarding.
+     * @throws IllegalArgumentException if {@code targetName} has already been given to another source parameter.
+     */
+    public ParamForwarding rename(final String sourceName, final String targetName)
+    {
+        final String existingSourceName = sourceNamesByTargetName.get(targetName.toLowerCase());
+        if (existingSourceName != null && !existingSourceName.equalsIgnoreCase(sourceName))
+        {
+            throw new IllegalArgumentException(existingSourceName + " is already forwarded as " + targetName);
+        }
+
+        final Map<String, String> sourceNames = new HashMap<>(sourceNamesByTargetName);
+        final Map<String, String> targetNames = new HashMap<>(targetNamesBySourceName);
+        final String previousTargetName = targetNames.put(sourceName.toLowerCase(), targetName);
+        if (previousTargetName != null)
+        {
+            sourceNames.remove(previousTargetName.toLowerCase());
+        }
+        sourceNames.put(targetName.toLowerCase(), sourceName);
+        return new ParamForwarding(source, sourceNames, targetNames);
+    }
+
+    /**
+     * Get the {@link DslParams} being forwarded.
+     *
+     * @return the source {@link DslParams}.
+     */
+    public DslParams getSource()
+    {
+        return source;
+    }
+
+    /**
+     * Get the name of the source parameter forwarded to a parameter of the receiving schema.
+     *
+     * @param targetName the name of the parameter in the receiving schema.
+     * @return the name of the source parameter, or {@literal null} if nothing is forwarded to {@code targetName}.
+     */
+    public String getSourceName(final String targetName)
+    {
+        final String lowerCaseName = targetName.toLowerCase();
+        final String sourceName = sourceNamesByTargetName.get(lowerCaseName);
+        if (sourceName != null)
+        {
+            return sourceName;
+        }
+        return targetNamesBySourceName.containsKey(lowerCaseName) ? null : targetName;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * A single problem found while parsing supplied values.
+ * <p>
+ * The human readable {@link #getMessage() message} is only built when it is first requested, so errors are cheap to
+ * create and inspect by {@link #getCode() code}.
+ */
+public final class ParseError
+{
+    private final ParseErrorCode code;
+    private final DslArg arg;
+    private final String groupName;
+    private final String argument;
+    private String message;
+
+    /**
+     * Create a new error.
+     *
+     * @param code      the reason for the error.
+     * @param arg       the {@link DslArg} the error relates to, or {@literal null} if it does not relate to a specific argument.
+     * @param groupName the name of the {@link RepeatingArgGroup} the error occurred in, or {@literal null} if it was not in a group.
+     * @param argument  the offending supplied value, or {@literal null} if the error was not caused by a specific value.
+     */
+    public ParseError(final ParseErrorCode code, final DslArg arg, final String groupName, final String argument)
+    {
+        this.code = code;
+        this.arg = arg;
+        this.groupName = groupName;
+        this.argument = argument;
+    }
+
+    /**
+     * Get the reason for this error.
+     *
+     * @return the error code.
+     */
+    public ParseErrorCode getCode()
+    {
+        return code;
+    }
+
+    /**
+     * Get the {@link DslArg} this error relates to.
+     *
+     * @return the argument, or {@literal null} if the error does not relate to a specific argument.
+     */
+    public DslArg getArg()
+    {
+        return arg;
+    }
+
+    /**
+     * Get the name of the parameter this error relates to.
+     *
+     * @return the parameter name, or {@literal null} if the error does not relate to a specific argument.
+     */
+    public String getParamName()
+    {
+        return arg != null ? arg.getName() : null;
+    }
+
+    /**
+     * Get the name of the {@link RepeatingArgGroup} this error occurred in.
+     *
+     * @return the group name, or {@literal null} if the error did not occur within a group.
+     */
+    public String getGroupName()
+    {
+        return groupName;
+    }
+
+    /**
+     * Get the supplied value that caused this error.
+     *
+     * @return the offending value, or {@literal null} if the error was not caused by a specific value.
+     */
+    public String getArgument()
+    {
+        return argument;
+    }
+
+    /**
+     * Get a human readable description of this error.
+     *
+     * @return the error message.
+     */
+    public String getMessage()
+    {
+        if (message == null)
+        {
+            message = code.formatMessage(this);
+        }
+        return message;
+    }
+
+    @Override
+    public String toString()
+    {
+        return code + ": " + getMessage();
+    }
+}
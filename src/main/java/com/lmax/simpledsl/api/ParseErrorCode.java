@@ -0,0 +1,151 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.util.Arrays;
+
+/**
+ * The reasons that supplied values can fail to parse.
+ *
+ * @see ParseError
+ */
+public enum ParseErrorCode
+{
+    /**
+     * No value was supplied for a {@link RequiredArg}.
+     */
+    MISSING_VALUE
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return "Missing value for parameter: " + error.getParamName();
+        }
+    },
+
+    /**
+     * No value was supplied for a {@link RequiredArg} within one occurrence of a {@link RepeatingArgGroup}.
+     */
+    MISSING_GROUP_VALUE
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return "Did not supply a value for " + error.getParamName() + " in group " + error.getGroupName();
+        }
+    },
+
+    /**
+     * More than one value was supplied for an argument that only accepts a single value.
+     */
+    MULTIPLE_VALUES_NOT_ALLOWED
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return "Multiple " + error.getParamName() + " parameters are not allowed";
+        }
+    },
+
+    /**
+     * A value was supplied that is not one of the argument's {@link DslArg#getAllowedValues() allowed values}.
+     */
+    VALUE_NOT_ALLOWED
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return error.getParamName() + " parameter value '" + error.getArgument() + "' must be one of: " + Arrays.toString(error.getArg().getAllowedValues());
+        }
+    },
+
+    /**
+     * Two arguments were defined with the same name.
+     */
+    DUPLICATE_PARAMETER
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return error.getGroupName() == null
+                    ? "Duplicate parameter '" + error.getParamName() + "'"
+                    : "Duplicate parameter '" + error.getParamName() + "' in group " + error.getGroupName();
+        }
+    },
+
+    /**
+     * An unnamed value was supplied that could not be matched to an argument by position.
+     */
+    UNEXPECTED_AMBIGUOUS_ARGUMENT
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return "Unexpected ambiguous argument " + error.getArgument();
+        }
+    },
+
+    /**
+     * A named value was supplied that does not match any argument.
+     */
+    UNEXPECTED_ARGUMENT
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            return "Unexpected argument " + error.getArgument();
+        }
+    },
+
+    /**
+     * A value was supplied for a {@link TypedArg} that can not be converted to the argument's type.
+     */
+    INVALID_VALUE
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            final TypedArg<?> arg = (TypedArg<?>) error.getArg();
+            return error.getParamName() + " parameter value '" + error.getArgument() + "' is not a valid " + arg.getValueType().getSimpleName();
+        }
+    },
+
+    /**
+     * A value was supplied for a {@link TypedArg} that is outside the argument's bounds.
+     */
+    VALUE_OUT_OF_RANGE
+    {
+        @Override
+        String formatMessage(final ParseError error)
+        {
+            final TypedArg<?> arg = (TypedArg<?>) error.getArg();
+            return error.getParamName() + " parameter value '" + error.getArgument() + "' must be " + describeRange(arg.getMin(), arg.getMax());
+        }
+    };
+
+    abstract String formatMessage(ParseError error);
+
+    private static String describeRange(final Object min, final Object max)
+    {
+        if (min == null)
+        {
+            return "at most " + max;
+        }
+        return max == null ? "at least " + min : "between " + min + " and " + max;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * Receives notifications of the progress of parsing supplied values, for example to gather metrics.
+ * <p>
+ * Every method has an empty default implementation, so listeners only need to implement the events they are interested
+ * in. Parsers use {@link #NONE} by default, whose empty methods are inlined away by the JIT.
+ * <p>
+ * Listeners are called on the thread that is parsing and are typically shared between threads, so implementations must
+ * be thread-safe and should be cheap.
+ *
+ * @see ParseMetrics
+ */
+public interface ParseListener
+{
+    /**
+     * A listener that ignores all events.
+     */
+    ParseListener NONE = new ParseListener()
+    {
+    };
+
+    /**
+     * Called before the supplied values are parsed.
+     *
+     * @param schemaName    the name of the schema being parsed against.
+     * @param argumentCount the number of values supplied.
+     * @return a token that will be passed back to {@link #onParseEnd}, such as the time parsing started.
+     */
+    default long onParseStart(final String schemaName, final int argumentCount)
+    {
+        return 0;
+    }
+
+    /**
+     * Called when the values for a {@link RepeatingArgGroup} have been parsed.
+     *
+     * @param schemaName the name of the schema being parsed against.
+     * @param groupName  the name of the group.
+     * @param rowCount   the number of times the group was supplied.
+     */
+    default void onGroupParsed(final String schemaName, final String groupName, final int rowCount)
+    {
+    }
+
+    /**
+     * Called when an argument's {@link DslArg#getDefaultValue() default value} is used because no value was supplied.
+     *
+     * @param schemaName the name of the schema being parsed against.
+     * @param paramName  the name of the argument.
+     */
+    default void onDefaultApplied(final String schemaName, final String paramName)
+    {
+    }
+
+    /**
+     * Called when a problem is found with the supplied values.
+     *
+     * @param schemaName the name of the schema being parsed against.
+     * @param code       the reason for the failure.
+     * @param paramName  the name of the argument involved, or {@literal null} if the failure does not relate to a specific argument.
+     */
+    default void onValidationFailure(final String schemaName, final ParseErrorCode code, final String paramName)
+    {
+    }
+
+    /**
+     * Called after the supplied values have been parsed.
+     *
+     * @param schemaName the name of the schema being parsed against.
+     * @param startToken the token returned by {@link #onParseStart}.
+     * @param success    {@literal true} if and only if the values were parsed without errors.
+     */
+    default void onParseEnd(final String schemaName, final long startToken, final boolean success)
+    {
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link ParseListener} that keeps counters and latency histograms for each schema.
+ * <p>
+ * When created with an {@link MBeanServer}, the {@link SchemaParseMetrics} for each schema are registered as an MXBean
+ * named {@code com.lmax.simpledsl:type=ParseMetrics,schema=<name>} as soon as the schema is first parsed.
+ *
+ * <pre>{@code
+ *   private static final ParseMetrics METRICS = new ParseMetrics(ManagementFactory.getPlatformMBeanServer());
+ *   private static final DslParamsParser PARSER = new DslParamsParser().withParseListener(METRICS);
+ * }</pre>
+ */
+public final class ParseMetrics implements ParseListener
+{
+    private static final String OBJECT_NAME_PREFIX = "com.lmax.simpledsl:type=ParseMetrics,schema=";
+
+    private final ConcurrentMap<String, SchemaParseMetrics> metricsBySchema = new ConcurrentHashMap<>();
+    private final MBeanServer mBeanServer;
+
+    /**
+     * Create metrics that are not exposed over JMX.
+     */
+    public ParseMetrics()
+    {
+        this(null);
+    }
+
+    /**
+     * Create metrics that are exposed over JMX.
+     *
+     * @param mBeanServer the server to register the metrics for each schema with.
+     */
+    public ParseMetrics(final MBeanServer mBeanServer)
+    {
+        this.mBeanServer = mBeanServer;
+    }
+
+    @Override
+    public long onParseStart(final String schemaName, final int argumentCount)
+    {
+        metricsFor(schemaName).recordStart(argumentCount);
+        return System.nanoTime();
+    }
+
+    @Override
+    public void onGroupParsed(final String schemaName, final String groupName, final int rowCount)
+    {
+        metricsFor(schemaName).recordGroup(rowCount);
+    }
+
+    @Override
+    public void onDefaultApplied(final String schemaName, final String paramName)
+    {
+        metricsFor(schemaName).recordDefaultApplied();
+    }
+
+    @Override
+    public void onValidationFailure(final String schemaName, final ParseErrorCode code, final String paramName)
+    {
+        metricsFor(schemaName).recordValidationFailure();
+    }
+
+    @Override
+    public void onParseEnd(final String schemaName, final long startToken, final boolean success)
+    {
+        metricsFor(schemaName).recordEnd(System.nanoTime() - startToken, success);
+    }
+
+    /**
+     * Get the metrics gathered for a schema.
+     *
+     * @param schemaName the name of the schema.
+     * @return the metrics, or {@literal null} if the schema has not been parsed.
+     */
+    public SchemaParseMetrics getSchemaMetrics(final String schemaName)
+    {
+        return metricsBySchema.get(schemaName);
+    }
+
+    /**
+     * Get the names of all the schemas that have been parsed.
+     *
+     * @return the schema names.
+     */
+    public Set<String> getSchemaNames()
+    {
+        return Collections.unmodifiableSet(metricsBySchema.keySet());
+    }
+
+    /**
+     * Remove the MXBeans registered by these metrics.
+     *
+     * @throws IllegalStateException if the MXBeans cannot be unregistered.
+     */
+    public void unregisterMBeans()
+    {
+        if (mBeanServer == null)
+        {
+            return;
+        }
+
+        for (final String schemaName : metricsBySchema.keySet())
+        {
+            try
+            {
+                final ObjectName objectName = objectNameFor(schemaName);
+                if (mBeanServer.isRegistered(objectName))
+                {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            }
+            catch (final JMException e)
+            {
+                throw new IllegalStateException("Unable to unregister metrics for schema " + schemaName, e);
+            }
+        }
+    }
+
+    private SchemaParseMetrics metricsFor(final String schemaName)
+    {
+        final SchemaParseMetrics metrics = metricsBySchema.get(schemaName);
+        return metrics != null ? metrics : metricsBySchema.computeIfAbsent(schemaName, this::newMetrics);
+    }
+
+    private SchemaParseMetrics newMetrics(final String schemaName)
+    {
+        final SchemaParseMetrics metrics = new SchemaParseMetrics(schemaName);
+        if (mBeanServer != null)
+        {
+            try
+            {
+                mBeanServer.registerMBean(metrics, objectNameFor(schemaName));
+            }
+            catch (final JMException e)
+            {
+                throw new IllegalStateException("Unable to register metrics for schema " + schemaName, e);
+            }
+        }
+        return metrics;
+    }
+
+    private static ObjectName objectNameFor(final String schemaName) throws JMException
+    {
+        return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(schemaName));
+    }
+}
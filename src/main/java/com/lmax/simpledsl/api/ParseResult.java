@@ -0,0 +1,119 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of parsing supplied values without throwing an exception.
+ * <p>
+ * Either holds the parsed {@link DslParams} or the {@link ParseError errors} that prevented them being parsed.
+ *
+ * <pre>{@code
+ *   ParseResult result = CREATE_USER.tryParse(args);
+ *   if (!result.isSuccess()) {
+ *       assertEquals(ParseErrorCode.MISSING_VALUE, result.getFirstError().getCode());
+ *   }
+ * }</pre>
+ *
+ * @see DslSchema#tryParse(String...)
+ */
+public final class ParseResult
+{
+    private final DslParams params;
+    private final List<ParseError> errors;
+
+    private ParseResult(final DslParams params, final List<ParseError> errors)
+    {
+        this.params = params;
+        this.errors = errors;
+    }
+
+    /**
+     * Create a successful result.
+     *
+     * @param params the parsed {@link DslParams}.
+     * @return the result.
+     */
+    public static ParseResult success(final DslParams params)
+    {
+        return new ParseResult(params, Collections.emptyList());
+    }
+
+    /**
+     * Create a failed result.
+     *
+     * @param errors the errors found, in the order they were found.
+     * @return the result.
+     * @throws IllegalArgumentException if no errors are supplied.
+     */
+    public static ParseResult failure(final List<ParseError> errors)
+    {
+        if (errors.isEmpty())
+        {
+            throw new IllegalArgumentException("A failed result must have at least one error");
+        }
+        return new ParseResult(null, Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * Determine if the values were parsed successfully.
+     *
+     * @return {@literal true} if and only if there were no errors.
+     */
+    public boolean isSuccess()
+    {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Get the parsed {@link DslParams}, throwing an exception if the values could not be parsed.
+     *
+     * @return the parsed {@link DslParams}.
+     * @throws IllegalArgumentException describing the first error if the values could not be parsed.
+     */
+    public DslParams getParams()
+    {
+        if (!errors.isEmpty())
+        {
+            throw new IllegalArgumentException(errors.get(0).getMessage());
+        }
+        return params;
+    }
+
+    /**
+     * Get the errors that prevented the values being parsed.
+     *
+     * @return the errors, in the order they were found, or an empty list if parsing was successful.
+     */
+    public List<ParseError> getErrors()
+    {
+        return errors;
+    }
+
+    /**
+     * Get the first error that prevented the values being parsed.
+     *
+     * @return the first error, or {@literal null} if parsing was successful.
+     */
+    public ParseError getFirstError()
+    {
+        return errors.isEmpty() ? null : errors.get(0);
+    }
+}
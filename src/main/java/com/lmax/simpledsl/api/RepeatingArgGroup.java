@@ -16,6 +16,9 @@
 
 package com.lmax.simpledsl.api;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Define a group of arguments that can be repeated 0 or more times.
  * <p>
@@ -23,8 +26,18 @@ package com.lmax.simpledsl.api;
  * arguments and when retrieving the groups from {@link DslParams#valuesAsGroup(String)}. Other argument may follow
  * the first argument in any order.
  * <p>
- * Multiple {@link RepeatingArgGroup RepeatingArgGroups} can be used within the same {@link DslParams} but they
- * cannot be nested.
+ * Multiple {@link RepeatingArgGroup RepeatingArgGroups} can be used within the same {@link DslParams}, and a group can
+ * contain other groups, whose rows follow the row of the enclosing group they belong to and are retrieved from it with
+ * {@link RepeatingGroup#valuesAsGroup(String)}:
+ *
+ * <pre>{@code
+ *     new RepeatingArgGroup(
+ *         new RequiredArg("order"),
+ *         new OptionalArg("side"),
+ *         new RepeatingArgGroup(new RequiredArg("fill"), new OptionalArg("price")));
+ *
+ *     placeOrders("order: o-1", "side: buy", "fill: f-1", "price: 10", "fill: f-2", "price: 11", "order: o-2", "side: sell");
+ * }</pre>
  *
  * <pre>{@code
  * public void createUsers(String... args) {
@@ -44,11 +57,45 @@ public class RepeatingArgGroup implements DslArg
 {
     private final RequiredArg identity;
     private final SimpleDslArg[] otherArgs;
+    private final RepeatingArgGroup[] subGroups;
 
     public RepeatingArgGroup(final RequiredArg firstArg, final SimpleDslArg... otherArgs)
     {
         this.identity = firstArg;
-        this.otherArgs = otherArgs;
+        this.otherArgs = otherArgs.clone();
+        this.subGroups = new RepeatingArgGroup[0];
+    }
+
+    /**
+     * Create a group that can contain other {@link RepeatingArgGroup RepeatingArgGroups} as well as simple arguments.
+     *
+     * @param firstArg  the {@link RequiredArg} identifying each row of the group.
+     * @param otherArgs the {@link SimpleDslArg SimpleDslArgs} and nested {@link RepeatingArgGroup RepeatingArgGroups} in the group.
+     * @throws IllegalArgumentException if any of {@code otherArgs} is neither a {@link SimpleDslArg} nor a {@link RepeatingArgGroup}.
+     */
+    public RepeatingArgGroup(final RequiredArg firstArg, final DslArg... otherArgs)
+    {
+        final List<SimpleDslArg> simpleArgs = new ArrayList<>();
+        final List<RepeatingArgGroup> groups = new ArrayList<>();
+        for (final DslArg otherArg : otherArgs)
+        {
+            if (otherArg instanceof SimpleDslArg)
+            {
+                simpleArgs.add((SimpleDslArg) otherArg);
+            }
+            else if (otherArg instanceof RepeatingArgGroup)
+            {
+                groups.add((RepeatingArgGroup) otherArg);
+            }
+            else
+            {
+                throw new IllegalArgumentException(otherArg.getName() + " can not be used in a repeating group");
+            }
+        }
+
+        this.identity = firstArg;
+        this.otherArgs = simpleArgs.toArray(new SimpleDslArg[0]);
+        this.subGroups = groups.toArray(new RepeatingArgGroup[0]);
     }
 
     @Override
@@ -87,6 +134,27 @@ public class RepeatingArgGroup implements DslArg
         return null;
     }
 
+    /**
+     * Freeze the {@link #getIdentity() identity argument}, all the {@link #getOtherArgs() other arguments} and all the
+     * {@link #getSubGroups() nested groups} in this group.
+     *
+     * @return this group
+     */
+    @Override
+    public RepeatingArgGroup freeze()
+    {
+        identity.freeze();
+        for (final SimpleDslArg otherArg : otherArgs)
+        {
+            otherArg.freeze();
+        }
+        for (final RepeatingArgGroup subGroup : subGroups)
+        {
+            subGroup.freeze();
+        }
+        return this;
+    }
+
     /**
      * Get the {@link RequiredArg} that identifies this {@link RepeatingArgGroup}.
      *
@@ -98,13 +166,23 @@ public class RepeatingArgGroup implements DslArg
     }
 
     /**
-     * Get all the {@link DslArg DslArgs}, except for the {@link #getIdentity() identity argument} that comprise this
-     * {@link RepeatingArgGroup}.
+     * Get all the {@link DslArg DslArgs}, except for the {@link #getIdentity() identity argument} and any
+     * {@link #getSubGroups() nested groups}, that comprise this {@link RepeatingArgGroup}.
      *
-     * @return the {@link DslArg DslArgs}.
+     * @return a copy of the {@link DslArg DslArgs}.
      */
     public SimpleDslArg[] getOtherArgs()
     {
-        return otherArgs;
+        return otherArgs.clone();
+    }
+
+    /**
+     * Get the {@link RepeatingArgGroup RepeatingArgGroups} nested within this {@link RepeatingArgGroup}.
+     *
+     * @return a copy of the nested groups, which is empty if there are none.
+     */
+    public RepeatingArgGroup[] getSubGroups()
+    {
+        return subGroups.clone();
     }
 }
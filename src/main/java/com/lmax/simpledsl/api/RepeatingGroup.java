@@ -16,15 +16,70 @@
 
 package com.lmax.simpledsl.api;
 
+import java.util.stream.Stream;
+
 /**
  * Provides access to the values for a single instance of a {@link RepeatingArgGroup}.
  * <p>
- * Apart from not supporting nested {@link RepeatingArgGroup RepeatingArgGroups}, all the value accessor methods
- * from {@link DslParams} are available.
+ * All the value accessor methods from {@link DslParams} are available, and the rows of any
+ * {@link RepeatingArgGroup#getSubGroups() nested groups} that belong to this row can be retrieved with
+ * {@link #valuesAsGroup(String)} and {@link #groupStream(String)}.
  *
  * @see RepeatingArgGroup
  * @see DslParams#valuesAsGroup(String)
  */
 public interface RepeatingGroup extends DslValues
 {
+    /**
+     * Get the dictionary code of the value of a parameter.
+     * <p>
+     * Groups packed into a {@link GroupStorage} dictionary encode arguments with few distinct values, such as those
+     * with allowed values. Codes are small, non-negative and the same for every row with the same value, so they can be
+     * compared or used to index arrays without decoding the value. Use {@link #valueForCode(String, int)} to find the
+     * shared value of a code.
+     *
+     * @param name the name of the parameter.
+     * @return the code of the parameter's first value, or -1 if it has no value or its values are not dictionary encoded.
+     */
+    default int valueCode(final String name)
+    {
+        return -1;
+    }
+
+    /**
+     * Get the value of a parameter with the given dictionary code, without allocating.
+     *
+     * @param name the name of the parameter.
+     * @param code the code returned by {@link #valueCode(String)}.
+     * @return the value.
+     * @throws IllegalArgumentException if the parameter's values are not dictionary encoded or no value has the code.
+     */
+    default String valueForCode(final String name, final int code)
+    {
+        throw new IllegalArgumentException(name + " is not dictionary encoded");
+    }
+
+    /**
+     * Retrieve the rows of a nested {@link RepeatingArgGroup} that belong to this row.
+     *
+     * @param groupName the name of the nested group.
+     * @return an array of {@link RepeatingGroup} instances, one for each row supplied for the nested group within this row.
+     * @throws IllegalArgumentException if {@code groupName} does not match the name of a group nested in this one.
+     */
+    default RepeatingGroup[] valuesAsGroup(final String groupName)
+    {
+        throw new IllegalArgumentException(groupName + " is not a nested repeating group");
+    }
+
+    /**
+     * Stream the rows of a nested {@link RepeatingArgGroup} that belong to this row, without copying them.
+     *
+     * @param groupName the name of the nested group.
+     * @return a {@link Stream} of the rows supplied for the nested group within this row, in the order they were supplied.
+     * @throws IllegalArgumentException if {@code groupName} does not match the name of a group nested in this one.
+     */
+    default Stream<RepeatingGroup> groupStream(final String groupName)
+    {
+        throw new IllegalArgumentException(groupName + " is not a nested repeating group");
+    }
 }
@@ -81,4 +81,11 @@ public class RequiredArg extends SimpleDslArg
         super.setAllowMultipleValues(delimiter);
         return this;
     }
+
+    @Override
+    public RequiredArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
 }
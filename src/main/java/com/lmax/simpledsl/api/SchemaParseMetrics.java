@@ -0,0 +1,177 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics gathered by {@link ParseMetrics} for a single schema.
+ * <p>
+ * All counters are updated without locking. Latencies are recorded in a histogram of power-of-two buckets.
+ */
+public final class SchemaParseMetrics implements SchemaParseMetricsMXBean
+{
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+    private static final double PERCENT = 100.0;
+
+    private final String schemaName;
+    private final LongAdder parseCount = new LongAdder();
+    private final LongAdder failedParseCount = new LongAdder();
+    private final LongAdder argumentCount = new LongAdder();
+    private final LongAdder groupRowCount = new LongAdder();
+    private final LongAdder defaultsAppliedCount = new LongAdder();
+    private final LongAdder validationFailureCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKET_COUNT);
+
+    SchemaParseMetrics(final String schemaName)
+    {
+        this.schemaName = schemaName;
+    }
+
+    void recordStart(final int argumentCount)
+    {
+        this.argumentCount.add(argumentCount);
+    }
+
+    void recordGroup(final int rowCount)
+    {
+        groupRowCount.add(rowCount);
+    }
+
+    void recordDefaultApplied()
+    {
+        defaultsAppliedCount.increment();
+    }
+
+    void recordValidationFailure()
+    {
+        validationFailureCount.increment();
+    }
+
+    void recordEnd(final long latencyNanos, final boolean success)
+    {
+        parseCount.increment();
+        if (!success)
+        {
+            failedParseCount.increment();
+        }
+
+        final long latency = Math.max(0, latencyNanos);
+        totalLatencyNanos.add(latency);
+        latencyHistogram.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(latency));
+
+        long max = maxLatencyNanos.get();
+        while (latency > max && !maxLatencyNanos.compareAndSet(max, latency))
+        {
+            max = maxLatencyNanos.get();
+        }
+    }
+
+    @Override
+    public String getSchemaName()
+    {
+        return schemaName;
+    }
+
+    @Override
+    public long getParseCount()
+    {
+        return parseCount.sum();
+    }
+
+    @Override
+    public long getFailedParseCount()
+    {
+        return failedParseCount.sum();
+    }
+
+    @Override
+    public long getArgumentCount()
+    {
+        return argumentCount.sum();
+    }
+
+    @Override
+    public long getGroupRowCount()
+    {
+        return groupRowCount.sum();
+    }
+
+    @Override
+    public long getDefaultsAppliedCount()
+    {
+        return defaultsAppliedCount.sum();
+    }
+
+    @Override
+    public long getValidationFailureCount()
+    {
+        return validationFailureCount.sum();
+    }
+
+    @Override
+    public double getMeanLatencyNanos()
+    {
+        final long count = parseCount.sum();
+        return count == 0 ? 0 : (double) totalLatencyNanos.sum() / count;
+    }
+
+    @Override
+    public long getMaxLatencyNanos()
+    {
+        return maxLatencyNanos.get();
+    }
+
+    @Override
+    public long[] getLatencyHistogram()
+    {
+        final long[] histogram = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            histogram[i] = latencyHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    @Override
+    public long getLatencyPercentileNanos(final double percentile)
+    {
+        final long[] histogram = getLatencyHistogram();
+        long total = 0;
+        for (final long count : histogram)
+        {
+            total += count;
+        }
+
+        final long target = (long) Math.ceil(total * Math.min(PERCENT, Math.max(0, percentile)) / PERCENT);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            seen += histogram[i];
+            if (seen >= target && histogram[i] != 0)
+            {
+                return i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * The JMX view of the metrics gathered by {@link ParseMetrics} for a single schema.
+ */
+public interface SchemaParseMetricsMXBean
+{
+    /**
+     * Get the name of the schema.
+     *
+     * @return the schema name.
+     */
+    String getSchemaName();
+
+    /**
+     * Get the number of times values have been parsed against the schema.
+     *
+     * @return the parse count.
+     */
+    long getParseCount();
+
+    /**
+     * Get the number of times values failed to parse against the schema.
+     *
+     * @return the failed parse count.
+     */
+    long getFailedParseCount();
+
+    /**
+     * Get the total number of values supplied to the schema.
+     *
+     * @return the argument count.
+     */
+    long getArgumentCount();
+
+    /**
+     * Get the total number of {@link RepeatingArgGroup} rows parsed.
+     *
+     * @return the group row count.
+     */
+    long getGroupRowCount();
+
+    /**
+     * Get the number of times a default value was used because no value was supplied.
+     *
+     * @return the defaults applied count.
+     */
+    long getDefaultsAppliedCount();
+
+    /**
+     * Get the number of problems found with supplied values.
+     *
+     * @return the validation failure count.
+     */
+    long getValidationFailureCount();
+
+    /**
+     * Get the mean time taken to parse, in nanoseconds.
+     *
+     * @return the mean latency, or {@code 0} if nothing has been parsed.
+     */
+    double getMeanLatencyNanos();
+
+    /**
+     * Get the longest time taken to parse, in nanoseconds.
+     *
+     * @return the maximum latency.
+     */
+    long getMaxLatencyNanos();
+
+    /**
+     * Get the number of parses in each latency bucket. Bucket {@code i} counts parses that took less than
+     * 2<sup>i</sup> nanoseconds and at least 2<sup>i-1</sup> nanoseconds.
+     *
+     * @return the counts for each bucket.
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * Get an upper bound on the given percentile of the time taken to parse, in nanoseconds.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the upper bound of the histogram bucket containing the percentile.
+     */
+    long getLatencyPercentileNanos(double percentile);
+}
@@ -20,6 +20,9 @@ import static java.util.Arrays.stream;
 
 /**
  * The root type for all simple args.
+ * <p>
+ * Args are configured using the fluent setters and can then be {@link #freeze() frozen}, after which they can no longer
+ * be changed and can be safely shared between threads.
  */
 public abstract class SimpleDslArg implements DslArg
 {
@@ -28,10 +31,12 @@ public abstract class SimpleDslArg implements DslArg
     private final String name;
     private final boolean required;
 
-    protected String defaultValue;
-    protected boolean allowMultipleValues;
-    protected String multipleValueSeparator;
-    protected String[] allowedValues;
+    private String defaultValue;
+    private boolean allowMultipleValues;
+    private String multipleValueSeparator;
+    private String[] allowedValues;
+    private boolean splitLazily;
+    private boolean frozen;
 
     public SimpleDslArg(final String name, final boolean required)
     {
@@ -74,10 +79,57 @@ public abstract class SimpleDslArg implements DslArg
         return multipleValueSeparator;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned array is a copy and may be freely modified by the caller.
+     */
     @Override
     public String[] getAllowedValues()
     {
-        return allowedValues;
+        return allowedValues != null ? allowedValues.clone() : null;
+    }
+
+    @Override
+    public String findAllowedValue(final String value)
+    {
+        if (allowedValues == null)
+        {
+            return value;
+        }
+
+        for (final String allowedValue : allowedValues)
+        {
+            if (allowedValue.equalsIgnoreCase(value))
+            {
+                return allowedValue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prevent any further changes to this argument.
+     * <p>
+     * Calling any of the setters on a frozen argument will throw an {@link IllegalStateException}.
+     *
+     * @return this argument
+     */
+    @Override
+    public SimpleDslArg freeze()
+    {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Check whether this argument has been {@link #freeze() frozen}.
+     *
+     * @return {@literal true} if and only if the argument can no longer be changed.
+     */
+    public boolean isFrozen()
+    {
+        return frozen;
     }
 
     /**
@@ -89,9 +141,11 @@ public abstract class SimpleDslArg implements DslArg
      * @param defaultValue the default value for the argument.
      * @return this argument
      * @throws IllegalArgumentException if the default value cannot be set
+     * @throws IllegalStateException    if this argument has been frozen
      */
     public SimpleDslArg setDefault(final String defaultValue)
     {
+        checkNotFrozen();
         this.defaultValue = defaultValue;
         return this;
     }
@@ -103,10 +157,12 @@ public abstract class SimpleDslArg implements DslArg
      *
      * @param allowedValues the allowable values for this argument.
      * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
      */
     public SimpleDslArg setAllowedValues(final String... allowedValues)
     {
-        this.allowedValues = allowedValues;
+        checkNotFrozen();
+        this.allowedValues = allowedValues.clone();
         return this;
     }
 
@@ -119,6 +175,7 @@ public abstract class SimpleDslArg implements DslArg
      * @param clazz the {@link Class} that provides the allowed values.
      * @return this argument
      * @throws IllegalArgumentException if allowed values cannot be determined from the provided class
+     * @throws IllegalStateException    if this argument has been frozen
      */
     public <T> SimpleDslArg setAllowedValues(final Class<T> clazz)
     {
@@ -149,6 +206,7 @@ public abstract class SimpleDslArg implements DslArg
      * }</pre>
      *
      * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
      * @see #setAllowMultipleValues(String)
      */
     public SimpleDslArg setAllowMultipleValues()
@@ -161,12 +219,59 @@ public abstract class SimpleDslArg implements DslArg
      *
      * @param delimiter the delimiter to use to separate values
      * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
      * @see #setAllowMultipleValues()
      */
     public SimpleDslArg setAllowMultipleValues(final String delimiter)
     {
+        checkNotFrozen();
         allowMultipleValues = true;
         multipleValueSeparator = delimiter;
         return this;
     }
+
+    /**
+     * Keep each supplied value whole when parsing, and only split it into separate values as it is read through
+     * iterators such as {@link DslValues#valuesIterator(String)} and {@link DslValues#valuesAsLongIterator(String)}.
+     * <p>
+     * Lists of a million values can then be read in constant memory. Each value is trimmed, matched against the
+     * {@link #getAllowedValues() allowed values} and, for the numeric iterators, converted and checked against the
+     * bounds of an {@link IntArg} or {@link LongArg} as it is read, so problems are reported by the iterator rather than
+     * when parsing. Accessors that return every value at once, such as {@link DslValues#values(String)}, split the whole
+     * list each time they are called.
+     * <p>
+     * Multiple values are allowed, using comma (,) as the delimiter unless another has already been set.
+     *
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     * @see #setAllowMultipleValues(String)
+     */
+    public SimpleDslArg setSplitLazily()
+    {
+        if (!allowMultipleValues)
+        {
+            setAllowMultipleValues();
+        }
+        checkNotFrozen();
+        splitLazily = true;
+        return this;
+    }
+
+    /**
+     * Check whether supplied values are kept whole when parsing and split as they are read.
+     *
+     * @return {@literal true} if and only if values are {@link #setSplitLazily() split lazily}.
+     */
+    public boolean isSplitLazily()
+    {
+        return splitLazily;
+    }
+
+    void checkNotFrozen()
+    {
+        if (frozen)
+        {
+            throw new IllegalStateException("Argument " + name + " is frozen and can not be changed");
+        }
+    }
 }
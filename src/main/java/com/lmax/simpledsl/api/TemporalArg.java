@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * The root type for args whose values are dates or times, parsed with a {@link TemporalFormat} straight into
+ * {@code long} values.
+ * <p>
+ * Values are parsed as ISO-8601 unless another format is set. The format is compiled once and held by the argument, so
+ * it is shared by every parse.
+ *
+ * @param <T> the {@link java.time} type the values represent.
+ * @see DateArg
+ * @see TimeArg
+ * @see DateTimeArg
+ */
+public abstract class TemporalArg<T> extends TypedArg<T>
+{
+    private TemporalFormat format = TemporalFormat.ISO;
+
+    TemporalArg(final String name, final boolean required, final Class<T> valueType)
+    {
+        super(name, required, valueType);
+    }
+
+    /**
+     * Get the format values are parsed with.
+     *
+     * @return the format.
+     */
+    public TemporalFormat getFormat()
+    {
+        return format;
+    }
+
+    /**
+     * Set the format values are parsed with.
+     *
+     * @param format the format.
+     * @return this argument
+     * @throws IllegalStateException if this argument has been frozen
+     */
+    public TemporalArg<T> setFormat(final TemporalFormat format)
+    {
+        checkNotFrozen();
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Set the pattern values are parsed with.
+     *
+     * @param pattern the pattern, as described by {@link TemporalFormat#ofPattern(String)}.
+     * @return this argument
+     * @throws IllegalArgumentException if the pattern is not supported
+     * @throws IllegalStateException    if this argument has been frozen
+     */
+    public TemporalArg<T> setPattern(final String pattern)
+    {
+        return setFormat(TemporalFormat.ofPattern(pattern));
+    }
+
+    @Override
+    public TemporalArg<T> setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+}
@@ -0,0 +1,636 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * Parses dates, times and durations directly into {@code long} values without creating any intermediate objects.
+ * <p>
+ * {@link #ISO} accepts the common ISO-8601 forms:
+ * <ul>
+ *     <li>dates such as {@code 2026-12-01}</li>
+ *     <li>times such as {@code 10:30}, {@code 10:30:00} and {@code 10:30:00.125}, with up to nine fractional digits</li>
+ *     <li>date-times such as {@code 2026-12-01T10:30:00.125Z} or {@code 2026-12-01 10:30+01:00}, treated as UTC if no
+ *     offset is given</li>
+ * </ul>
+ * Other layouts can be described with {@link #ofPattern(String)}, which compiles the pattern once so it can be held by
+ * an argument and reused for every value parsed.
+ * <p>
+ * Durations are parsed by {@link #parseDurationNanos(CharSequence)}, which accepts ISO-8601 durations such as
+ * {@code PT1.5S} as well as amounts with units such as {@code 250ms} or {@code 1h 30m}.
+ * <p>
+ * Date-times are represented as nanoseconds since the epoch, so must fall between the years 1677 and 2262.
+ */
+public final class TemporalFormat
+{
+    /**
+     * The value returned when a value can not be parsed.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * The format accepting ISO-8601 dates, times and date-times.
+     */
+    public static final TemporalFormat ISO = new TemporalFormat("ISO-8601", null, null);
+
+    static final long NANOS_PER_MICRO = 1_000L;
+    static final long NANOS_PER_MILLI = 1_000_000L;
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+    static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    static final long NANOS_PER_HOUR = 3_600_000_000_000L;
+    static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private static final int YEAR = 0;
+    private static final int MONTH = 1;
+    private static final int DAY = 2;
+    private static final int HOUR = 3;
+    private static final int MINUTE = 4;
+    private static final int SECOND = 5;
+    private static final int FRACTION = 6;
+    private static final int LITERAL = 7;
+
+    private static final int EPOCH_DAY = 0;
+    private static final int NANOS_OF_DAY = 1;
+    private static final int EPOCH_NANOS = 2;
+
+    private static final int RADIX = 10;
+    private static final int YEAR_DIGITS = 4;
+    private static final int FIELD_DIGITS = 2;
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final long[] FRACTION_SCALE = {
+            100_000_000L, 10_000_000L, 1_000_000L, 100_000L, 10_000L, 1_000L, 100L, 10L, 1L
+    };
+
+    private static final int EPOCH_YEAR = 1970;
+    private static final long MAX_EPOCH_DAY = 106_750L;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final int DAYS_PER_YEAR = 365;
+    private static final int LEAP_YEAR_INTERVAL = 4;
+    private static final int CENTURY = 100;
+    private static final int LEAP_CENTURY_INTERVAL = 400;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int FEBRUARY = 2;
+    private static final int DAYS_IN_FEBRUARY_LEAP = 29;
+    private static final int MONTH_DAYS_FACTOR = 367;
+    private static final int MONTH_DAYS_OFFSET = 362;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int MAX_OFFSET_HOURS = 18;
+    private static final int INVALID_OFFSET = Integer.MIN_VALUE;
+
+    private static final int ISO_DATE_LENGTH = 10;
+    private static final int ISO_MONTH_INDEX = 5;
+    private static final int ISO_DAY_INDEX = 8;
+    private static final int ISO_MINUTE_INDEX = 3;
+    private static final int ISO_HOUR_MINUTE_LENGTH = 5;
+    private static final int ISO_SECOND_INDEX = 6;
+    private static final int ISO_HOUR_MINUTE_SECOND_LENGTH = 8;
+    private static final int ISO_OFFSET_HOURS_LENGTH = 3;
+    private static final int ISO_OFFSET_COMPACT_LENGTH = 5;
+    private static final int ISO_OFFSET_LENGTH = 6;
+    private static final int ISO_OFFSET_COMPACT_MINUTE_INDEX = 3;
+    private static final int ISO_OFFSET_MINUTE_INDEX = 4;
+
+    private static final long MAX_DURATION_WHOLE = (Long.MAX_VALUE - RADIX) / RADIX;
+
+    private final String pattern;
+    private final int[] fields;
+    private final int[] widths;
+
+    private TemporalFormat(final String pattern, final int[] fields, final int[] widths)
+    {
+        this.pattern = pattern;
+        this.fields = fields;
+        this.widths = widths;
+    }
+
+    /**
+     * Compile a pattern describing a fixed layout of date and time fields.
+     * <p>
+     * The pattern letters are {@code yyyy} for the year, {@code MM} for the month, {@code dd} for the day of the month,
+     * {@code HH} for the hour of the day, {@code mm} for the minute, {@code ss} for the second and one to nine
+     * {@code S} for the fraction of the second. Any other character that is not a letter must appear as is. Fields that
+     * are not in the pattern default to 1970-01-01T00:00:00.
+     *
+     * @param pattern the pattern, for example {@code dd/MM/yyyy HH:mm:ss.SSS}.
+     * @return the compiled format.
+     * @throws IllegalArgumentException if the pattern contains an unsupported letter or field width.
+     */
+    public static TemporalFormat ofPattern(final String pattern)
+    {
+        final int[] fields = new int[pattern.length()];
+        final int[] widths = new int[pattern.length()];
+        int count = 0;
+        int index = 0;
+        while (index < pattern.length())
+        {
+            final char c = pattern.charAt(index);
+            int end = index + 1;
+            while (Character.isLetter(c) && end < pattern.length() && pattern.charAt(end) == c)
+            {
+                end++;
+            }
+
+            fields[count] = Character.isLetter(c) ? fieldFor(pattern, c, end - index) : LITERAL;
+            widths[count] = Character.isLetter(c) ? end - index : c;
+            count++;
+            index = end;
+        }
+
+        final int[] compiledFields = new int[count];
+        final int[] compiledWidths = new int[count];
+        System.arraycopy(fields, 0, compiledFields, 0, count);
+        System.arraycopy(widths, 0, compiledWidths, 0, count);
+        return new TemporalFormat(pattern, compiledFields, compiledWidths);
+    }
+
+    /**
+     * Parse a date into the number of days since the epoch, 1970-01-01.
+     *
+     * @param value the value to parse.
+     * @return the epoch day, or {@link #INVALID} if the value is not a valid date.
+     */
+    public long parseEpochDay(final CharSequence value)
+    {
+        if (fields != null)
+        {
+            return parsePattern(value, EPOCH_DAY);
+        }
+        return value != null && value.length() == ISO_DATE_LENGTH ? isoEpochDay(value) : INVALID;
+    }
+
+    /**
+     * Parse a time into the number of nanoseconds since midnight.
+     *
+     * @param value the value to parse.
+     * @return the nanosecond of the day, or {@link #INVALID} if the value is not a valid time.
+     */
+    public long parseNanosOfDay(final CharSequence value)
+    {
+        if (fields != null)
+        {
+            return parsePattern(value, NANOS_OF_DAY);
+        }
+        return value != null ? isoNanosOfDay(value, 0, value.length()) : INVALID;
+    }
+
+    /**
+     * Parse a date-time, or a date at midnight, into the number of nanoseconds since the epoch, 1970-01-01T00:00:00Z.
+     *
+     * @param value the value to parse.
+     * @return the epoch nanosecond, or {@link #INVALID} if the value is not a valid date-time.
+     */
+    public long parseEpochNanos(final CharSequence value)
+    {
+        if (fields != null)
+        {
+            return parsePattern(value, EPOCH_NANOS);
+        }
+        return value != null && value.length() >= ISO_DATE_LENGTH ? isoEpochNanos(value) : INVALID;
+    }
+
+    /**
+     * Parse a duration into a number of nanoseconds.
+     * <p>
+     * Both ISO-8601 durations with days, hours, minutes and seconds, such as {@code P1DT2H} or {@code PT0.25S}, and
+     * amounts with the units {@code d}, {@code h}, {@code m} or {@code min}, {@code s}, {@code ms}, {@code us} and
+     * {@code ns}, such as {@code 250ms}, {@code 1.5s} or {@code 1h 30m}, are accepted. Either may start with a sign.
+     *
+     * @param value the value to parse.
+     * @return the duration in nanoseconds, or {@link #INVALID} if the value is not a valid duration.
+     */
+    public static long parseDurationNanos(final CharSequence value)
+    {
+        if (value == null || value.length() == 0)
+        {
+            return INVALID;
+        }
+
+        final char sign = value.charAt(0);
+        final int start = sign == '-' || sign == '+' ? 1 : 0;
+        final boolean iso = start < value.length() && Character.toUpperCase(value.charAt(start)) == 'P';
+        final long nanos = parseDuration(value, iso ? start + 1 : start, iso);
+        return nanos == INVALID || sign != '-' ? nanos : -nanos;
+    }
+
+    /**
+     * Get the pattern this format was compiled from.
+     *
+     * @return the pattern.
+     */
+    public String getPattern()
+    {
+        return pattern;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TemporalFormat{" + pattern + "}";
+    }
+
+    static long requireValid(final String name, final String value, final long parsed, final String description)
+    {
+        if (parsed == INVALID)
+        {
+            throw new IllegalArgumentException(value == null
+                    ? "No value supplied for parameter: " + name
+                    : name + " parameter value '" + value + "' is not a valid " + description);
+        }
+        return parsed;
+    }
+
+    private static int fieldFor(final String pattern, final char letter, final int width)
+    {
+        final int field;
+        switch (letter)
+        {
+            case 'y':
+                field = width == YEAR_DIGITS ? YEAR : -1;
+                break;
+            case 'M':
+                field = width == FIELD_DIGITS ? MONTH : -1;
+                break;
+            case 'd':
+                field = width == FIELD_DIGITS ? DAY : -1;
+                break;
+            case 'H':
+                field = width == FIELD_DIGITS ? HOUR : -1;
+                break;
+            case 'm':
+                field = width == FIELD_DIGITS ? MINUTE : -1;
+                break;
+            case 's':
+                field = width == FIELD_DIGITS ? SECOND : -1;
+                break;
+            case 'S':
+                field = width <= MAX_FRACTION_DIGITS ? FRACTION : -1;
+                break;
+            default:
+                field = -1;
+                break;
+        }
+
+        if (field < 0)
+        {
+            throw new IllegalArgumentException("Unsupported field '" + repeat(letter, width) + "' in pattern: " + pattern);
+        }
+        return field;
+    }
+
+    private static String repeat(final char c, final int count)
+    {
+        final StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++)
+        {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private long parsePattern(final CharSequence value, final int output)
+    {
+        final int length = value != null ? value.length() : -1;
+        int year = EPOCH_YEAR;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        long nano = 0;
+
+        boolean valid = length >= 0;
+        int position = 0;
+        for (int i = 0; valid && i < fields.length; i++)
+        {
+            final int width = widths[i];
+            if (fields[i] == LITERAL)
+            {
+                valid = position < length && value.charAt(position) == width;
+                position++;
+                continue;
+            }
+
+            final int number = position + width <= length ? digits(value, position, width) : -1;
+            valid = number >= 0;
+            position += width;
+            switch (fields[i])
+            {
+                case YEAR:
+                    year = number;
+                    break;
+                case MONTH:
+                    month = number;
+                    break;
+                case DAY:
+                    day = number;
+                    break;
+                case HOUR:
+                    hour = number;
+                    break;
+                case MINUTE:
+                    minute = number;
+                    break;
+                case SECOND:
+                    second = number;
+                    break;
+                default:
+                    nano = number * FRACTION_SCALE[width - 1];
+                    break;
+            }
+        }
+
+        if (!valid || position != length)
+        {
+            return INVALID;
+        }
+
+        final long epochDay = epochDay(year, month, day);
+        final long nanosOfDay = nanosOfDay(hour, minute, second, nano);
+        if (epochDay == INVALID || nanosOfDay == INVALID)
+        {
+            return INVALID;
+        }
+        return output == EPOCH_DAY ? epochDay : output == NANOS_OF_DAY ? nanosOfDay : epochNanos(epochDay, nanosOfDay, 0);
+    }
+
+    private static long isoEpochDay(final CharSequence value)
+    {
+        final boolean separated = value.charAt(ISO_MONTH_INDEX - 1) == '-' && value.charAt(ISO_DAY_INDEX - 1) == '-';
+        final int year = separated ? digits(value, 0, YEAR_DIGITS) : -1;
+        final int month = digits(value, ISO_MONTH_INDEX, FIELD_DIGITS);
+        final int day = digits(value, ISO_DAY_INDEX, FIELD_DIGITS);
+        return year >= 0 && month >= 0 && day >= 0 ? epochDay(year, month, day) : INVALID;
+    }
+
+    private static long isoNanosOfDay(final CharSequence value, final int start, final int end)
+    {
+        final int length = end - start;
+        boolean valid = length >= ISO_HOUR_MINUTE_LENGTH && value.charAt(start + ISO_MINUTE_INDEX - 1) == ':';
+        final int hour = valid ? digits(value, start, FIELD_DIGITS) : -1;
+        final int minute = valid ? digits(value, start + ISO_MINUTE_INDEX, FIELD_DIGITS) : -1;
+        int second = 0;
+        long nano = 0;
+        if (valid && length > ISO_HOUR_MINUTE_LENGTH)
+        {
+            valid = length >= ISO_HOUR_MINUTE_SECOND_LENGTH && value.charAt(start + ISO_HOUR_MINUTE_LENGTH) == ':';
+            second = valid ? digits(value, start + ISO_SECOND_INDEX, FIELD_DIGITS) : -1;
+        }
+        if (valid && length > ISO_HOUR_MINUTE_SECOND_LENGTH)
+        {
+            final char separator = value.charAt(start + ISO_HOUR_MINUTE_SECOND_LENGTH);
+            final int fractionDigits = length - ISO_HOUR_MINUTE_SECOND_LENGTH - 1;
+            valid = (separator == '.' || separator == ',') && fractionDigits >= 1 && fractionDigits <= MAX_FRACTION_DIGITS;
+            final int fraction = valid ? digits(value, start + ISO_HOUR_MINUTE_SECOND_LENGTH + 1, fractionDigits) : -1;
+            nano = fraction >= 0 ? fraction * FRACTION_SCALE[fractionDigits - 1] : -1;
+        }
+        return valid ? nanosOfDay(hour, minute, second, nano) : INVALID;
+    }
+
+    private static long isoEpochNanos(final CharSequence value)
+    {
+        final int length = value.length();
+        final long epochDay = isoEpochDay(value);
+        if (epochDay == INVALID || length == ISO_DATE_LENGTH)
+        {
+            return epochDay != INVALID ? epochNanos(epochDay, 0, 0) : INVALID;
+        }
+
+        final char separator = value.charAt(ISO_DATE_LENGTH);
+        final int timeStart = ISO_DATE_LENGTH + 1;
+        int offsetStart = Math.min(timeStart + ISO_HOUR_MINUTE_LENGTH, length);
+        while (offsetStart < length && !isOffsetStart(value.charAt(offsetStart)))
+        {
+            offsetStart++;
+        }
+
+        final boolean validSeparator = separator == 'T' || separator == 't' || separator == ' ';
+        final long nanosOfDay = validSeparator ? isoNanosOfDay(value, timeStart, offsetStart) : INVALID;
+        final int offsetSeconds = isoOffsetSeconds(value, offsetStart, length);
+        return nanosOfDay != INVALID && offsetSeconds != INVALID_OFFSET ? epochNanos(epochDay, nanosOfDay, offsetSeconds) : INVALID;
+    }
+
+    private static boolean isOffsetStart(final char c)
+    {
+        return c == 'Z' || c == 'z' || c == '+' || c == '-';
+    }
+
+    private static int isoOffsetSeconds(final CharSequence value, final int start, final int end)
+    {
+        final int length = end - start;
+        if (length == 0 || length == 1 && Character.toUpperCase(value.charAt(start)) == 'Z')
+        {
+            return 0;
+        }
+
+        final char sign = value.charAt(start);
+        boolean valid = (sign == '+' || sign == '-') &&
+                (length == ISO_OFFSET_HOURS_LENGTH || length == ISO_OFFSET_COMPACT_LENGTH || length == ISO_OFFSET_LENGTH && value.charAt(start + ISO_OFFSET_HOURS_LENGTH) == ':');
+        final int hours = valid ? digits(value, start + 1, FIELD_DIGITS) : -1;
+        final int minuteIndex = length == ISO_OFFSET_LENGTH ? ISO_OFFSET_MINUTE_INDEX : ISO_OFFSET_COMPACT_MINUTE_INDEX;
+        final int minutes = valid && length > ISO_OFFSET_HOURS_LENGTH ? digits(value, start + minuteIndex, FIELD_DIGITS) : 0;
+        valid = valid && hours >= 0 && hours <= MAX_OFFSET_HOURS && minutes >= 0 && minutes < MINUTES_PER_HOUR;
+        final int seconds = hours * SECONDS_PER_HOUR + minutes * SECONDS_PER_MINUTE;
+        return valid ? (sign == '-' ? -seconds : seconds) : INVALID_OFFSET;
+    }
+
+    private static long parseDuration(final CharSequence value, final int start, final boolean iso)
+    {
+        final int length = value.length();
+        long total = 0;
+        long previousUnitNanos = Long.MAX_VALUE;
+        boolean inTime = !iso;
+        boolean found = false;
+        int position = iso ? start : skipSpaces(value, start);
+        while (position < length && total != INVALID)
+        {
+            if (!inTime && Character.toUpperCase(value.charAt(position)) == 'T')
+            {
+                inTime = true;
+                position++;
+                continue;
+            }
+
+            final int wholeStart = position;
+            long whole = 0;
+            while (position < length && isDigit(value.charAt(position)) && whole <= MAX_DURATION_WHOLE)
+            {
+                whole = whole * RADIX + value.charAt(position) - '0';
+                position++;
+            }
+
+            int fractionStart = position;
+            if (position < length && (value.charAt(position) == '.' || value.charAt(position) == ','))
+            {
+                position++;
+                fractionStart = position;
+                while (position < length && isDigit(value.charAt(position)))
+                {
+                    position++;
+                }
+            }
+            final int fractionEnd = position;
+
+            final int unitStart = iso ? position : skipSpaces(value, position);
+            position = unitStart;
+            while (position < length && (iso ? position == unitStart : isUnitCharacter(value.charAt(position))))
+            {
+                position++;
+            }
+
+            final long unitNanos = iso ? isoUnitNanos(value, unitStart, position, inTime) : unitNanos(value, unitStart, position);
+            final boolean valid = position > unitStart && isDigit(value.charAt(wholeStart)) && unitNanos > 0 && (!iso || unitNanos < previousUnitNanos);
+            final long nanos = valid ? segmentNanos(whole, value, fractionStart, fractionEnd, unitNanos) : INVALID;
+            total = nanos == INVALID || total > Long.MAX_VALUE - nanos ? INVALID : total + nanos;
+            previousUnitNanos = unitNanos;
+            found = true;
+            position = iso ? position : skipSpaces(value, position);
+        }
+        return found ? total : INVALID;
+    }
+
+    private static long segmentNanos(final long whole, final CharSequence value, final int fractionStart, final int fractionEnd, final long unitNanos)
+    {
+        if (whole > Long.MAX_VALUE / unitNanos)
+        {
+            return INVALID;
+        }
+
+        long nanos = whole * unitNanos;
+        long scale = unitNanos;
+        for (int i = fractionStart; i < fractionEnd && scale > 0; i++)
+        {
+            scale /= RADIX;
+            nanos += (value.charAt(i) - '0') * scale;
+        }
+        return nanos < 0 ? INVALID : nanos;
+    }
+
+    private static long isoUnitNanos(final CharSequence value, final int start, final int end, final boolean inTime)
+    {
+        final char designator = end == start + 1 ? Character.toUpperCase(value.charAt(start)) : ' ';
+        final long unitNanos;
+        if (!inTime)
+        {
+            unitNanos = designator == 'D' ? NANOS_PER_DAY : 0;
+        }
+        else if (designator == 'H')
+        {
+            unitNanos = NANOS_PER_HOUR;
+        }
+        else if (designator == 'M')
+        {
+            unitNanos = NANOS_PER_MINUTE;
+        }
+        else
+        {
+            unitNanos = designator == 'S' ? NANOS_PER_SECOND : 0;
+        }
+        return unitNanos;
+    }
+
+    private static long unitNanos(final CharSequence value, final int start, final int end)
+    {
+        final int length = end - start;
+        final char first = length > 0 ? Character.toLowerCase(value.charAt(start)) : ' ';
+        final char second = length > 1 ? Character.toLowerCase(value.charAt(start + 1)) : ' ';
+        long unitNanos = 0;
+        if (length == 1)
+        {
+            unitNanos = first == 'd' ? NANOS_PER_DAY : first == 'h' ? NANOS_PER_HOUR : first == 'm' ? NANOS_PER_MINUTE : first == 's' ? NANOS_PER_SECOND : 0;
+        }
+        else if (length == 2 && second == 's')
+        {
+            unitNanos = first == 'm' ? NANOS_PER_MILLI : first == 'u' || first == '\u00b5' ? NANOS_PER_MICRO : first == 'n' ? 1 : 0;
+        }
+        else if (length == FIELD_DIGITS + 1 && first == 'm' && second == 'i' && Character.toLowerCase(value.charAt(start + FIELD_DIGITS)) == 'n')
+        {
+            unitNanos = NANOS_PER_MINUTE;
+        }
+        return unitNanos;
+    }
+
+    private static boolean isUnitCharacter(final char c)
+    {
+        return Character.isLetter(c);
+    }
+
+    private static int skipSpaces(final CharSequence value, final int start)
+    {
+        int position = start;
+        while (position < value.length() && value.charAt(position) == ' ')
+        {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isDigit(final char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digits(final CharSequence value, final int start, final int count)
+    {
+        int number = 0;
+        for (int i = start; i < start + count; i++)
+        {
+            final char c = value.charAt(i);
+            if (!isDigit(c))
+            {
+                return -1;
+            }
+            number = number * RADIX + c - '0';
+        }
+        return number;
+    }
+
+    private static long epochDay(final int year, final int month, final int day)
+    {
+        final boolean leap = year % LEAP_YEAR_INTERVAL == 0 && (year % CENTURY != 0 || year % LEAP_CENTURY_INTERVAL == 0);
+        final boolean validMonth = month >= 1 && month <= MONTHS_PER_YEAR;
+        final int daysInMonth = !validMonth ? 0 : month == FEBRUARY && leap ? DAYS_IN_FEBRUARY_LEAP : DAYS_IN_MONTH[month - 1];
+        if (day < 1 || day > daysInMonth)
+        {
+            return INVALID;
+        }
+
+        final long y = year;
+        long total = DAYS_PER_YEAR * y + (y + LEAP_YEAR_INTERVAL - 1) / LEAP_YEAR_INTERVAL - (y + CENTURY - 1) / CENTURY + (y + LEAP_CENTURY_INTERVAL - 1) / LEAP_CENTURY_INTERVAL;
+        total += (MONTH_DAYS_FACTOR * month - MONTH_DAYS_OFFSET) / MONTHS_PER_YEAR + day - 1;
+        if (month > FEBRUARY)
+        {
+            total -= leap ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static long nanosOfDay(final int hour, final int minute, final int second, final long nano)
+    {
+        final boolean valid = hour >= 0 && hour < HOURS_PER_DAY && minute >= 0 && minute < MINUTES_PER_HOUR && second >= 0 && second < SECONDS_PER_MINUTE && nano >= 0;
+        return valid ? hour * NANOS_PER_HOUR + minute * NANOS_PER_MINUTE + second * NANOS_PER_SECOND + nano : INVALID;
+    }
+
+    private static long epochNanos(final long epochDay, final long nanosOfDay, final int offsetSeconds)
+    {
+        return Math.abs(epochDay) <= MAX_EPOCH_DAY ? epochDay * NANOS_PER_DAY + nanosOfDay - offsetSeconds * NANOS_PER_SECOND : INVALID;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.time.LocalTime;
+
+/**
+ * An argument whose values are times of day, held as the number of nanoseconds since midnight.
+ * <p>
+ * Values are parsed as they are supplied, using {@link #setFormat(TemporalFormat) the format} of the argument:
+ *
+ * <pre>{@code
+ *   DslParams params = DslParams.create(args, TimeArg.required("time"));
+ *   long time = params.valueAsNanosOfDay("time");
+ * }</pre>
+ */
+public final class TimeArg extends TemporalArg<LocalTime>
+{
+    private TimeArg(final String name, final boolean required)
+    {
+        super(name, required, LocalTime.class);
+    }
+
+    /**
+     * Create a new required argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static TimeArg required(final String name)
+    {
+        return new TimeArg(name, true);
+    }
+
+    /**
+     * Create a new optional argument.
+     *
+     * @param name the name of the argument.
+     * @return the argument.
+     */
+    public static TimeArg optional(final String name)
+    {
+        return new TimeArg(name, false);
+    }
+
+    @Override
+    public TimeArg setFormat(final TemporalFormat format)
+    {
+        super.setFormat(format);
+        return this;
+    }
+
+    @Override
+    public TimeArg setPattern(final String pattern)
+    {
+        super.setPattern(pattern);
+        return this;
+    }
+
+    @Override
+    public TimeArg setDefault(final String defaultValue)
+    {
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    @Override
+    public TimeArg setAllowMultipleValues()
+    {
+        super.setAllowMultipleValues();
+        return this;
+    }
+
+    @Override
+    public TimeArg setAllowMultipleValues(final String delimiter)
+    {
+        super.setAllowMultipleValues(delimiter);
+        return this;
+    }
+
+    @Override
+    public TimeArg freeze()
+    {
+        super.freeze();
+        return this;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+/**
+ * The root type for args whose values are converted to another type as they are parsed.
+ * <p>
+ * Values that can not be converted, or that fall outside the argument's bounds, are reported as
+ * {@link ParseErrorCode#INVALID_VALUE} and {@link ParseErrorCode#VALUE_OUT_OF_RANGE} errors when parsing. The converted
+ * values are held by the parsed {@link DslParams}, so accessors such as {@link DslValues#valueAsInt(String)} return them
+ * without parsing the value again. The {@link String} accessors continue to return the values as supplied.
+ *
+ * @param <T> the type values are converted to.
+ * @see IntArg
+ * @see LongArg
+ * @see DecimalArg
+ * @see EnumArg
+ * @see BooleanArg
+ * @see TemporalArg
+ * @see DurationArg
+ */
+public abstract class TypedArg<T> extends SimpleDslArg
+{
+    private final Class<T> valueType;
+    private T min;
+    private T max;
+
+    TypedArg(final String name, final boolean required, final Class<T> valueType)
+    {
+        super(name, required);
+        this.valueType = valueType;
+    }
+
+    /**
+     * Get the type that values are converted to.
+     *
+     * @return the value type.
+     */
+    public Class<T> getValueType()
+    {
+        return valueType;
+    }
+
+    /**
+     * Get the lowest value allowed for this argument.
+     *
+     * @return the lowest value allowed, or {@literal null} if there is no lower bound.
+     */
+    public T getMin()
+    {
+        return min;
+    }
+
+    /**
+     * Get the highest value allowed for this argument.
+     *
+     * @return the highest value allowed, or {@literal null} if there is no upper bound.
+     */
+    public T getMax()
+    {
+        return max;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is converted in the same way as supplied values.
+     *
+     * @throws IllegalArgumentException if this argument is required
+     */
+    @Override
+    public TypedArg<T> setDefault(final String defaultValue)
+    {
+        if (isRequired())
+        {
+            throw new IllegalArgumentException("A required argument can not have a default value");
+        }
+
+        super.setDefault(defaultValue);
+        return this;
+    }
+
+    void setMinValue(final T min)
+    {
+        checkNotFrozen();
+        this.min = min;
+    }
+
+    void setMaxValue(final T max)
+    {
+        checkNotFrozen();
+        this.max = max;
+    }
+}
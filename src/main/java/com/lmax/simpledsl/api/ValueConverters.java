@@ -0,0 +1,268 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * The registry of converters used by {@link DslValues#valueAsType(String, Class)} and
+ * {@link DslValues#valuesAsType(String, Class)} to convert supplied values to a given type.
+ * <p>
+ * Converters are found once for each type and cached against it with a {@link ClassValue}. A type that has not been
+ * {@link #register registered} is converted with the first of these that it declares:
+ * <ul>
+ *     <li>its constants, if it is an {@link Enum}</li>
+ *     <li>a public static {@code valueOf(String)}, {@code of(String)} or {@code parse(CharSequence)} method</li>
+ *     <li>a public constructor taking a single {@link String}</li>
+ * </ul>
+ * The method found is bound to a generated {@link Function}, so no reflection is used when converting values. Arrays
+ * of a type without a registered array constructor are still created reflectively.
+ *
+ * <pre>{@code
+ *   ValueConverters.register(InstrumentId.class, InstrumentId::fromSymbol, InstrumentId[]::new);
+ *
+ *   InstrumentId[] instruments = params.valuesAsType("instrument", InstrumentId.class);
+ *   Instant expiry = params.valueAsType("expiry", Instant.class);
+ * }</pre>
+ */
+public final class ValueConverters
+{
+    private static final String[] FACTORY_METHOD_NAMES = {"valueOf", "of", "parse"};
+
+    private static final Map<Class<?>, Conversion<?>> REGISTERED = new ConcurrentHashMap<>();
+    private static final ClassValue<Conversion<?>> CONVERSIONS = new ClassValue<Conversion<?>>()
+    {
+        @Override
+        protected Conversion<?> computeValue(final Class<?> type)
+        {
+            final Conversion<?> registered = REGISTERED.get(type);
+            return registered != null ? registered : discover(type);
+        }
+    };
+
+    static
+    {
+        register(String.class, Function.identity(), String[]::new);
+        register(Integer.class, Integer::valueOf, Integer[]::new);
+        register(Long.class, Long::valueOf, Long[]::new);
+        register(Double.class, Double::valueOf, Double[]::new);
+        register(Boolean.class, Boolean::valueOf, Boolean[]::new);
+        register(BigDecimal.class, BigDecimal::new, BigDecimal[]::new);
+        register(BigInteger.class, BigInteger::new, BigInteger[]::new);
+        register(Instant.class, Instant::parse, Instant[]::new);
+        register(Duration.class, Duration::parse, Duration[]::new);
+        register(LocalDate.class, LocalDate::parse, LocalDate[]::new);
+        register(LocalTime.class, LocalTime::parse, LocalTime[]::new);
+        register(LocalDateTime.class, LocalDateTime::parse, LocalDateTime[]::new);
+    }
+
+    private ValueConverters()
+    {
+    }
+
+    /**
+     * Register the converter for a type, replacing any converter that would otherwise be used.
+     * <p>
+     * Arrays of the type are created reflectively with {@link Array#newInstance(Class, int)}, as Java 8 offers no way
+     * to generate an array constructor for a type only known at runtime. Use
+     * {@link #register(Class, Function, IntFunction)} to supply an array constructor instead.
+     *
+     * @param type      the type to convert to.
+     * @param converter the function that converts a supplied value to {@code type}.
+     * @param <T>       the type to convert to.
+     */
+    public static <T> void register(final Class<T> type, final Function<String, ? extends T> converter)
+    {
+        register(type, converter, reflectiveArrayFactory(type));
+    }
+
+    /**
+     * Register the converter and array constructor for a type, replacing any converter that would otherwise be used.
+     *
+     * @param type         the type to convert to.
+     * @param converter    the function that converts a supplied value to {@code type}.
+     * @param arrayFactory the function that creates an array of {@code type}, usually a constructor reference such as {@code Instant[]::new}.
+     * @param <T>          the type to convert to.
+     */
+    public static <T> void register(final Class<T> type, final Function<String, ? extends T> converter, final IntFunction<T[]> arrayFactory)
+    {
+        REGISTERED.put(type, new Conversion<>(type, converter, arrayFactory));
+        CONVERSIONS.remove(type);
+    }
+
+    /**
+     * Get the converter for a type.
+     *
+     * @param type the type to convert to.
+     * @param <T>  the type to convert to.
+     * @return the function that converts a supplied value to {@code type}.
+     * @throws IllegalArgumentException if no converter is available for {@code type}.
+     */
+    public static <T> Function<String, T> converterFor(final Class<T> type)
+    {
+        return conversionFor(type)::convert;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Conversion<T> conversionFor(final Class<T> type)
+    {
+        return (Conversion<T>) CONVERSIONS.get(type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Conversion<?> discover(final Class<?> type)
+    {
+        if (type.isPrimitive())
+        {
+            return CONVERSIONS.get(MethodType.methodType(type).wrap().returnType());
+        }
+        if (type.isEnum())
+        {
+            final Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return new Conversion(type, value -> Enum.valueOf(enumType, (String) value), reflectiveArrayFactory(type));
+        }
+        return new Conversion(type, findFactory(type), reflectiveArrayFactory(type));
+    }
+
+    private static Function<String, ?> findFactory(final Class<?> type)
+    {
+        if (!Modifier.isPublic(type.getModifiers()))
+        {
+            return null;
+        }
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (final String methodName : FACTORY_METHOD_NAMES)
+        {
+            for (final Class<?> parameterType : new Class<?>[]{String.class, CharSequence.class})
+            {
+                try
+                {
+                    return bind(lookup, type, lookup.findStatic(type, methodName, MethodType.methodType(type, parameterType)));
+                }
+                catch (final NoSuchMethodException | IllegalAccessException e)
+                {
+                    // try the next candidate
+                }
+            }
+        }
+
+        try
+        {
+            return bind(lookup, type, lookup.findConstructor(type, MethodType.methodType(void.class, String.class)));
+        }
+        catch (final NoSuchMethodException | IllegalAccessException e)
+        {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<String, ?> bind(final MethodHandles.Lookup lookup, final Class<?> type, final MethodHandle factory)
+    {
+        try
+        {
+            final CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    factory,
+                    MethodType.methodType(type, String.class));
+            return (Function<String, ?>) callSite.getTarget().invoke();
+        }
+        catch (final Throwable e)
+        {
+            // fall back to invoking the handle directly, e.g. if the type is not visible to this class loader
+            final MethodHandle handle = factory.asType(MethodType.methodType(Object.class, String.class));
+            return value -> invoke(handle, value);
+        }
+    }
+
+    private static Object invoke(final MethodHandle handle, final String value)
+    {
+        try
+        {
+            return handle.invokeExact(value);
+        }
+        catch (final RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (final Throwable e)
+        {
+            throw new IllegalArgumentException("Unable to convert '" + value + "'", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> IntFunction<T[]> reflectiveArrayFactory(final Class<T> type)
+    {
+        return length -> (T[]) Array.newInstance(type, length);
+    }
+
+    /**
+     * The converter and array constructor for a single type.
+     *
+     * @param <T> the type converted to.
+     */
+    static final class Conversion<T>
+    {
+        private final Class<T> type;
+        private final Function<String, ? extends T> converter;
+        private final IntFunction<T[]> arrayFactory;
+
+        Conversion(final Class<T> type, final Function<String, ? extends T> converter, final IntFunction<T[]> arrayFactory)
+        {
+            this.type = type;
+            this.converter = converter;
+            this.arrayFactory = arrayFactory;
+        }
+
+        T convert(final String value)
+        {
+            if (converter == null)
+            {
+                throw new IllegalArgumentException("No converter available for " + type.getName());
+            }
+            return converter.apply(value);
+        }
+
+        T[] newArray(final int length)
+        {
+            return arrayFactory.apply(length);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of canonical {@link String} instances, used to share a single instance between repeated values.
+ * <p>
+ * Values are looked up by their character content, so a value can be pooled straight from a region of a larger
+ * {@link CharSequence}. The pool is a fixed size, direct-mapped table: a value that hashes to an occupied slot with
+ * different content evicts the previous occupant. Lookups and updates are lock-free, so a single pool can be shared by
+ * every thread running tests.
+ * <p>
+ * Unlike {@link String#intern()}, pooled values are ordinary heap objects that are released once they have been evicted
+ * and are no longer referenced.
+ *
+ * <pre>{@code
+ *   private static final ValuePool VALUE_POOL = new ValuePool(4096);
+ *   private static final DslParamsParser PARSER = new DslParamsParser().withValuePool(VALUE_POOL);
+ * }</pre>
+ */
+public final class ValuePool
+{
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final int HASH_SPREAD_SHIFT = 16;
+    private static final int HASH_MULTIPLIER = 31;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new pool.
+     *
+     * @param capacity the maximum number of values to hold, rounded up to the next power of two.
+     * @throws IllegalArgumentException if {@code capacity} is not positive or is larger than 2<sup>30</sup>.
+     */
+    public ValuePool(final int capacity)
+    {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+        {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAXIMUM_CAPACITY + " but was " + capacity);
+        }
+
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Get the canonical instance of the given value.
+     *
+     * @param value the value to look up.
+     * @return a {@link String} with the same content as {@code value}, shared with any other caller that recently pooled the same content.
+     */
+    public String intern(final CharSequence value)
+    {
+        return intern(value, 0, value.length());
+    }
+
+    /**
+     * Get the canonical instance of a region of the given {@link CharSequence}.
+     * <p>
+     * No new {@link String} is created if the region's content is already pooled.
+     *
+     * @param value the sequence containing the value.
+     * @param start the index of the first character of the value, inclusive.
+     * @param end   the index of the last character of the value, exclusive.
+     * @return a {@link String} with the same content as the region, shared with any other caller that recently pooled the same content.
+     */
+    public String intern(final CharSequence value, final int start, final int end)
+    {
+        final boolean wholeString = value instanceof String && start == 0 && end == value.length();
+        final int hash = wholeString ? value.hashCode() : hash(value, start, end);
+        final int index = (hash ^ (hash >>> HASH_SPREAD_SHIFT)) & mask;
+
+        final String pooled = slots.get(index);
+        if (pooled != null && contentEquals(pooled, value, start, end))
+        {
+            hits.increment();
+            return pooled;
+        }
+
+        misses.increment();
+        if (pooled != null)
+        {
+            evictions.increment();
+        }
+
+        final String candidate = wholeString ? (String) value : value.subSequence(start, end).toString();
+        slots.lazySet(index, candidate);
+        return candidate;
+    }
+
+    /**
+     * Get the number of lookups that found a pooled value.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that did not find a pooled value.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of pooled values that have been replaced by a different value.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the maximum number of values this pool can hold.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity()
+    {
+        return slots.length();
+    }
+
+    private static int hash(final CharSequence value, final int start, final int end)
+    {
+        int hash = 0;
+        for (int i = start; i < end; i++)
+        {
+            hash = HASH_MULTIPLIER * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(final String pooled, final CharSequence value, final int start, final int end)
+    {
+        if (pooled.length() != end - start)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < pooled.length(); i++)
+        {
+            if (pooled.charAt(i) != value.charAt(start + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
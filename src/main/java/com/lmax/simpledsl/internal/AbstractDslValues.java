@@ -0,0 +1,261 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslValues;
+import com.lmax.simpledsl.api.TypedArg;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * The accessors shared by {@link DslParamsImpl} and {@link RepeatingParamValues}, which return the values converted
+ * when parsing a {@link TypedArg} instead of parsing the {@link String} value again.
+ * <p>
+ * The iterators split the values of {@link com.lmax.simpledsl.api.SimpleDslArg#setSplitLazily() lazily split}
+ * arguments as they are read, through {@link LazyValues}.
+ * <p>
+ * Values that were not converted, or were converted to a different type, fall back to the {@link DslValues} defaults.
+ */
+abstract class AbstractDslValues implements DslValues
+{
+    /**
+     * Find the simple parameter with the given name, recording the read.
+     *
+     * @param name the name of the parameter.
+     * @return the parameter, or {@literal null} if there is none and the default accessors should decide what to do.
+     */
+    abstract SimpleDslParam findSimpleParam(String name);
+
+    @Override
+    public int valueAsInt(final String name)
+    {
+        final int[] ints = typedValues(name, int[].class);
+        return ints != null && ints.length == 1 ? ints[0] : DslValues.super.valueAsInt(name);
+    }
+
+    @Override
+    public long valueAsLong(final String name)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        final long[] longs = param != null ? param.getTypedValues(long[].class) : null;
+        if (longs != null && longs.length == 1)
+        {
+            return longs[0];
+        }
+
+        final int[] ints = param != null ? param.getTypedValues(int[].class) : null;
+        return ints != null && ints.length == 1 ? ints[0] : DslValues.super.valueAsLong(name);
+    }
+
+    @Override
+    public boolean valueAsBoolean(final String name)
+    {
+        final boolean[] booleans = typedValues(name, boolean[].class);
+        return booleans != null && booleans.length == 1 ? booleans[0] : DslValues.super.valueAsBoolean(name);
+    }
+
+    @Override
+    public BigDecimal valueAsBigDecimal(final String name)
+    {
+        final BigDecimal[] decimals = typedValues(name, BigDecimal[].class);
+        return decimals != null && decimals.length == 1 ? decimals[0] : DslValues.super.valueAsBigDecimal(name);
+    }
+
+    @Override
+    public <T> T valueAsType(final String name, final Class<T> type)
+    {
+        final T[] objects = objectValues(name, type);
+        return objects != null && objects.length == 1 ? objects[0] : DslValues.super.valueAsType(name, type);
+    }
+
+    @Override
+    public long valueAsEpochNanos(final String name)
+    {
+        final TemporalValues temporals = singleTemporal(name);
+        final TemporalValues.Kind kind = temporals != null ? temporals.getKind() : null;
+        if (kind == TemporalValues.Kind.EPOCH_NANOS)
+        {
+            return temporals.get(0);
+        }
+        return kind == TemporalValues.Kind.EPOCH_DAY ? temporals.get(0) * TemporalValues.NANOS_PER_DAY : DslValues.super.valueAsEpochNanos(name);
+    }
+
+    @Override
+    public long valueAsEpochDay(final String name)
+    {
+        final TemporalValues temporals = singleTemporal(name);
+        final TemporalValues.Kind kind = temporals != null ? temporals.getKind() : null;
+        if (kind == TemporalValues.Kind.EPOCH_DAY)
+        {
+            return temporals.get(0);
+        }
+        return kind == TemporalValues.Kind.EPOCH_NANOS ? Math.floorDiv(temporals.get(0), TemporalValues.NANOS_PER_DAY) : DslValues.super.valueAsEpochDay(name);
+    }
+
+    @Override
+    public long valueAsNanosOfDay(final String name)
+    {
+        final TemporalValues temporals = singleTemporal(name);
+        final TemporalValues.Kind kind = temporals != null ? temporals.getKind() : null;
+        if (kind == TemporalValues.Kind.NANOS_OF_DAY)
+        {
+            return temporals.get(0);
+        }
+        return kind == TemporalValues.Kind.EPOCH_NANOS ? Math.floorMod(temporals.get(0), TemporalValues.NANOS_PER_DAY) : DslValues.super.valueAsNanosOfDay(name);
+    }
+
+    @Override
+    public long valueAsDurationNanos(final String name)
+    {
+        final TemporalValues temporals = singleTemporal(name);
+        return temporals != null && temporals.getKind() == TemporalValues.Kind.DURATION_NANOS ? temporals.get(0) : DslValues.super.valueAsDurationNanos(name);
+    }
+
+    @Override
+    public int[] valuesAsInts(final String name)
+    {
+        final int[] ints = typedValues(name, int[].class);
+        return ints != null ? ints.clone() : DslValues.super.valuesAsInts(name);
+    }
+
+    @Override
+    public long[] valuesAsLongs(final String name)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        final long[] longs = param != null ? param.getTypedValues(long[].class) : null;
+        if (longs != null)
+        {
+            return longs.clone();
+        }
+
+        final int[] ints = param != null ? param.getTypedValues(int[].class) : null;
+        return ints != null ? widen(ints) : DslValues.super.valuesAsLongs(name);
+    }
+
+    @Override
+    public BigDecimal[] valuesAsBigDecimals(final String name)
+    {
+        final BigDecimal[] decimals = typedValues(name, BigDecimal[].class);
+        return decimals != null ? decimals.clone() : DslValues.super.valuesAsBigDecimals(name);
+    }
+
+    @Override
+    public <T> T[] valuesAsType(final String name, final Class<T> type)
+    {
+        final T[] objects = objectValues(name, type);
+        return objects != null ? objects.clone() : DslValues.super.valuesAsType(name, type);
+    }
+
+    @Override
+    public boolean containsValue(final String name, final CharSequence value)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        return param != null ? param.containsValue(value) : DslValues.super.containsValue(name, value);
+    }
+
+    @Override
+    public boolean containsLong(final String name, final long value)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        return param != null ? param.containsLong(value) : DslValues.super.containsLong(name, value);
+    }
+
+    @Override
+    public Iterator<CharSequence> valuesIterator(final String name)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        return param != null && param.getLazilySplitArg() != null
+                ? LazyValues.iterator(param.getLazilySplitArg(), param.getSuppliedValues())
+                : DslValues.super.valuesIterator(name);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt valuesAsIntIterator(final String name)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        if (param != null && param.getLazilySplitArg() != null)
+        {
+            return LazyValues.intIterator(param.getLazilySplitArg(), param.getSuppliedValues());
+        }
+
+        final int[] ints = param != null ? param.getTypedValues(int[].class) : null;
+        return ints != null ? Arrays.stream(ints).iterator() : DslValues.super.valuesAsIntIterator(name);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong valuesAsLongIterator(final String name)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        if (param != null && param.getLazilySplitArg() != null)
+        {
+            return LazyValues.longIterator(param.getLazilySplitArg(), param.getSuppliedValues());
+        }
+
+        final long[] longs = param != null ? param.getTypedValues(long[].class) : null;
+        if (longs != null)
+        {
+            return Arrays.stream(longs).iterator();
+        }
+
+        final int[] ints = param != null ? param.getTypedValues(int[].class) : null;
+        return ints != null ? Arrays.stream(ints).asLongStream().iterator() : DslValues.super.valuesAsLongIterator(name);
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble valuesAsDoubleIterator(final String name)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        return param != null && param.getLazilySplitArg() != null
+                ? LazyValues.doubleIterator(param.getLazilySplitArg(), param.getSuppliedValues())
+                : DslValues.super.valuesAsDoubleIterator(name);
+    }
+
+    private <A> A typedValues(final String name, final Class<A> arrayType)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        return param != null ? param.getTypedValues(arrayType) : null;
+    }
+
+    private TemporalValues singleTemporal(final String name)
+    {
+        final TemporalValues temporals = typedValues(name, TemporalValues.class);
+        return temporals != null && temporals.size() == 1 ? temporals : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T[] objectValues(final String name, final Class<T> type)
+    {
+        final SimpleDslParam param = findSimpleParam(name);
+        final Object typed = param != null ? param.getTypedValues(Object.class) : null;
+        final Object[] values = typed instanceof TemporalValues ? ((TemporalValues) typed).toObjects(type) : typed instanceof Object[] ? (Object[]) typed : null;
+        return values != null && values.getClass().getComponentType() == type ? (T[]) values : null;
+    }
+
+    private static long[] widen(final int[] ints)
+    {
+        final long[] longs = new long[ints.length];
+        for (int i = 0; i < ints.length; i++)
+        {
+            longs[i] = ints[i];
+        }
+        return longs;
+    }
+}
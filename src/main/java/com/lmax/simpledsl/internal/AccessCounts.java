@@ -0,0 +1,183 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.AccessTracker;
+import com.lmax.simpledsl.api.DslArg;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The number of times each parameter was supplied and read, kept for an {@link AccessTracker}.
+ * <p>
+ * Counts are kept for each signature, the name of a schema or of a schema and group, and its argument names, so
+ * schemas that share a name but accept different arguments are counted separately. Only the parser records counts.
+ */
+public final class AccessCounts
+{
+    private final ConcurrentMap<String, List<SignatureUsage>> usageBySignature = new ConcurrentHashMap<>();
+
+    /**
+     * Pass each parameter that was supplied by callers but never read to the given visitor.
+     *
+     * @param visitor the visitor to pass unused parameters to.
+     */
+    public void forEachUnusedParam(final UnusedParamVisitor visitor)
+    {
+        for (final List<SignatureUsage> usages : usageBySignature.values())
+        {
+            for (final SignatureUsage usage : usages)
+            {
+                usage.visitUnusedParams(visitor);
+            }
+        }
+    }
+
+    /**
+     * Get the usage of the parameters of a schema, or of a repeating group within it, creating it the first time the
+     * signature is seen with these argument names.
+     */
+    SignatureUsage usageOf(final String signature, final DslArg[] dslArgs)
+    {
+        final List<SignatureUsage> usages = usageBySignature.computeIfAbsent(signature, key -> new CopyOnWriteArrayList<>());
+        final SignatureUsage usage = find(usages, dslArgs);
+        if (usage != null)
+        {
+            return usage;
+        }
+
+        synchronized (usages)
+        {
+            final SignatureUsage added = find(usages, dslArgs);
+            if (added != null)
+            {
+                return added;
+            }
+            final SignatureUsage newUsage = new SignatureUsage(signature, dslArgs);
+            usages.add(newUsage);
+            return newUsage;
+        }
+    }
+
+    private static SignatureUsage find(final List<SignatureUsage> usages, final DslArg[] dslArgs)
+    {
+        for (final SignatureUsage usage : usages)
+        {
+            if (usage.hasParams(dslArgs))
+            {
+                return usage;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Receives the parameters that were supplied by callers but never read.
+     */
+    @FunctionalInterface
+    public interface UnusedParamVisitor
+    {
+        /**
+         * Visit a parameter that was supplied by callers but never read.
+         *
+         * @param signature     the name of the schema, or of the schema and group, that declares the parameter.
+         * @param paramName     the name of the parameter.
+         * @param suppliedCount the number of times a value was supplied for the parameter.
+         */
+        void visit(String signature, String paramName, long suppliedCount);
+    }
+
+    /**
+     * The number of times each parameter of a schema, or of a repeating group within it, was supplied and read.
+     */
+    static final class SignatureUsage
+    {
+        private final String signature;
+        private final String[] paramNames;
+        private final AtomicLongArray suppliedCounts;
+        private final AtomicLongArray readCounts;
+
+        SignatureUsage(final String signature, final DslArg[] dslArgs)
+        {
+            this.signature = signature;
+            this.paramNames = new String[dslArgs.length];
+            for (int i = 0; i < dslArgs.length; i++)
+            {
+                paramNames[i] = dslArgs[i].getName();
+            }
+            this.suppliedCounts = new AtomicLongArray(dslArgs.length);
+            this.readCounts = new AtomicLongArray(dslArgs.length);
+        }
+
+        boolean hasParams(final DslArg[] dslArgs)
+        {
+            if (dslArgs.length != paramNames.length)
+            {
+                return false;
+            }
+            for (int i = 0; i < dslArgs.length; i++)
+            {
+                if (!paramNames[i].equals(dslArgs[i].getName()))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Check that a parsed instance records the same number of parameters as this signature declares.
+         *
+         * @throws IllegalArgumentException if the number of parameters differs.
+         */
+        void checkParamCount(final int paramCount)
+        {
+            if (paramCount != paramNames.length)
+            {
+                throw new IllegalArgumentException(
+                        "Recorded " + paramCount + " parameters for " + signature + ", which has " + paramNames.length);
+            }
+        }
+
+        void recordSupplied(final int slot)
+        {
+            suppliedCounts.incrementAndGet(slot);
+        }
+
+        void recordRead(final int slot)
+        {
+            readCounts.incrementAndGet(slot);
+        }
+
+        private void visitUnusedParams(final UnusedParamVisitor visitor)
+        {
+            for (int i = 0; i < paramNames.length; i++)
+            {
+                final long suppliedCount = suppliedCounts.get(i);
+                if (suppliedCount != 0 && readCounts.get(i) == 0)
+                {
+                    visitor.visit(signature, paramNames[i], suppliedCount);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records which slots of a single parsed instance have been read, reporting the first read of each slot to the
+ * {@link AccessCounts.SignatureUsage} for its schema.
+ */
+final class AccessRecorder
+{
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final AccessCounts.SignatureUsage usage;
+    private final boolean[] supplied;
+    private final AtomicLongArray readBits;
+
+    AccessRecorder(final AccessCounts.SignatureUsage usage, final boolean[] supplied)
+    {
+        usage.checkParamCount(supplied.length);
+        this.usage = usage;
+        this.supplied = supplied;
+        this.readBits = new AtomicLongArray((supplied.length >>> ADDRESS_BITS_PER_WORD) + 1);
+        for (int slot = 0; slot < supplied.length; slot++)
+        {
+            if (supplied[slot])
+            {
+                usage.recordSupplied(slot);
+            }
+        }
+    }
+
+    /**
+     * Create a recorder for an instance derived from this one with a different value in one slot, which records its
+     * own reads.
+     */
+    AccessRecorder derive(final int slot, final boolean suppliedValue)
+    {
+        final boolean[] derivedSupplied = supplied.clone();
+        derivedSupplied[slot] = suppliedValue;
+        return new AccessRecorder(usage, derivedSupplied);
+    }
+
+    void recordRead(final int slot)
+    {
+        final int word = slot >>> ADDRESS_BITS_PER_WORD;
+        final long mask = 1L << slot;
+
+        long bits = readBits.get(word);
+        while ((bits & mask) == 0)
+        {
+            if (readBits.compareAndSet(word, bits, bits | mask))
+            {
+                usage.recordRead(slot);
+                return;
+            }
+            bits = readBits.get(word);
+        }
+    }
+}
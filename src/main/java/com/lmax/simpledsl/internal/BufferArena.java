@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.GroupStorage;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * The direct buffers allocated for the packed columns of repeating groups, kept for a {@link GroupStorage}.
+ * <p>
+ * Only the parser and the columns it creates allocate and free buffers, so a buffer can not be freed while a column
+ * still reads it.
+ */
+public final class BufferArena implements AutoCloseable
+{
+    private final Set<ByteBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long allocatedBytes;
+    private volatile boolean closed;
+
+    /**
+     * Get the number of bytes currently allocated by this arena.
+     *
+     * @return the allocated bytes.
+     */
+    public synchronized long getAllocatedBytes()
+    {
+        return allocatedBytes;
+    }
+
+    /**
+     * Free every buffer allocated by this arena.
+     */
+    @Override
+    public synchronized void close()
+    {
+        closed = true;
+        for (final ByteBuffer buffer : buffers)
+        {
+            DirectBuffers.free(buffer);
+        }
+        buffers.clear();
+        allocatedBytes = 0;
+    }
+
+    /**
+     * Allocate a direct buffer that is freed when this arena is closed.
+     *
+     * @throws IllegalStateException if this arena has been closed.
+     */
+    synchronized ByteBuffer allocate(final int capacity)
+    {
+        checkOpen();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
+        buffers.add(buffer);
+        allocatedBytes += capacity;
+        return buffer;
+    }
+
+    /**
+     * Free a buffer allocated by this arena before the arena is closed, for example after its contents have been
+     * copied to a larger buffer. The buffer must not be used again.
+     */
+    synchronized void free(final ByteBuffer buffer)
+    {
+        if (buffers.remove(buffer))
+        {
+            allocatedBytes -= buffer.capacity();
+            DirectBuffers.free(buffer);
+        }
+    }
+
+    /**
+     * Check that this arena has not been closed.
+     *
+     * @throws IllegalStateException if this arena has been closed.
+     */
+    void checkOpen()
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Group storage has been closed");
+        }
+    }
+}
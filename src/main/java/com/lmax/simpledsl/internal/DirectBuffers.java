@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+
+/**
+ * Frees the memory held by direct {@link ByteBuffer ByteBuffers} once they are no longer used.
+ * <p>
+ * This is the Java 8 version of this class, which frees the memory immediately through the buffer's
+ * {@code sun.misc.Cleaner}. On Java 9 and 10, where the cleaner is not accessible, the memory is left to be freed when
+ * the garbage collector finds that the buffer is unreachable. On Java 11 and later the multi-release JAR supplies a
+ * version that frees it immediately through {@code sun.misc.Unsafe}.
+ */
+public final class DirectBuffers
+{
+    private static final MethodHandle CLEAN = findClean();
+
+    private DirectBuffers()
+    {
+    }
+
+    /**
+     * Free the memory held by a direct buffer. The buffer must not be used again.
+     *
+     * @param buffer the buffer to free.
+     */
+    public static void free(final ByteBuffer buffer)
+    {
+        if (CLEAN != null && buffer.isDirect())
+        {
+            try
+            {
+                CLEAN.invokeExact(buffer);
+            }
+            catch (final Throwable e)
+            {
+                // the buffer is left for the garbage collector to free
+            }
+        }
+    }
+
+    private static MethodHandle findClean()
+    {
+        try
+        {
+            final Class<?> directBufferClass = Class.forName("sun.nio.ch.DirectBuffer");
+            final Class<?> cleanerClass = Class.forName("sun.misc.Cleaner");
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle cleaner = lookup.findVirtual(directBufferClass, "cleaner", MethodType.methodType(cleanerClass));
+            final MethodHandle clean = lookup.findVirtual(cleanerClass, "clean", MethodType.methodType(void.class));
+            return MethodHandles.filterReturnValue(cleaner, clean).asType(MethodType.methodType(void.class, ByteBuffer.class));
+        }
+        catch (final ReflectiveOperationException | RuntimeException e)
+        {
+            return null;
+        }
+    }
+}
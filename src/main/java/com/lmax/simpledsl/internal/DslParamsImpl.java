@@ -18,22 +18,45 @@ package com.lmax.simpledsl.internal;
 import com.lmax.simpledsl.api.DslArg;
 import com.lmax.simpledsl.api.DslParams;
 import com.lmax.simpledsl.api.RepeatingGroup;
+import com.lmax.simpledsl.api.SimpleDslArg;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The internal implementation of {@link DslParams}.
+ * <p>
+ * Instances are immutable once constructed and can be shared between threads. Instances derived with
+ * {@link #with(String, String)} and {@link #without(String)} share the unchanged parameters with the original.
  */
-final class DslParamsImpl implements DslParams
+final class DslParamsImpl extends AbstractDslValues implements DslParams
 {
     private final DslArg[] args;
-    private final Map<String, DslParam> paramsByName;
+    private final DslParam[] params;
+    private final ParseContext context;
+    private final AccessRecorder accessRecorder;
 
     DslParamsImpl(final DslArg[] args, final Map<String, DslParam> paramsByName)
+    {
+        this(args, paramsByName.values().toArray(new DslParam[0]), ParseContext.detached(), null);
+    }
+
+    /**
+     * Create parameters parsed in a {@link ParseContext}.
+     *
+     * @param args           the {@link DslArg DslArgs} the parameters were parsed against.
+     * @param params         the parameters, in the order of {@code args}.
+     * @param context        the context these were parsed in, whose configuration is used to parse replacement values.
+     * @param accessRecorder the recorder of reads of these instances' parameters, or {@literal null} if reads are not tracked.
+     */
+    DslParamsImpl(final DslArg[] args, final DslParam[] params, final ParseContext context, final AccessRecorder accessRecorder)
     {
         this.args = args;
-        this.paramsByName = paramsByName;
+        this.params = params;
+        this.context = context;
+        this.accessRecorder = accessRecorder;
     }
 
     @Override
@@ -58,35 +81,135 @@ final class DslParamsImpl implements DslParams
         return repeatingParamGroup.values();
     }
 
+    @Override
+    public Stream<RepeatingGroup> groupStream(final String groupName)
+    {
+        return StreamSupport.stream(getDslParam(groupName).asRepeatingParamGroup().spliterator(), false);
+    }
+
+    @Override
+    public RepeatingGroup groupRow(final String groupName, final String identityValue)
+    {
+        final RepeatingParamGroup group = getDslParam(groupName).asRepeatingParamGroup();
+        final RepeatingGroup[] rows = group.rowsWhere(groupName, identityValue, 1);
+        return rows.length != 0 ? rows[0] : null;
+    }
+
+    @Override
+    public RepeatingGroup[] groupRowsWhere(final String groupName, final String field, final String value)
+    {
+        return getDslParam(groupName).asRepeatingParamGroup().rowsWhere(field, value, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public DslParams with(final String name, final String value)
+    {
+        return replace(name, value);
+    }
+
+    @Override
+    public DslParams without(final String name)
+    {
+        return replace(name, null);
+    }
+
     @Override
     public boolean hasValue(final String name)
     {
-        return findDslParam(name)
-                .map(DslParam::hasValue)
-                .orElse(false);
+        final int slot = findSlot(name);
+        if (slot < 0)
+        {
+            return false;
+        }
+
+        recordRead(slot);
+        return params[slot].hasValue();
     }
 
     @Override
     public boolean hasParam(final String name)
     {
-        return findDslParam(name).isPresent();
+        return findSlot(name) >= 0;
     }
 
     @Override
     public DslArg[] getParams()
     {
-        return args;
+        return args.clone();
+    }
+
+    @Override
+    SimpleDslParam findSimpleParam(final String name)
+    {
+        return getDslParam(name).getAsSimpleDslParam();
+    }
+
+    /**
+     * Get the values of a simple parameter to forward to another schema.
+     *
+     * @return the values, or {@literal null} if there is no simple parameter with the given name.
+     */
+    List<String> forwardedValues(final String name)
+    {
+        final int slot = findSlot(name);
+        if (slot < 0 || !(params[slot] instanceof SimpleDslParam))
+        {
+            return null;
+        }
+
+        recordRead(slot);
+        return ((SimpleDslParam) params[slot]).getValuesAsList();
+    }
+
+    private DslParamsImpl replace(final String name, final String value)
+    {
+        final int slot = findSlot(name);
+        if (slot < 0)
+        {
+            throw new IllegalArgumentException(name + " is not a parameter");
+        }
+        if (!(args[slot] instanceof SimpleDslArg))
+        {
+            throw new IllegalArgumentException(name + " is a repeating group so its value can not be replaced");
+        }
+
+        final DslParam[] derivedParams = params.clone();
+        derivedParams[slot] = DslParamsParser.parseValue((SimpleDslArg) args[slot], value, context.forReplacedValue());
+        return new DslParamsImpl(args, derivedParams, context, accessRecorder != null ? accessRecorder.derive(slot, value != null) : null);
     }
 
     private DslParam getDslParam(final String name)
     {
-        return findDslParam(name).orElseThrow(() -> new IllegalArgumentException(name + " is not a parameter"));
+        final int slot = findSlot(name);
+        if (slot < 0)
+        {
+            throw new IllegalArgumentException(name + " is not a parameter");
+        }
+
+        recordRead(slot);
+        return params[slot];
+    }
+
+    private int findSlot(final String name)
+    {
+        if (name != null)
+        {
+            for (int i = 0; i < params.length; i++)
+            {
+                if (params[i].getName().equalsIgnoreCase(name))
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
     }
 
-    private Optional<DslParam> findDslParam(final String name)
+    private void recordRead(final int slot)
     {
-        return Optional.ofNullable(name)
-                .map(String::toLowerCase)
-                .map(paramsByName::get);
+        if (accessRecorder != null)
+        {
+            accessRecorder.recordRead(slot);
+        }
     }
 }
@@ -14,12 +14,22 @@
  * limitations under the License.
  */
 
+
 package com.lmax.simpledsl.internal;
 
+import com.lmax.simpledsl.api.AccessTracker;
 import com.lmax.simpledsl.api.DslArg;
 import com.lmax.simpledsl.api.DslParams;
+import com.lmax.simpledsl.api.DslParamsCache;
+import com.lmax.simpledsl.api.GroupTable;
+import com.lmax.simpledsl.api.ParamForwarding;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.ParseListener;
+import com.lmax.simpledsl.api.ParseResult;
 import com.lmax.simpledsl.api.RepeatingArgGroup;
 import com.lmax.simpledsl.api.SimpleDslArg;
+import com.lmax.simpledsl.api.TypedArg;
+import com.lmax.simpledsl.api.ValuePool;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -37,6 +47,142 @@ import java.util.regex.Pattern;
  */
 public class DslParamsParser
 {
+    private final ValuePool valuePool;
+    private final DslParamsCache resultCache;
+    private final ParseListener listener;
+    private final AccessCounts accessCounts;
+    private final ScopedValues scopedValues;
+    private final BufferArena groupStorage;
+
+    /**
+     * Create a new parser.
+     */
+    public DslParamsParser()
+    {
+        this(null, null, ParseListener.NONE, null, null, null);
+    }
+
+    private DslParamsParser(
+            final ValuePool valuePool,
+            final DslParamsCache resultCache,
+            final ParseListener listener,
+            final AccessCounts accessCounts,
+            final ScopedValues scopedValues,
+            final BufferArena groupStorage)
+    {
+        this.valuePool = valuePool;
+        this.resultCache = resultCache;
+        this.listener = listener;
+        this.accessCounts = accessCounts;
+        this.scopedValues = scopedValues;
+        this.groupStorage = groupStorage;
+    }
+
+    /**
+     * Create a copy of this parser that shares supplied values through the given {@link ValuePool}.
+     * <p>
+     * Parsed values with the same content will then refer to a single {@link String} instance, reducing the memory held
+     * by long-lived {@link DslParams}.
+     *
+     * @param valuePool the pool to share values through.
+     * @return the new parser.
+     */
+    public DslParamsParser withValuePool(final ValuePool valuePool)
+    {
+        return new DslParamsParser(valuePool, resultCache, listener, accessCounts, scopedValues, groupStorage);
+    }
+
+    /**
+     * Create a copy of this parser that reuses previously parsed {@link DslParams} from the given {@link DslParamsCache}.
+     * <p>
+     * Repeated calls with the same {@link DslArg DslArgs} instances and the same values will then return the same,
+     * immutable, {@link DslParams} instance rather than parsing the values again.
+     *
+     * @param resultCache the cache of parsed {@link DslParams}.
+     * @return the new parser.
+     */
+    public DslParamsParser withResultCache(final DslParamsCache resultCache)
+    {
+        return new DslParamsParser(valuePool, resultCache, listener, accessCounts, scopedValues, groupStorage);
+    }
+
+    /**
+     * Create a copy of this parser that notifies the given {@link ParseListener} of its progress.
+     *
+     * @param listener the listener to notify.
+     * @return the new parser.
+     */
+    public DslParamsParser withParseListener(final ParseListener listener)
+    {
+        return new DslParamsParser(valuePool, resultCache, listener, accessCounts, scopedValues, groupStorage);
+    }
+
+    /**
+     * Create a copy of this parser that records which parameters are read from the {@link DslParams} it creates.
+     * <p>
+     * Tracking adds a small cost to every read, so is intended for finding unused parameters rather than for everyday
+     * use. The counts are those kept by an {@link AccessTracker}, which {@link com.lmax.simpledsl.api.DslSchema#withAccessTracker} passes here.
+     *
+     * @param accessCounts the counts to record reads in.
+     * @return the new parser.
+     */
+    public DslParamsParser withAccessCounts(final AccessCounts accessCounts)
+    {
+        return new DslParamsParser(valuePool, resultCache, listener, accessCounts, scopedValues, groupStorage);
+    }
+
+    /**
+     * Create a copy of this parser that uses the values held by a {@link com.lmax.simpledsl.api.DefaultScope} for any
+     * parameter that is not supplied, before falling back to the parameter's default value.
+     * <p>
+     * Results are then never taken from or added to the {@link DslParamsCache result cache}, as they depend on more
+     * than the supplied values.
+     *
+     * @param scopedValues the values held by the scope.
+     * @return the new parser.
+     */
+    public DslParamsParser withDefaultScope(final ScopedValues scopedValues)
+    {
+        return new DslParamsParser(valuePool, resultCache, listener, accessCounts, scopedValues, groupStorage);
+    }
+
+    /**
+     * Create a copy of this parser that packs the values of every {@link RepeatingArgGroup} into off-heap columns
+     * allocated from the given {@link BufferArena}, rather than holding an object for each row.
+     * <p>
+     * The {@link DslParams} created can only be read until the arena is closed, so results are never taken from or
+     * added to the {@link DslParamsCache result cache}, and reads of group values are not recorded by an
+     * {@link AccessTracker}.
+     *
+     * @param groupStorage the arena to allocate the columns of groups from.
+     * @return the new parser.
+     */
+    public DslParamsParser withGroupStorage(final BufferArena groupStorage)
+    {
+        return new DslParamsParser(valuePool, resultCache, listener, accessCounts, scopedValues, groupStorage);
+    }
+
+    /**
+     * Describe a set of {@link DslArg DslArgs} as a comma separated list of their names, for use as the name of a
+     * schema that has not been given one.
+     *
+     * @param dslArgs the {@link DslArg} specifications
+     * @return the description.
+     */
+    public static String signatureOf(final DslArg... dslArgs)
+    {
+        final StringBuilder signature = new StringBuilder();
+        for (final DslArg dslArg : dslArgs)
+        {
+            if (signature.length() != 0)
+            {
+                signature.append(", ");
+            }
+            signature.append(dslArg.getName());
+        }
+        return signature.toString();
+    }
+
     /**
      * Construct new {@link DslParams} from the given {@link DslArg DslArgs} and values.
      *
@@ -47,34 +193,351 @@ public class DslParamsParser
      */
     public DslParams parse(final String[] args, final DslArg... dslArgs)
     {
-        final Deque<NameValuePair> arguments = parseArgumentValues(args);
+        return tryParse(null, args, false, dslArgs).getParams();
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs} and values, reporting the first problem
+     * found as a {@link com.lmax.simpledsl.api.ParseError} rather than throwing an exception.
+     *
+     * @param args    the values
+     * @param dslArgs the {@link DslArg} specifications
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or the error.
+     */
+    public ParseResult tryParse(final String[] args, final DslArg... dslArgs)
+    {
+        return tryParse(null, args, false, dslArgs);
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs} and values, reporting problems as
+     * {@link com.lmax.simpledsl.api.ParseError ParseErrors} rather than throwing an exception.
+     *
+     * @param args             the values
+     * @param collectAllErrors {@literal true} to report every problem found, {@literal false} to report only the first.
+     * @param dslArgs          the {@link DslArg} specifications
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or the errors.
+     */
+    public ParseResult tryParse(final String[] args, final boolean collectAllErrors, final DslArg... dslArgs)
+    {
+        return tryParse(null, args, collectAllErrors, dslArgs);
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs} and values, reporting problems as
+     * {@link com.lmax.simpledsl.api.ParseError ParseErrors} rather than throwing an exception.
+     *
+     * @param schemaName       the name reported to the {@link ParseListener}, or {@literal null} to use the {@link #signatureOf signature} of the {@link DslArg DslArgs}.
+     * @param args             the values
+     * @param collectAllErrors {@literal true} to report every problem found, {@literal false} to report only the first.
+     * @param dslArgs          the {@link DslArg} specifications
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or the errors.
+     */
+    public ParseResult tryParse(final String schemaName, final String[] args, final boolean collectAllErrors, final DslArg... dslArgs)
+    {
+        return parseAndReport(schemaName, null, null, args, collectAllErrors, dslArgs);
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs}, values and parameters forwarded from
+     * another {@link DslParams}.
+     *
+     * @param forwarded the parameters forwarded to any {@link DslArg} not supplied in {@code args}.
+     * @param args      the values
+     * @param dslArgs   the {@link DslArg} specifications
+     * @return the parsed {@link DslParams}
+     * @throws IllegalArgumentException if any of the provided {@link String} arguments or forwarded values are invalid
+     */
+    public DslParams parse(final ParamForwarding forwarded, final String[] args, final DslArg... dslArgs)
+    {
+        return tryParse(null, forwarded, args, false, dslArgs).getParams();
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs}, values and parameters forwarded from
+     * another {@link DslParams}, reporting problems as {@link com.lmax.simpledsl.api.ParseError ParseErrors} rather
+     * than throwing an exception.
+     * <p>
+     * Results are never taken from or added to the {@link DslParamsCache result cache}, as they depend on more than
+     * the supplied values.
+     *
+     * @param schemaName       the name reported to the {@link ParseListener}, or {@literal null} to use the {@link #signatureOf signature} of the {@link DslArg DslArgs}.
+     * @param forwarded        the parameters forwarded to any {@link DslArg} not supplied in {@code args}, or {@literal null} if there are none.
+     * @param args             the values
+     * @param collectAllErrors {@literal true} to report every problem found, {@literal false} to report only the first.
+     * @param dslArgs          the {@link DslArg} specifications
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or the errors.
+     */
+    public ParseResult tryParse(
+            final String schemaName,
+            final ParamForwarding forwarded,
+            final String[] args,
+            final boolean collectAllErrors,
+            final DslArg... dslArgs)
+    {
+        return parseAndReport(schemaName, forwarded, null, args, collectAllErrors, dslArgs);
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs}, values and {@link GroupTable tables} of
+     * repeating group rows.
+     *
+     * @param tables  the rows of repeating groups, added to any rows supplied in {@code args}.
+     * @param args    the values
+     * @param dslArgs the {@link DslArg} specifications
+     * @return the parsed {@link DslParams}
+     * @throws IllegalArgumentException if any of the provided {@link String} arguments or table values are invalid
+     */
+    public DslParams parse(final List<GroupTable> tables, final String[] args, final DslArg... dslArgs)
+    {
+        return parseAndReport(null, null, tables, args, false, dslArgs).getParams();
+    }
+
+    /**
+     * Construct new {@link DslParams} from the given {@link DslArg DslArgs}, values and {@link GroupTable tables} of
+     * repeating group rows, reporting problems as {@link com.lmax.simpledsl.api.ParseError ParseErrors} rather than
+     * throwing an exception.
+     * <p>
+     * Results are never taken from or added to the {@link DslParamsCache result cache}, as they depend on more than
+     * the supplied values.
+     *
+     * @param schemaName       the name reported to the {@link ParseListener}, or {@literal null} to use the {@link #signatureOf signature} of the {@link DslArg DslArgs}.
+     * @param tables           the rows of repeating groups, added to any rows supplied in {@code args}.
+     * @param args             the values
+     * @param collectAllErrors {@literal true} to report every problem found, {@literal false} to report only the first.
+     * @param dslArgs          the {@link DslArg} specifications
+     * @return the {@link ParseResult} holding either the parsed {@link DslParams} or the errors.
+     */
+    public ParseResult tryParse(
+            final String schemaName,
+            final List<GroupTable> tables,
+            final String[] args,
+            final boolean collectAllErrors,
+            final DslArg... dslArgs)
+    {
+        return parseAndReport(schemaName, null, tables, args, collectAllErrors, dslArgs);
+    }
+
+    private ParseResult parseAndReport(
+            final String schemaName,
+            final ParamForwarding forwarded,
+            final List<GroupTable> tables,
+            final String[] args,
+            final boolean collectAllErrors,
+            final DslArg[] dslArgs)
+    {
+        final boolean nameRequired = listener != ParseListener.NONE || accessCounts != null || FlightRecorderEvents.isSchemaNameRequired();
+        final String name = schemaName == null && nameRequired ? signatureOf(dslArgs) : schemaName;
+        final long startToken = listener.onParseStart(name, args.length);
+        final Object parseEvent = FlightRecorderEvents.beginParse();
+
+        final ParseResult result = parseOrReuse(name, forwarded, tables, args, collectAllErrors, dslArgs);
+
+        FlightRecorderEvents.endParse(parseEvent, name, args.length, result.isSuccess());
+        listener.onParseEnd(name, startToken, result.isSuccess());
+        return result;
+    }
+
+    private ParseResult parseOrReuse(
+            final String schemaName,
+            final ParamForwarding forwarded,
+            final List<GroupTable> tables,
+            final String[] args,
+            final boolean collectAllErrors,
+            final DslArg[] dslArgs)
+    {
+        final boolean cacheable = resultCache != null && forwarded == null && tables == null && scopedValues == null && groupStorage == null;
+        if (cacheable)
+        {
+            final DslParams cached = resultCache.get(dslArgs, args);
+            if (cached != null)
+            {
+                return ParseResult.success(cached);
+            }
+        }
+
+        final ParseContext context = new ParseContext(schemaName, valuePool, listener, accessCounts, collectAllErrors, groupStorage);
+        final DslParams params = parseArgs(args, forwarded, tables, scopedValues, dslArgs, context);
+        if (context.hasErrors())
+        {
+            return ParseResult.failure(context.getErrors());
+        }
+
+        if (cacheable)
+        {
+            resultCache.put(dslArgs, args, params);
+        }
+        return ParseResult.success(params);
+    }
+
+    private static DslParams parseArgs(
+            final String[] args,
+            final ParamForwarding forwarded,
+            final List<GroupTable> tables,
+            final ScopedValues scopedValues,
+            final DslArg[] dslArgs,
+            final ParseContext context)
+    {
+        ArgumentProcessor argumentProcessor = new ArgumentProcessor(dslArgs, context);
+        if (argumentProcessor.isInOrderEligible())
+        {
+            final NameValuePair[] arguments = parseArgumentValues(args);
+            if (!argumentProcessor.drainInOrder(arguments))
+            {
+                argumentProcessor = new ArgumentProcessor(dslArgs, context);
+                argumentProcessor.drain(new ArrayDeque<>(Arrays.asList(arguments)));
+            }
+        }
+        else
+        {
+            argumentProcessor.drain(parseArgumentQueue(args));
+        }
+
+        if (tables != null)
+        {
+            argumentProcessor.addTables(tables);
+        }
+        if (forwarded != null)
+        {
+            argumentProcessor.forward(forwarded);
+        }
+        if (scopedValues != null)
+        {
+            argumentProcessor.useScopedValues(scopedValues.resolve(dslArgs));
+        }
+        return argumentProcessor.collect();
+    }
+
+    /**
+     * Parse the value of a single argument, as if it had been supplied by name, or as if it had not been supplied if
+     * {@code value} is {@literal null}.
+     *
+     * @param context the context of the value, from {@link ParseContext#forReplacedValue()}.
+     * @throws IllegalArgumentException describing the first problem found with the value.
+     */
+    static SimpleDslParam parseValue(final SimpleDslArg arg, final String value, final ParseContext context)
+    {
+        final SimpleArgumentProcessor processor = new SimpleArgumentProcessor(new DslArg[]{arg}, null, context);
+        if (value != null)
+        {
+            processor.addValue(arg, value, processor.values(0));
+        }
 
-        final ArgumentProcessor argumentProcessor = new ArgumentProcessor();
-        argumentProcessor.drain(dslArgs, arguments);
+        final SimpleDslParam param = processor.collect(0);
+        if (context.hasErrors())
+        {
+            throw new IllegalArgumentException(context.getErrors().get(0).getMessage());
+        }
+        return param;
+    }
 
-        final Map<String, DslParam> paramsByName = argumentProcessor.collect(dslArgs);
-        return new DslParamsImpl(dslArgs, paramsByName);
+    private static NameValuePair[] parseArgumentValues(final String[] args)
+    {
+        final NameValuePair[] nameValuePairs = new NameValuePair[args.length];
+        for (int i = 0; i < args.length; i++)
+        {
+            nameValuePairs[i] = NameValuePair.fromArgumentString(args[i]);
+        }
+        return nameValuePairs;
     }
 
-    private static Deque<NameValuePair> parseArgumentValues(final String[] args)
+    /**
+     * Parse the arguments straight into a queue, which holds each one only until it has been consumed, so that large
+     * repeating groups do not keep every parsed argument alive until the end of the parse.
+     */
+    private static Deque<NameValuePair> parseArgumentQueue(final String[] args)
     {
-        final ArrayDeque<NameValuePair> nameValuePairs = new ArrayDeque<>();
-        for (String arg : args)
+        final Deque<NameValuePair> nameValuePairs = new ArrayDeque<>(args.length);
+        for (final String arg : args)
         {
-            final NameValuePair nameValuePair = NameValuePair.fromArgumentString(arg);
-            nameValuePairs.add(nameValuePair);
+            nameValuePairs.addLast(NameValuePair.fromArgumentString(arg));
         }
         return nameValuePairs;
     }
 
     private static final class ArgumentProcessor
     {
-        private final SimpleArgumentProcessor simpleProcessor = new SimpleArgumentProcessor(new HashMap<>(), "Missing value for parameter: %s");
-        private final RepeatingGroupArgumentProcessor groupProcessor = new RepeatingGroupArgumentProcessor(new HashMap<>());
+        private final DslArg[] args;
+        private final SimpleArgumentProcessor simpleProcessor;
+        private final RepeatingGroupArgumentProcessor groupProcessor;
+        private final ParseContext context;
 
-        void drain(final DslArg[] args, final Deque<NameValuePair> arguments)
+        ArgumentProcessor(final DslArg[] args, final ParseContext context)
         {
-            for (final DslArg arg : args)
+            this.args = args;
+            this.simpleProcessor = new SimpleArgumentProcessor(args, null, context);
+            this.groupProcessor = new RepeatingGroupArgumentProcessor(context);
+            this.context = context;
+        }
+
+        /**
+         * Consume the arguments in a single pass, provided they are positional or named in the order the
+         * {@link DslArg DslArgs} are declared, which can only be tried if {@link #isInOrderEligible()}.
+         * <p>
+         * Nothing is reported to the {@link ParseContext}. If the arguments are out of order, or anything else needs the
+         * general algorithm - repeating groups, duplicate names or invalid values - this processor is abandoned and
+         * {@literal false} is returned, so {@link #drain} can start again with a new one.
+         */
+        boolean drainInOrder(final NameValuePair[] arguments)
+        {
+            boolean positional = true;
+            int slot = 0;
+            int index = 0;
+            while (index < arguments.length)
+            {
+                final NameValuePair argument = arguments[index];
+                if (positional)
+                {
+                    if (slot < args.length && argument == NameValuePair.NULL)
+                    {
+                        slot++;
+                        index++;
+                        continue;
+                    }
+
+                    if (slot < args.length && !invalidNamedParameter(args[slot], argument))
+                    {
+                        index = simpleProcessor.consumeInOrder(slot, arguments, index);
+                        if (index < 0)
+                        {
+                            return false;
+                        }
+                        slot++;
+                        continue;
+                    }
+                    positional = false;
+                }
+
+                if (argument == NameValuePair.NULL)
+                {
+                    index++;
+                    continue;
+                }
+
+                if (argument.name == null)
+                {
+                    return false;
+                }
+
+                slot = findSlotFrom(slot, argument.name);
+                if (slot < 0)
+                {
+                    return false;
+                }
+
+                index = simpleProcessor.consumeInOrder(slot, arguments, index);
+                if (index < 0)
+                {
+                    return false;
+                }
+                slot++;
+            }
+            return true;
+        }
+
+        void drain(final Deque<NameValuePair> arguments)
+        {
+            for (int slot = 0; slot < args.length; slot++)
             {
                 final NameValuePair argument = arguments.peekFirst();
                 if (argument != null)
@@ -85,21 +548,21 @@ public class DslParamsParser
                         continue;
                     }
 
-                    if (invalidNamedParameter(arg, argument))
+                    if (invalidNamedParameter(args[slot], argument))
                     {
                         break;
                     }
 
-                    consume(arg, arguments);
+                    consume(slot, arguments);
                 }
             }
 
-            final Map<String, DslArg> argsByName = new HashMap<>();
-            for (DslArg dslArg : args)
+            final Map<String, Integer> slotsByName = new HashMap<>();
+            for (int slot = 0; slot < args.length; slot++)
             {
-                if (argsByName.put(dslArg.getName().toLowerCase(), dslArg) != null)
+                if (slotsByName.putIfAbsent(args[slot].getName().toLowerCase(), slot) != null)
                 {
-                    throw new IllegalArgumentException("Duplicate parameter '" + dslArg.getName() + "'");
+                    context.reportError(ParseErrorCode.DUPLICATE_PARAMETER, args[slot], null, null);
                 }
             }
 
@@ -114,43 +577,166 @@ public class DslParamsParser
 
                 if (argument.name == null)
                 {
-                    throw new IllegalArgumentException("Unexpected ambiguous argument " + argument.originalValue);
+                    context.reportError(ParseErrorCode.UNEXPECTED_AMBIGUOUS_ARGUMENT, null, null, argument.originalValue);
+                    arguments.pollFirst();
+                    continue;
+                }
+
+                final Integer slot = slotsByName.get(argument.name.toLowerCase());
+                if (slot == null)
+                {
+                    context.reportError(ParseErrorCode.UNEXPECTED_ARGUMENT, null, null, argument.originalValue);
+                    arguments.pollFirst();
+                    continue;
+                }
+
+                consume(slot, arguments);
+            }
+        }
+
+        /**
+         * Add the rows of each table to the {@link RepeatingArgGroup} it names.
+         */
+        void addTables(final List<GroupTable> tables)
+        {
+            for (final GroupTable table : tables)
+            {
+                final int slot = findSlotFrom(0, table.getGroupName());
+                if (slot < 0 || !(args[slot] instanceof RepeatingArgGroup))
+                {
+                    context.reportError(ParseErrorCode.UNEXPECTED_ARGUMENT, null, null, table.getGroupName());
+                    continue;
+                }
+
+                final Object groupConsumeEvent = FlightRecorderEvents.beginGroupConsume();
+                final int rowCount = groupProcessor.consumeTable((RepeatingArgGroup) args[slot], table);
+                FlightRecorderEvents.endGroupConsume(
+                        groupConsumeEvent, context.getSchemaName(), args[slot].getName(), groupProcessor.getTableValueCount(), rowCount);
+            }
+        }
+
+        /**
+         * Give each simple {@link DslArg} that was not supplied the values forwarded to it, if any.
+         */
+        void forward(final ParamForwarding forwarded)
+        {
+            for (int slot = 0; slot < args.length; slot++)
+            {
+                if (args[slot] instanceof RepeatingArgGroup || simpleProcessor.wasSupplied(slot))
+                {
+                    continue;
+                }
+
+                final String sourceName = forwarded.getSourceName(args[slot].getName());
+                final List<String> values = sourceName != null ? forwardedValues(forwarded.getSource(), sourceName) : null;
+                if (values != null && !values.isEmpty())
+                {
+                    simpleProcessor.forward(slot, values);
+                }
+            }
+        }
+
+        /**
+         * Give each {@link DslArg} that has no values the values held for it by a {@link com.lmax.simpledsl.api.DefaultScope},
+         * if any, reporting scoped values that were rejected only for the {@link DslArg DslArgs} that would use them.
+         */
+        void useScopedValues(final ScopedValues.ResolvedSlots resolvedSlots)
+        {
+            for (int slot = 0; slot < args.length; slot++)
+            {
+                if (simpleProcessor.wasSupplied(slot))
+                {
+                    continue;
                 }
 
-                final DslArg arg = argsByName.get(argument.name.toLowerCase());
-                if (arg == null)
+                final ParseErrorCode error = resolvedSlots.errorOf(slot);
+                if (error != null)
+                {
+                    context.reportError(error, args[slot], null, resolvedSlots.rejectedValueOf(slot));
+                }
+                else if (resolvedSlots.valuesOf(slot) != null)
                 {
-                    throw new IllegalArgumentException("Unexpected argument " + argument.originalValue);
+                    simpleProcessor.useValues(slot, resolvedSlots.valuesOf(slot));
                 }
+            }
+        }
 
-                consume(arg, arguments);
+        private static List<String> forwardedValues(final DslParams source, final String name)
+        {
+            if (source instanceof DslParamsImpl)
+            {
+                return ((DslParamsImpl) source).forwardedValues(name);
             }
+            return source.hasParamAndValue(name) ? Arrays.asList(source.values(name)) : null;
         }
 
-        Map<String, DslParam> collect(final DslArg[] args)
+        DslParamsImpl collect()
         {
-            final Map<String, DslParam> map = new HashMap<>();
-            for (final DslArg dslArg : args)
+            final DslParam[] params = new DslParam[args.length];
+            final boolean[] supplied = context.isTrackingAccess() ? new boolean[args.length] : null;
+            for (int slot = 0; slot < args.length; slot++)
             {
+                final DslArg dslArg = args[slot];
                 // TODO: work out how we can avoid this cast :/
-                final DslParam val = dslArg instanceof RepeatingArgGroup
-                        ? groupProcessor.collect((RepeatingArgGroup) dslArg)
-                        : simpleProcessor.collect((SimpleDslArg) dslArg);
-                map.put(dslArg.getName().toLowerCase(), val);
+                if (dslArg instanceof RepeatingArgGroup)
+                {
+                    final RepeatingParamGroup group = groupProcessor.collect((RepeatingArgGroup) dslArg);
+                    params[slot] = group;
+                    if (supplied != null)
+                    {
+                        supplied[slot] = group.hasValue();
+                    }
+                }
+                else
+                {
+                    params[slot] = simpleProcessor.collect(slot);
+                    if (supplied != null)
+                    {
+                        supplied[slot] = simpleProcessor.wasSupplied(slot);
+                    }
+                }
+            }
+            return new DslParamsImpl(args, params, context, supplied != null ? context.accessRecorder(args, supplied) : null);
+        }
+
+        boolean isInOrderEligible()
+        {
+            for (int slot = 0; slot < args.length; slot++)
+            {
+                if (args[slot] instanceof RepeatingArgGroup || findSlotFrom(slot + 1, args[slot].getName()) >= 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int findSlotFrom(final int firstSlot, final String name)
+        {
+            for (int slot = firstSlot; slot < args.length; slot++)
+            {
+                if (args[slot].getName().equalsIgnoreCase(name))
+                {
+                    return slot;
+                }
             }
-            return map;
+            return -1;
         }
 
-        private void consume(final DslArg arg, final Deque<NameValuePair> arguments)
+        private void consume(final int slot, final Deque<NameValuePair> arguments)
         {
+            final DslArg arg = args[slot];
             if (arg instanceof RepeatingArgGroup)
             {
+                final Object groupConsumeEvent = FlightRecorderEvents.beginGroupConsume();
+                final int remaining = arguments.size();
                 // TODO: work out how we can avoid this cast :/
                 groupProcessor.consume((RepeatingArgGroup) arg, arguments);
+                FlightRecorderEvents.endGroupConsume(groupConsumeEvent, context.getSchemaName(), arg.getName(), remaining - arguments.size(), 1);
             }
             else
             {
-                simpleProcessor.consume(arg, arguments);
+                simpleProcessor.consume(slot, arguments);
             }
         }
 
@@ -163,19 +749,25 @@ public class DslParamsParser
 
     private static final class SimpleArgumentProcessor
     {
-        private final Map<DslArg, List<String>> valuesByArg;
-        private final String requiredParamMissingError;
+        private final DslArg[] args;
+        private final List<String>[] valuesBySlot;
+        private final String groupName;
+        private final ParseContext context;
 
-        SimpleArgumentProcessor(final Map<DslArg, List<String>> valuesByArg, final String requiredParamMissingError)
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        SimpleArgumentProcessor(final DslArg[] args, final String groupName, final ParseContext context)
         {
-            this.valuesByArg = valuesByArg;
-            this.requiredParamMissingError = requiredParamMissingError;
+            this.args = args;
+            this.valuesBySlot = new List[args.length];
+            this.groupName = groupName;
+            this.context = context;
         }
 
-        void consume(final DslArg arg, final Deque<NameValuePair> args)
+        void consume(final int slot, final Deque<NameValuePair> arguments)
         {
-            final List<String> values = valuesByArg.computeIfAbsent(arg, k -> new ArrayList<>());
-            while (consumeSingleParam(arg, args, values))
+            final DslArg arg = args[slot];
+            final List<String> values = values(slot);
+            while (consumeSingleParam(arg, arguments, values))
             {
                 if (!arg.isAllowMultipleValues())
                 {
@@ -184,14 +776,118 @@ public class DslParamsParser
             }
         }
 
-        SimpleDslParam collect(final SimpleDslArg arg)
+        /**
+         * The single pass equivalent of {@link #consume}, returning the index of the first argument not consumed, or
+         * -1 if the arguments need the general algorithm.
+         */
+        int consumeInOrder(final int slot, final NameValuePair[] arguments, final int firstIndex)
+        {
+            final DslArg arg = args[slot];
+            final List<String> values = values(slot);
+            int index = firstIndex;
+            do
+            {
+                if (index == arguments.length || !matches(arg, arguments[index]))
+                {
+                    break;
+                }
+
+                if (!tryAddValue(arg, arguments[index].value, values))
+                {
+                    return -1;
+                }
+                index++;
+            }
+            while (arg.isAllowMultipleValues());
+
+            return index == firstIndex ? -1 : index;
+        }
+
+        List<String> values(final int slot)
+        {
+            List<String> values = valuesBySlot[slot];
+            if (values == null)
+            {
+                values = new ArrayList<>();
+                valuesBySlot[slot] = values;
+            }
+            return values;
+        }
+
+        /**
+         * Use values already parsed for another {@link DslArg}, checking only the rules of this {@link DslArg}.
+         */
+        void forward(final int slot, final List<String> forwardedValues)
         {
-            final List<String> values = valuesByArg.getOrDefault(arg, Collections.emptyList());
+            final DslArg arg = args[slot];
+            if (forwardedValues.size() > 1 && !arg.isAllowMultipleValues())
+            {
+                context.reportError(ParseErrorCode.MULTIPLE_VALUES_NOT_ALLOWED, arg, groupName, forwardedValues.get(1));
+                return;
+            }
+
+            List<String> values = forwardedValues;
+            for (int i = 0; i < forwardedValues.size(); i++)
+            {
+                final String value = forwardedValues.get(i);
+                final String allowedValue = context.allowedValue(arg, value);
+                if (allowedValue == null)
+                {
+                    context.reportError(ParseErrorCode.VALUE_NOT_ALLOWED, arg, groupName, value);
+                    return;
+                }
+                if (!allowedValue.equals(value))
+                {
+                    if (values == forwardedValues)
+                    {
+                        values = new ArrayList<>(forwardedValues);
+                    }
+                    values.set(i, allowedValue);
+                }
+            }
+            valuesBySlot[slot] = values;
+        }
+
+        void useValues(final int slot, final List<String> values)
+        {
+            valuesBySlot[slot] = values;
+        }
+
+        /**
+         * Clear the values of every slot, keeping their lists to be filled again.
+         */
+        void reset()
+        {
+            for (final List<String> values : valuesBySlot)
+            {
+                if (values != null)
+                {
+                    values.clear();
+                }
+            }
+        }
+
+        boolean wasSupplied(final int slot)
+        {
+            final List<String> values = valuesBySlot[slot];
+            return values != null && !values.isEmpty();
+        }
+
+        SimpleDslParam collect(final int slot)
+        {
+            final SimpleDslArg arg = (SimpleDslArg) args[slot];
+            final List<String> values = valuesBySlot[slot] != null ? valuesBySlot[slot] : Collections.emptyList();
             final List<String> validatedValues = validateSimpleArg(arg, values);
-            return new SimpleDslParam(arg.getName(), validatedValues);
+            if (arg.isSplitLazily())
+            {
+                return new SimpleDslParam(arg, validatedValues, null);
+            }
+            // TODO: work out how we can avoid this cast :/
+            final Object typedValues = arg instanceof TypedArg ? TypedValues.convert((TypedArg<?>) arg, validatedValues, groupName, context) : null;
+            return new SimpleDslParam(arg, validatedValues, typedValues);
         }
 
-        private static boolean consumeSingleParam(final DslArg arg, final Deque<NameValuePair> args, final List<String> values)
+        private boolean consumeSingleParam(final DslArg arg, final Deque<NameValuePair> args, final List<String> values)
         {
             if (!args.isEmpty())
             {
@@ -206,15 +902,28 @@ public class DslParamsParser
             return false;
         }
 
+        /**
+         * Check whether values are kept as supplied, to be split, checked against the allowed values and converted
+         * only as they are read.
+         */
+        private static boolean isSplitLazily(final DslArg arg)
+        {
+            return arg instanceof SimpleDslArg && ((SimpleDslArg) arg).isSplitLazily();
+        }
+
         private static boolean matches(final DslArg arg, final NameValuePair value)
         {
             return (value != NameValuePair.NULL) &&
                     (value.name == null || arg.getName().equalsIgnoreCase(value.name));
         }
 
-        private static void addValue(final DslArg arg, final String value, final List<String> values)
+        private void addValue(final DslArg arg, final String value, final List<String> values)
         {
-            if (arg.isAllowMultipleValues())
+            if (isSplitLazily(arg))
+            {
+                values.add(value);
+            }
+            else if (arg.isAllowMultipleValues())
             {
                 final String[] vals = value.split(Pattern.quote(arg.getMultipleValueSeparator()));
                 for (final String singleValue : vals)
@@ -228,18 +937,56 @@ public class DslParamsParser
             }
         }
 
-        private static void addSingleValue(final DslArg arg, final String value, final List<String> values)
+        private void addSingleValue(final DslArg arg, final String value, final List<String> values)
         {
-            checkCanAddValue(arg, values);
-            values.add(checkValidValue(arg, value));
+            if (!arg.isAllowMultipleValues() && values.size() == 1)
+            {
+                context.reportError(ParseErrorCode.MULTIPLE_VALUES_NOT_ALLOWED, arg, groupName, value);
+                return;
+            }
+
+            final String allowedValue = context.allowedValue(arg, value);
+            if (allowedValue == null)
+            {
+                context.reportError(ParseErrorCode.VALUE_NOT_ALLOWED, arg, groupName, value);
+                return;
+            }
+
+            values.add(context.intern(allowedValue));
         }
 
-        private static void checkCanAddValue(final DslArg arg, final List<String> values)
+        private boolean tryAddValue(final DslArg arg, final String value, final List<String> values)
         {
-            if (!arg.isAllowMultipleValues() && values.size() == 1)
+            if (isSplitLazily(arg))
             {
-                throw new IllegalArgumentException("Multiple " + arg.getName() + " parameters are not allowed");
+                values.add(value);
+                return true;
             }
+            if (arg.isAllowMultipleValues())
+            {
+                final String[] vals = value.split(Pattern.quote(arg.getMultipleValueSeparator()));
+                for (final String singleValue : vals)
+                {
+                    if (!tryAddSingleValue(arg, singleValue.trim(), values))
+                    {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return tryAddSingleValue(arg, value, values);
+        }
+
+        private boolean tryAddSingleValue(final DslArg arg, final String value, final List<String> values)
+        {
+            final String allowedValue = context.allowedValue(arg, value);
+            if (allowedValue == null || !arg.isAllowMultipleValues() && values.size() == 1)
+            {
+                return false;
+            }
+
+            values.add(context.intern(allowedValue));
+            return true;
         }
 
         private List<String> validateSimpleArg(final SimpleDslArg arg, final List<String> values)
@@ -248,13 +995,17 @@ public class DslParamsParser
             {
                 if (arg.isRequired())
                 {
-                    throw new IllegalArgumentException(String.format(requiredParamMissingError, arg.getName()));
+                    context.reportError(groupName == null ? ParseErrorCode.MISSING_VALUE : ParseErrorCode.MISSING_GROUP_VALUE, arg, groupName, null);
+                    return Collections.emptyList();
+                }
+                else if (arg.getDefaultValue() != null)
+                {
+                    context.defaultApplied(arg);
+                    return Collections.singletonList(arg.getDefaultValue());
                 }
                 else
                 {
-                    return arg.getDefaultValue() == null
-                            ? Collections.emptyList()
-                            : Collections.singletonList(arg.getDefaultValue());
+                    return Collections.emptyList();
                 }
             }
             return values;
@@ -263,29 +1014,30 @@ public class DslParamsParser
 
     private static final class RepeatingGroupArgumentProcessor
     {
-        final Map<DslArg, List<RepeatingParamValues>> groupsByArg;
+        private final Map<DslArg, GroupLayout> layoutsByArg = new HashMap<>();
+        private final ParseContext context;
+        private int tableValueCount;
 
-        RepeatingGroupArgumentProcessor(final Map<DslArg, List<RepeatingParamValues>> groupsByArg)
+        RepeatingGroupArgumentProcessor(final ParseContext context)
         {
-            this.groupsByArg = groupsByArg;
+            this.context = context;
         }
 
         void consume(final RepeatingArgGroup groupArg, final Deque<NameValuePair> arguments)
         {
-            final Map<DslArg, List<String>> valuesByArg = new HashMap<>();
-            final SimpleArgumentProcessor processor = new SimpleArgumentProcessor(valuesByArg, "Did not supply a value for %s in group " + groupArg.getName());
-
-            processor.consume(groupArg.getIdentity(), arguments);
+            consumeRow(layoutOf(groupArg), arguments);
+        }
 
-            final Map<String, SimpleDslArg> argsByName = new HashMap<>();
-            argsByName.put(groupArg.getIdentity().getName(), groupArg.getIdentity());
-            for (SimpleDslArg dslArg : groupArg.getOtherArgs())
-            {
-                if (argsByName.put(dslArg.getName().toLowerCase(), dslArg) != null)
-                {
-                    throw new IllegalArgumentException("Duplicate parameter '" + dslArg.getName() + "' in group " + groupArg.getName());
-                }
-            }
+        /**
+         * Consume one row of a group, along with the rows of any groups nested within it, which end the row when they
+         * reach an argument that does not belong to them.
+         */
+        private void consumeRow(final GroupLayout layout, final Deque<NameValuePair> arguments)
+        {
+            final SimpleArgumentProcessor processor = layout.processor;
+            processor.reset();
+            processor.consume(0, arguments);
+            layout.reportDuplicates();
 
             while (!arguments.isEmpty())
             {
@@ -298,61 +1050,303 @@ public class DslParamsParser
 
                 if (argument.name == null)
                 {
-                    throw new IllegalArgumentException("Unexpected ambiguous argument " + argument.originalValue);
+                    context.reportError(ParseErrorCode.UNEXPECTED_AMBIGUOUS_ARGUMENT, null, null, argument.originalValue);
+                    arguments.pollFirst();
+                    continue;
                 }
 
-                final DslArg arg = argsByName.get(argument.name.toLowerCase());
-                if (arg == null)
+                final Integer slot = layout.slotsByName.get(argument.name.toLowerCase());
+                if (slot == null)
                 {
-                    break;
+                    final GroupLayout subGroupLayout = layout.subGroupLayout(argument.name);
+                    if (subGroupLayout == null)
+                    {
+                        break;
+                    }
+
+                    consumeRow(subGroupLayout, arguments);
+                    continue;
                 }
 
-                final List<String> argValues = valuesByArg.computeIfAbsent(arg, k -> new ArrayList<>());
+                final DslArg arg = layout.dslArgs[slot];
+                final List<String> argValues = processor.values(slot);
                 if (!argValues.isEmpty() && !arg.isAllowMultipleValues())
                 {
                     break;
                 }
 
-                SimpleArgumentProcessor.addValue(arg, argument.value, argValues);
+                processor.addValue(arg, argument.value, argValues);
                 arguments.pollFirst();
             }
 
-            // TODO: this whole thing here is a bit hacky!
-            final Map<String, List<String>> valuesByName = new HashMap<>();
-            for (final SimpleDslArg simpleDslArg : argsByName.values())
+            layout.addRow();
+        }
+
+        /**
+         * Add a row for each row of the table, matching its columns to the arguments of the group once rather than
+         * naming every value.
+         *
+         * @return the number of rows added.
+         */
+        int consumeTable(final RepeatingArgGroup groupArg, final GroupTable table)
+        {
+            final GroupLayout layout = layoutOf(groupArg);
+            final int[] slots = new int[table.getColumnCount()];
+            final String[] header = table.getHeader();
+            for (int column = 0; column < slots.length; column++)
             {
-                final SimpleDslParam param = processor.collect(simpleDslArg);
-                if (param.hasValue())
+                slots[column] = layout.slotOf(header[column]);
+                if (slots[column] < 0)
                 {
-                    valuesByName.put(param.getName().toLowerCase(), param.getValuesAsList());
+                    context.reportError(ParseErrorCode.UNEXPECTED_ARGUMENT, null, groupArg.getName(), header[column]);
                 }
             }
 
-            final DslArg[] dslArgs = new DslArg[groupArg.getOtherArgs().length + 1];
-            dslArgs[0] = groupArg.getIdentity();
-            System.arraycopy(groupArg.getOtherArgs(), 0, dslArgs, 1, groupArg.getOtherArgs().length);
-            groupsByArg.computeIfAbsent(groupArg, k -> new ArrayList<>()).add(new RepeatingParamValues(dslArgs, valuesByName));
+            final int firstRow = layout.rowCount();
+            tableValueCount = 0;
+            table.forEachRow(values -> consumeTableRow(layout, slots, values));
+            return layout.rowCount() - firstRow;
+        }
+
+        /**
+         * Get the number of values added by the last call to {@link #consumeTable}.
+         */
+        int getTableValueCount()
+        {
+            return tableValueCount;
+        }
+
+        private void consumeTableRow(final GroupLayout layout, final int[] slots, final String[] values)
+        {
+            final SimpleArgumentProcessor processor = layout.processor;
+            processor.reset();
+            for (int column = 0; column < values.length; column++)
+            {
+                final int slot = slots[column];
+                final String value = values[column];
+                if (slot >= 0 && value != null)
+                {
+                    processor.addValue(layout.dslArgs[slot], value, processor.values(slot));
+                    tableValueCount++;
+                }
+            }
+            layout.reportDuplicates();
+            layout.addRow();
+        }
+
+        private GroupLayout layoutOf(final RepeatingArgGroup groupArg)
+        {
+            GroupLayout layout = layoutsByArg.get(groupArg);
+            if (layout == null)
+            {
+                layout = new GroupLayout(groupArg, context);
+                layoutsByArg.put(groupArg, layout);
+            }
+            return layout;
         }
 
         RepeatingParamGroup collect(final RepeatingArgGroup arg)
         {
-            return new RepeatingParamGroup(arg.getName(), groupsByArg.getOrDefault(arg, Collections.emptyList()));
+            final GroupLayout layout = layoutsByArg.get(arg);
+            context.groupParsed(arg.getName(), layout != null ? layout.rowCount() : 0);
+            return layout != null ? layout.build() : new RepeatingParamGroup(arg.getName(), GroupLayout.argsOf(arg), Collections.emptyList());
         }
     }
 
-    private static String checkValidValue(final DslArg arg, final String value)
+    /**
+     * Everything about a {@link RepeatingArgGroup} that is the same for each of its rows, worked out when its first
+     * row is parsed, so that each further row costs no more than its values.
+     * <p>
+     * Each nested group has a layout of its own, holding its rows for every row of this group, and this layout records
+     * where each of its rows' nested rows start.
+     */
+    private static final class GroupLayout
     {
-        if (arg.getAllowedValues() != null)
+        private static final int INITIAL_ROW_CAPACITY = 16;
+
+        private final String groupName;
+        private final DslArg[] dslArgs;
+        private final Map<String, Integer> slotsByName = new HashMap<>();
+        private final boolean[] duplicates;
+        private final SimpleArgumentProcessor processor;
+        private final ParseContext context;
+        private final AccessCounts.SignatureUsage accessUsage;
+        private final SimpleDslParam[] unsuppliedParams;
+        private final List<RepeatingParamValues> rows;
+        private final PackedParamGroup.Builder packedRows;
+        private final GroupLayout[] subGroupLayouts;
+        private final NestedGroups nestedGroups;
+        private int[][] firstSubGroupRows;
+
+        GroupLayout(final RepeatingArgGroup groupArg, final ParseContext context)
+        {
+            this.groupName = groupArg.getName();
+            this.dslArgs = argsOf(groupArg);
+
+            this.duplicates = new boolean[dslArgs.length];
+            slotsByName.put(groupArg.getIdentity().getName(), 0);
+            for (int slot = 1; slot < dslArgs.length; slot++)
+            {
+                duplicates[slot] = slotsByName.putIfAbsent(dslArgs[slot].getName().toLowerCase(), slot) != null;
+            }
+
+            this.processor = new SimpleArgumentProcessor(dslArgs, groupName, context);
+            this.context = context;
+            this.accessUsage = context.isTrackingAccess() ? context.accessUsage(context.groupSignature(groupName), dslArgs) : null;
+            this.unsuppliedParams = new SimpleDslParam[dslArgs.length];
+
+            final RepeatingArgGroup[] subGroups = groupArg.getSubGroups();
+            this.subGroupLayouts = new GroupLayout[subGroups.length];
+            this.firstSubGroupRows = new int[subGroups.length][INITIAL_ROW_CAPACITY];
+            final String[] subGroupNames = new String[subGroups.length];
+            for (int i = 0; i < subGroups.length; i++)
+            {
+                subGroupLayouts[i] = new GroupLayout(subGroups[i], context);
+                subGroupNames[i] = subGroups[i].getName();
+            }
+            this.nestedGroups = subGroups.length != 0 ? new NestedGroups(subGroupNames) : NestedGroups.NONE;
+
+            this.rows = context.getGroupStorage() == null ? new ArrayList<>() : null;
+            this.packedRows = context.getGroupStorage() != null ? new PackedParamGroup.Builder(context.getGroupStorage(), dslArgs, nestedGroups) : null;
+        }
+
+        static DslArg[] argsOf(final RepeatingArgGroup groupArg)
+        {
+            final SimpleDslArg[] otherArgs = groupArg.getOtherArgs();
+            final DslArg[] dslArgs = new DslArg[otherArgs.length + 1];
+            dslArgs[0] = groupArg.getIdentity();
+            System.arraycopy(otherArgs, 0, dslArgs, 1, otherArgs.length);
+            return dslArgs;
+        }
+
+        GroupLayout subGroupLayout(final String name)
+        {
+            for (final GroupLayout subGroupLayout : subGroupLayouts)
+            {
+                if (subGroupLayout.groupName.equalsIgnoreCase(name))
+                {
+                    return subGroupLayout;
+                }
+            }
+            return null;
+        }
+
+        int slotOf(final String name)
+        {
+            if (dslArgs[0].getName().equalsIgnoreCase(name))
+            {
+                return 0;
+            }
+            final Integer slot = slotsByName.get(name.toLowerCase());
+            return slot != null ? slot : -1;
+        }
+
+        void reportDuplicates()
+        {
+            for (int slot = 1; slot < dslArgs.length; slot++)
+            {
+                if (duplicates[slot])
+                {
+                    context.reportError(ParseErrorCode.DUPLICATE_PARAMETER, dslArgs[slot], groupName, null);
+                }
+            }
+        }
+
+        void addRow()
+        {
+            final int row = rowCount();
+            if (subGroupLayouts.length != 0)
+            {
+                recordSubGroupRows(row + 1);
+            }
+
+            final SimpleDslParam[] params = new SimpleDslParam[dslArgs.length];
+            for (int slot = 0; slot < dslArgs.length; slot++)
+            {
+                if (duplicates[slot])
+                {
+                    params[slot] = new SimpleDslParam(dslArgs[slot].getName(), Collections.emptyList());
+                }
+                else
+                {
+                    params[slot] = processor.wasSupplied(slot) || dslArgs[slot].isRequired() ? processor.collect(slot) : unsuppliedParam(slot);
+                }
+            }
+
+            if (packedRows != null)
+            {
+                packedRows.appendRow(params);
+                return;
+            }
+
+            AccessRecorder accessRecorder = null;
+            if (accessUsage != null)
+            {
+                final boolean[] supplied = new boolean[dslArgs.length];
+                for (int slot = 0; slot < dslArgs.length; slot++)
+                {
+                    supplied[slot] = processor.wasSupplied(slot);
+                }
+                accessRecorder = new AccessRecorder(accessUsage, supplied);
+            }
+            rows.add(new RepeatingParamValues(dslArgs, params, accessRecorder, nestedGroups, row));
+        }
+
+        /**
+         * Record that the nested rows parsed so far end before the given row of this group.
+         */
+        private void recordSubGroupRows(final int row)
+        {
+            if (row == firstSubGroupRows[0].length)
+            {
+                for (int i = 0; i < firstSubGroupRows.length; i++)
+                {
+                    firstSubGroupRows[i] = Arrays.copyOf(firstSubGroupRows[i], row * 2);
+                }
+            }
+
+            for (int i = 0; i < subGroupLayouts.length; i++)
+            {
+                firstSubGroupRows[i][row] = subGroupLayouts[i].rowCount();
+            }
+        }
+
+        /**
+         * Share a single parameter between every row that does not supply an optional argument, since they all have
+         * the same value.
+         */
+        private SimpleDslParam unsuppliedParam(final int slot)
+        {
+            if (unsuppliedParams[slot] == null)
+            {
+                unsuppliedParams[slot] = processor.collect(slot);
+            }
+            else if (dslArgs[slot].getDefaultValue() != null)
+            {
+                context.defaultApplied(dslArgs[slot]);
+            }
+            return unsuppliedParams[slot];
+        }
+
+        int rowCount()
+        {
+            return packedRows != null ? packedRows.rowCount() : rows.size();
+        }
+
+        RepeatingParamGroup build()
         {
-            for (final String allowedValue : arg.getAllowedValues())
+            if (subGroupLayouts.length != 0)
             {
-                if (allowedValue.equalsIgnoreCase(value))
+                final RepeatingParamGroup[] subGroups = new RepeatingParamGroup[subGroupLayouts.length];
+                for (int i = 0; i < subGroupLayouts.length; i++)
                 {
-                    return allowedValue;
+                    context.groupParsed(subGroupLayouts[i].groupName, subGroupLayouts[i].rowCount());
+                    subGroups[i] = subGroupLayouts[i].build();
+                    firstSubGroupRows[i] = Arrays.copyOf(firstSubGroupRows[i], rowCount() + 1);
                 }
+                nestedGroups.complete(subGroups, firstSubGroupRows);
             }
-            throw new IllegalArgumentException(arg.getName() + " parameter value '" + value + "' must be one of: " + Arrays.toString(arg.getAllowedValues()));
+            return packedRows != null ? packedRows.build(groupName) : new RepeatingParamGroup(groupName, dslArgs, rows);
         }
-        return value;
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.ParseErrorCode;
+
+/**
+ * Emits Java Flight Recorder events for schema compilation, parsing, repeating group consumption, validation failures
+ * and expensive value conversions.
+ * <p>
+ * This is the Java 8 version of this class, where every method does nothing. On Java 11 and later the multi-release
+ * JAR supplies a version that emits events named {@code com.lmax.simpledsl.*}. The events are disabled by default and
+ * can be enabled in a recording's settings, for example:
+ *
+ * <pre>{@code
+ *   recording.enable("com.lmax.simpledsl.Parse");
+ * }</pre>
+ * <p>
+ * Each {@code begin} method returns {@literal null} while its event is disabled, which the matching {@code end}
+ * method ignores.
+ */
+public final class FlightRecorderEvents
+{
+    private FlightRecorderEvents()
+    {
+    }
+
+    /**
+     * Check whether any event that reports a schema name is enabled.
+     *
+     * @return {@literal true} if the schema name of each parse should be calculated.
+     */
+    public static boolean isSchemaNameRequired()
+    {
+        return false;
+    }
+
+    /**
+     * Start timing the creation of a schema.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginSchemaCompile()
+    {
+        return null;
+    }
+
+    /**
+     * Finish timing the creation of a schema.
+     *
+     * @param event         the event returned by {@link #beginSchemaCompile()}.
+     * @param schemaName    the name of the schema.
+     * @param argumentCount the number of {@link com.lmax.simpledsl.api.DslArg DslArgs} in the schema.
+     */
+    public static void endSchemaCompile(final Object event, final String schemaName, final int argumentCount)
+    {
+    }
+
+    /**
+     * Start timing a parse.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginParse()
+    {
+        return null;
+    }
+
+    /**
+     * Finish timing a parse.
+     *
+     * @param event         the event returned by {@link #beginParse()}.
+     * @param schemaName    the name of the schema parsed against.
+     * @param argumentCount the number of values supplied.
+     * @param success       {@literal true} if the values were valid.
+     */
+    public static void endParse(final Object event, final String schemaName, final int argumentCount, final boolean success)
+    {
+    }
+
+    /**
+     * Start timing the consumption of the rows of a repeating group, either a single row supplied as arguments, along
+     * with the rows of any groups nested within it, or every row of a {@link com.lmax.simpledsl.api.GroupTable}.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginGroupConsume()
+    {
+        return null;
+    }
+
+    /**
+     * Finish timing the consumption of the rows of a repeating group.
+     *
+     * @param event         the event returned by {@link #beginGroupConsume()}.
+     * @param schemaName    the name of the schema parsed against.
+     * @param groupName     the name of the group.
+     * @param argumentCount the number of values consumed.
+     * @param rowCount      the number of rows of the group added.
+     */
+    public static void endGroupConsume(final Object event, final String schemaName, final String groupName, final int argumentCount, final int rowCount)
+    {
+    }
+
+    /**
+     * Record a validation failure.
+     *
+     * @param schemaName the name of the schema parsed against.
+     * @param code       the kind of failure.
+     * @param paramName  the name of the parameter at fault, or {@literal null} if the failure is not specific to one parameter.
+     */
+    public static void validationFailure(final String schemaName, final ParseErrorCode code, final String paramName)
+    {
+    }
+
+    /**
+     * Start timing the conversion of a parameter's values.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginConversion()
+    {
+        return null;
+    }
+
+    /**
+     * Finish timing the conversion of a parameter's values.
+     *
+     * @param event      the event returned by {@link #beginConversion()}.
+     * @param paramName  the name of the parameter.
+     * @param targetType the type the values were converted to.
+     * @param valueCount the number of values converted.
+     */
+    public static void endConversion(final Object event, final String paramName, final Class<?> targetType, final int valueCount)
+    {
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.IntArg;
+import com.lmax.simpledsl.api.LongArg;
+import com.lmax.simpledsl.api.ParseError;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.SimpleDslArg;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Splits the values of a {@link SimpleDslArg#setSplitLazily() lazily split} argument as they are read.
+ * <p>
+ * The supplied values are scanned for the argument's separator one value at a time, giving the same values as splitting
+ * them when parsing would: each value is trimmed and trailing empty values are dropped. Values are checked against the
+ * argument's allowed values and, when converted to numbers, its bounds, as they are read. Unless a value has to be
+ * replaced by its allowed value, the text iterator returns views of the supplied values rather than copies, and the
+ * numeric iterators parse values in place.
+ */
+final class LazyValues
+{
+    private static final int RADIX = 10;
+
+    private LazyValues()
+    {
+    }
+
+    static List<String> split(final SimpleDslArg arg, final String[] suppliedValues)
+    {
+        final List<String> values = new ArrayList<>();
+        final ValueIterator iterator = new ValueIterator(arg, suppliedValues);
+        while (iterator.hasNext())
+        {
+            values.add(iterator.next().toString());
+        }
+        return values;
+    }
+
+    static Iterator<CharSequence> iterator(final SimpleDslArg arg, final String[] suppliedValues)
+    {
+        return new ValueIterator(arg, suppliedValues);
+    }
+
+    static PrimitiveIterator.OfLong longIterator(final SimpleDslArg arg, final String[] suppliedValues)
+    {
+        final ValueIterator values = new ValueIterator(arg, suppliedValues);
+        final long min = minOf(arg, Long.MIN_VALUE);
+        final long max = maxOf(arg, Long.MAX_VALUE);
+        return new PrimitiveIterator.OfLong()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return values.hasNext();
+            }
+
+            @Override
+            public long nextLong()
+            {
+                return values.nextLong(Long.MIN_VALUE, Long.MAX_VALUE, min, max);
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfInt intIterator(final SimpleDslArg arg, final String[] suppliedValues)
+    {
+        final ValueIterator values = new ValueIterator(arg, suppliedValues);
+        final long min = minOf(arg, Integer.MIN_VALUE);
+        final long max = maxOf(arg, Integer.MAX_VALUE);
+        return new PrimitiveIterator.OfInt()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return values.hasNext();
+            }
+
+            @Override
+            public int nextInt()
+            {
+                return (int) values.nextLong(Integer.MIN_VALUE, Integer.MAX_VALUE, min, max);
+            }
+        };
+    }
+
+    static PrimitiveIterator.OfDouble doubleIterator(final SimpleDslArg arg, final String[] suppliedValues)
+    {
+        final ValueIterator values = new ValueIterator(arg, suppliedValues);
+        return new PrimitiveIterator.OfDouble()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return values.hasNext();
+            }
+
+            @Override
+            public double nextDouble()
+            {
+                return Double.parseDouble(values.next().toString());
+            }
+        };
+    }
+
+    private static long minOf(final SimpleDslArg arg, final long defaultMin)
+    {
+        if (arg instanceof IntArg && ((IntArg) arg).getMin() != null)
+        {
+            return Math.max(defaultMin, ((IntArg) arg).getMin());
+        }
+        return arg instanceof LongArg && ((LongArg) arg).getMin() != null ? Math.max(defaultMin, ((LongArg) arg).getMin()) : defaultMin;
+    }
+
+    private static long maxOf(final SimpleDslArg arg, final long defaultMax)
+    {
+        if (arg instanceof IntArg && ((IntArg) arg).getMax() != null)
+        {
+            return Math.min(defaultMax, ((IntArg) arg).getMax());
+        }
+        return arg instanceof LongArg && ((LongArg) arg).getMax() != null ? Math.min(defaultMax, ((LongArg) arg).getMax()) : defaultMax;
+    }
+
+    private static final class ValueIterator implements Iterator<CharSequence>
+    {
+        private final SimpleDslArg arg;
+        private final String[] suppliedValues;
+        private final String separator;
+        private final boolean restricted;
+        private int index = -1;
+        private int position;
+        private int end;
+        private int valueStart;
+        private int valueEnd;
+
+        ValueIterator(final SimpleDslArg arg, final String[] suppliedValues)
+        {
+            this.arg = arg;
+            this.suppliedValues = suppliedValues;
+            this.separator = arg.getMultipleValueSeparator();
+            this.restricted = arg.getAllowedValues() != null;
+            nextSuppliedValue();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < suppliedValues.length;
+        }
+
+        @Override
+        public CharSequence next()
+        {
+            final String suppliedValue = advance();
+            return restricted ? allowedValue(suppliedValue) : new Region(suppliedValue, valueStart, valueEnd);
+        }
+
+        long nextLong(final long typeMin, final long typeMax, final long min, final long max)
+        {
+            final String suppliedValue = advance();
+            final long value;
+            if (restricted)
+            {
+                final String allowedValue = allowedValue(suppliedValue);
+                value = parseLong(allowedValue, 0, allowedValue.length());
+            }
+            else
+            {
+                value = parseLong(suppliedValue, valueStart, valueEnd);
+            }
+
+            if (value < typeMin || value > typeMax)
+            {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            if (value < min || value > max)
+            {
+                throw error(ParseErrorCode.VALUE_OUT_OF_RANGE, String.valueOf(value));
+            }
+            return value;
+        }
+
+        /**
+         * Find the bounds of the next value, returning the supplied value it is part of.
+         */
+        private String advance()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            final String suppliedValue = suppliedValues[index];
+            final int separatorIndex = suppliedValue.indexOf(separator, position);
+            final int elementEnd = separatorIndex >= 0 && separatorIndex < end ? separatorIndex : end;
+
+            valueStart = position;
+            valueEnd = elementEnd;
+            while (valueStart < valueEnd && suppliedValue.charAt(valueStart) <= ' ')
+            {
+                valueStart++;
+            }
+            while (valueEnd > valueStart && suppliedValue.charAt(valueEnd - 1) <= ' ')
+            {
+                valueEnd--;
+            }
+
+            if (elementEnd == end)
+            {
+                nextSuppliedValue();
+            }
+            else
+            {
+                position = elementEnd + separator.length();
+            }
+            return suppliedValue;
+        }
+
+        /**
+         * Move on to the next supplied value with any values in it, ignoring the trailing empty values that splitting
+         * would drop.
+         */
+        private void nextSuppliedValue()
+        {
+            while (++index < suppliedValues.length)
+            {
+                final int valuesEnd = valuesEnd(suppliedValues[index]);
+                if (valuesEnd >= 0)
+                {
+                    position = 0;
+                    end = valuesEnd;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Find the end of the last value {@link String#split(String) splitting} would keep, or -1 if it would keep
+         * none.
+         * <p>
+         * Separators are matched from the start, so a value that ends with the separator is scanned in full to find
+         * where the last non-empty value ends: {@code "1:::"} split on {@code "::"} keeps {@code ":"}, as the separator
+         * it ends with overlaps the one matched first.
+         */
+        private int valuesEnd(final String suppliedValue)
+        {
+            if (!suppliedValue.endsWith(separator))
+            {
+                return suppliedValue.length();
+            }
+
+            int valuesEnd = -1;
+            int valueStart = 0;
+            int separatorIndex = suppliedValue.indexOf(separator);
+            while (separatorIndex >= 0)
+            {
+                if (separatorIndex > valueStart)
+                {
+                    valuesEnd = separatorIndex;
+                }
+                valueStart = separatorIndex + separator.length();
+                separatorIndex = suppliedValue.indexOf(separator, valueStart);
+            }
+            return valueStart < suppliedValue.length() ? suppliedValue.length() : valuesEnd;
+        }
+
+        private String allowedValue(final String suppliedValue)
+        {
+            final String value = suppliedValue.substring(valueStart, valueEnd);
+            final String allowedValue = arg.findAllowedValue(value);
+            if (allowedValue == null)
+            {
+                throw error(ParseErrorCode.VALUE_NOT_ALLOWED, value);
+            }
+            return allowedValue;
+        }
+
+        private IllegalArgumentException error(final ParseErrorCode code, final String value)
+        {
+            return new IllegalArgumentException(new ParseError(code, arg, null, value).getMessage());
+        }
+    }
+
+    /**
+     * Parse a region of a {@link String} in the same way as {@link Long#parseLong(String)}, without copying it.
+     */
+    private static long parseLong(final String text, final int start, final int end)
+    {
+        int index = start;
+        final boolean negative = index < end && text.charAt(index) == '-';
+        if (index < end && (negative || text.charAt(index) == '+'))
+        {
+            index++;
+        }
+        if (index == end)
+        {
+            throw new NumberFormatException("For input string: \"" + text.substring(start, end) + "\"");
+        }
+
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplicationLimit = limit / RADIX;
+        long result = 0;
+        for (; index < end; index++)
+        {
+            final int digit = Character.digit(text.charAt(index), RADIX);
+            if (digit < 0 || result < multiplicationLimit || result * RADIX < limit + digit)
+            {
+                throw new NumberFormatException("For input string: \"" + text.substring(start, end) + "\"");
+            }
+            result = result * RADIX - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * A view of part of a supplied value.
+     */
+    private static final class Region implements CharSequence
+    {
+        private final String text;
+        private final int start;
+        private final int end;
+
+        Region(final String text, final int start, final int end)
+        {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length()
+        {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(final int index)
+        {
+            if (index < 0 || index >= length())
+            {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + length());
+            }
+            return text.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int from, final int to)
+        {
+            if (from < 0 || to > length() || from > to)
+            {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds for length " + length());
+            }
+            return new Region(text, start + from, start + to);
+        }
+
+        @Override
+        public String toString()
+        {
+            return text.substring(start, end);
+        }
+    }
+}
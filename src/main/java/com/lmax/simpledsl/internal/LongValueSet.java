@@ -0,0 +1,82 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+/**
+ * An immutable open addressing hash set of primitive {@code long} values, used to check whether a number is among the
+ * values of a parameter without boxing.
+ * <p>
+ * Empty slots hold zero, so whether zero is a member is held separately.
+ */
+final class LongValueSet
+{
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int HASH_SHIFT = 32;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private final long[] slots;
+    private final int mask;
+    private final boolean containsZero;
+
+    LongValueSet(final long[] values)
+    {
+        this.slots = new long[capacityFor(values.length)];
+        this.mask = slots.length - 1;
+
+        boolean zero = false;
+        for (final long value : values)
+        {
+            if (value == 0)
+            {
+                zero = true;
+            }
+            else
+            {
+                slots[find(value)] = value;
+            }
+        }
+        this.containsZero = zero;
+    }
+
+    boolean contains(final long value)
+    {
+        return value == 0 ? containsZero : slots[find(value)] == value;
+    }
+
+    /**
+     * Get the size of table that keeps at least half its slots empty for the given number of values.
+     */
+    static int capacityFor(final int count)
+    {
+        if (count >= MAXIMUM_CAPACITY / 2)
+        {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(Math.max(1, count * 2 - 1)) << 1);
+    }
+
+    private int find(final long value)
+    {
+        final long hash = value * HASH_MULTIPLIER;
+        int index = (int) (hash ^ (hash >>> HASH_SHIFT)) & mask;
+        while (slots[index] != 0 && slots[index] != value)
+        {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+}
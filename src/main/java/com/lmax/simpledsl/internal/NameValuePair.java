@@ -19,8 +19,6 @@ class NameValuePair
 {
     static final NameValuePair NULL = new NameValuePair(null, null, null);
 
-    private static final String SPLIT_NAME_VALUE_REGEX = "[=:]";
-
     public final String originalValue;
     public final String name;
     public final String value;
@@ -40,10 +38,23 @@ class NameValuePair
         }
         else
         {
-            final String[] splitArg = (argString + " ").split(SPLIT_NAME_VALUE_REGEX, 2);
-            return splitArg.length == 2
-                    ? new NameValuePair(argString, splitArg[0].trim(), splitArg[1].trim())
+            final int separator = indexOfSeparator(argString);
+            return separator >= 0
+                    ? new NameValuePair(argString, argString.substring(0, separator).trim(), argString.substring(separator + 1).trim())
                     : new NameValuePair(argString, null, argString.trim());
         }
     }
+
+    private static int indexOfSeparator(final String argString)
+    {
+        for (int i = 0; i < argString.length(); i++)
+        {
+            final char c = argString.charAt(i);
+            if (c == '=' || c == ':')
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.RepeatingGroup;
+
+import java.util.Spliterator;
+
+/**
+ * The rows of the groups nested within a repeating group, for every row of the enclosing group.
+ * <p>
+ * The rows of each nested group are held in a single flat {@link RepeatingParamGroup}, in the order they were parsed,
+ * together with the index of the first nested row belonging to each enclosing row. The rows of one enclosing row are
+ * then a contiguous range found with two array reads, and the memory used grows with the total number of rows rather
+ * than with a group object per enclosing row.
+ * <p>
+ * Rows refer to their {@link NestedGroups} before the nested groups have finished parsing, so the groups are only
+ * {@link #complete completed} when the enclosing group is built, before any row can be read.
+ */
+final class NestedGroups
+{
+    static final NestedGroups NONE = new NestedGroups(new String[0]);
+
+    private final String[] names;
+    private RepeatingParamGroup[] groups;
+    private int[][] firstRows;
+
+    NestedGroups(final String[] names)
+    {
+        this.names = names;
+    }
+
+    void complete(final RepeatingParamGroup[] groups, final int[][] firstRows)
+    {
+        this.groups = groups;
+        this.firstRows = firstRows;
+    }
+
+    RepeatingGroup[] rows(final String groupName, final int row)
+    {
+        final int index = indexOf(groupName);
+        return groups[index].rows(firstRows[index][row], firstRows[index][row + 1]);
+    }
+
+    Spliterator<RepeatingGroup> spliterator(final String groupName, final int row)
+    {
+        final int index = indexOf(groupName);
+        return groups[index].spliterator(firstRows[index][row], firstRows[index][row + 1]);
+    }
+
+    private int indexOf(final String groupName)
+    {
+        for (int index = 0; index < names.length; index++)
+        {
+            if (names[index].equalsIgnoreCase(groupName))
+            {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException(groupName + " is not a nested repeating group");
+    }
+}
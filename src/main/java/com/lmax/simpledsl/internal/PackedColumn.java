@@ -0,0 +1,246 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The values of one argument of a packed repeating group, held in direct buffers allocated from a
+ * {@link BufferArena}.
+ * <p>
+ * Columns start out dictionary encoded, storing a one byte code for each value and each distinct value once in a
+ * dictionary shared by every row, which is seeded with the argument's allowed values. A column that sees more
+ * distinct values than a dictionary can hold switches to storing values back to back as UTF-8, with the offset at
+ * which each value ends in another buffer. Either way the number of values at the end of each row is kept, so a row's
+ * values can be found without scanning.
+ * <p>
+ * Values are appended by a single parsing thread and afterwards only read, using absolute positions so that any number
+ * of threads may read them.
+ */
+final class PackedColumn
+{
+    private static final int MAXIMUM_DICTIONARY_SIZE = 256;
+    private static final int CODE_MASK = 0xFF;
+    private static final int INITIAL_BYTES = 256;
+    private static final int INITIAL_ENTRIES = 64;
+
+    private final BufferArena storage;
+    private String[] dictionary;
+    private Map<String, Integer> codesByValue;
+    private ByteBuffer codes;
+    private ByteBuffer bytes;
+    private ByteBuffer valueEnds;
+    private ByteBuffer rowEnds;
+    private int byteCount;
+    private int valueCount;
+    private int rowCount;
+
+    PackedColumn(final BufferArena storage, final String[] allowedValues)
+    {
+        this.storage = storage;
+        this.dictionary = new String[0];
+        this.codesByValue = new HashMap<>();
+        this.codes = storage.allocate(INITIAL_ENTRIES);
+        this.rowEnds = storage.allocate(INITIAL_ENTRIES * Integer.BYTES);
+        if (allowedValues != null && allowedValues.length <= MAXIMUM_DICTIONARY_SIZE)
+        {
+            for (final String allowedValue : allowedValues)
+            {
+                codeFor(allowedValue);
+            }
+        }
+    }
+
+    void appendRow(final List<String> values)
+    {
+        for (final String value : values)
+        {
+            if (isDictionaryEncoded())
+            {
+                final int code = codeFor(value);
+                if (code >= 0)
+                {
+                    codes = ensureCapacity(codes, valueCount, valueCount + 1);
+                    codes.put(valueCount, (byte) code);
+                    valueCount++;
+                    continue;
+                }
+                switchToBytes();
+            }
+            appendBytes(value);
+        }
+
+        rowEnds = ensureCapacity(rowEnds, rowCount * Integer.BYTES, (rowCount + 1) * Integer.BYTES);
+        rowEnds.putInt(rowCount * Integer.BYTES, valueCount);
+        rowCount++;
+    }
+
+    /**
+     * Release what is only needed while values are being appended.
+     */
+    void finish()
+    {
+        codesByValue = null;
+    }
+
+    boolean isDictionaryEncoded()
+    {
+        return codes != null;
+    }
+
+    int valueCount(final int row)
+    {
+        storage.checkOpen();
+        return rowEnds.getInt(row * Integer.BYTES) - firstValue(row);
+    }
+
+    List<String> values(final int row)
+    {
+        final int count = valueCount(row);
+        if (count == 0)
+        {
+            return Collections.emptyList();
+        }
+
+        final int first = firstValue(row);
+        final String[] values = new String[count];
+        for (int i = 0; i < count; i++)
+        {
+            values[i] = decode(first + i);
+        }
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Get the first value of a row, without allocating if the column is dictionary encoded.
+     */
+    String firstValueOf(final int row)
+    {
+        return valueCount(row) != 0 ? decode(firstValue(row)) : null;
+    }
+
+    /**
+     * Get the dictionary code of the first value of a row, or -1 if the row has no value or the column is not
+     * dictionary encoded.
+     */
+    int firstCodeOf(final int row)
+    {
+        return isDictionaryEncoded() && valueCount(row) != 0 ? codes.get(firstValue(row)) & CODE_MASK : -1;
+    }
+
+    String valueForCode(final int code)
+    {
+        storage.checkOpen();
+        if (!isDictionaryEncoded() || code < 0 || code >= dictionary.length)
+        {
+            throw new IllegalArgumentException("No value has the code " + code);
+        }
+        return dictionary[code];
+    }
+
+    private int firstValue(final int row)
+    {
+        return row == 0 ? 0 : rowEnds.getInt((row - 1) * Integer.BYTES);
+    }
+
+    private int codeFor(final String value)
+    {
+        final Integer code = codesByValue.get(value);
+        if (code != null)
+        {
+            return code;
+        }
+        if (dictionary.length == MAXIMUM_DICTIONARY_SIZE)
+        {
+            return -1;
+        }
+
+        dictionary = Arrays.copyOf(dictionary, dictionary.length + 1);
+        dictionary[dictionary.length - 1] = value;
+        codesByValue.put(value, dictionary.length - 1);
+        return dictionary.length - 1;
+    }
+
+    private void switchToBytes()
+    {
+        final ByteBuffer dictionaryCodes = codes;
+        final int codedValues = valueCount;
+        bytes = storage.allocate(INITIAL_BYTES);
+        valueEnds = storage.allocate(Math.max(INITIAL_ENTRIES, codedValues + 1) * Integer.BYTES);
+        codes = null;
+        valueCount = 0;
+        for (int value = 0; value < codedValues; value++)
+        {
+            appendBytes(dictionary[dictionaryCodes.get(value) & CODE_MASK]);
+        }
+
+        storage.free(dictionaryCodes);
+        dictionary = null;
+        codesByValue = null;
+    }
+
+    private void appendBytes(final String value)
+    {
+        final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        bytes = ensureCapacity(bytes, byteCount, byteCount + encoded.length);
+        bytes.position(byteCount);
+        bytes.put(encoded);
+        byteCount += encoded.length;
+
+        valueEnds = ensureCapacity(valueEnds, valueCount * Integer.BYTES, (valueCount + 1) * Integer.BYTES);
+        valueEnds.putInt(valueCount * Integer.BYTES, byteCount);
+        valueCount++;
+    }
+
+    private String decode(final int value)
+    {
+        if (isDictionaryEncoded())
+        {
+            return dictionary[codes.get(value) & CODE_MASK];
+        }
+
+        final int start = value == 0 ? 0 : valueEnds.getInt((value - 1) * Integer.BYTES);
+        final byte[] encoded = new byte[valueEnds.getInt(value * Integer.BYTES) - start];
+        for (int i = 0; i < encoded.length; i++)
+        {
+            encoded[i] = bytes.get(start + i);
+        }
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer ensureCapacity(final ByteBuffer buffer, final int used, final int required)
+    {
+        if (required <= buffer.capacity())
+        {
+            return buffer;
+        }
+
+        final ByteBuffer grown = storage.allocate((int) Math.min(Integer.MAX_VALUE, Math.max(2L * buffer.capacity(), required)));
+        final ByteBuffer contents = buffer.duplicate();
+        contents.clear().limit(used);
+        grown.put(contents);
+        storage.free(buffer);
+        return grown;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.RepeatingGroup;
+import com.lmax.simpledsl.api.SimpleDslArg;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+/**
+ * A repeating group whose values are packed into one {@link PackedColumn} per argument, rather than held by one
+ * {@link RepeatingParamValues} per row.
+ * <p>
+ * Rows are read through {@link PackedRow} views, created when they are asked for, which decode values on each access
+ * and expose the codes of dictionary encoded columns.
+ * Reads are not recorded by an {@link com.lmax.simpledsl.api.AccessTracker}.
+ */
+final class PackedParamGroup extends RepeatingParamGroup
+{
+    private final PackedColumn[] columns;
+    private final int rowCount;
+    private final NestedGroups nestedGroups;
+
+    private PackedParamGroup(
+            final String name,
+            final DslArg[] dslArgs,
+            final PackedColumn[] columns,
+            final int rowCount,
+            final NestedGroups nestedGroups)
+    {
+        super(name, dslArgs, new RepeatingParamValues[0]);
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.nestedGroups = nestedGroups;
+    }
+
+    @Override
+    RepeatingGroup[] rows(final int fromRow, final int toRow)
+    {
+        final RepeatingGroup[] rows = new RepeatingGroup[toRow - fromRow];
+        for (int row = fromRow; row < toRow; row++)
+        {
+            rows[row - fromRow] = row(row);
+        }
+        return rows;
+    }
+
+    @Override
+    Spliterator<RepeatingGroup> spliterator(final int fromRow, final int toRow)
+    {
+        return IntStream.range(fromRow, toRow).<RepeatingGroup>mapToObj(this::row).spliterator();
+    }
+
+    @Override
+    int rowCount()
+    {
+        return rowCount;
+    }
+
+    @Override
+    RepeatingGroup row(final int row)
+    {
+        return new PackedRow(this, row);
+    }
+
+    @Override
+    List<String> rowValues(final int row, final int slot)
+    {
+        final SimpleDslArg lazilySplitArg = lazilySplitArgAt(slot);
+        return lazilySplitArg != null ? LazyValues.split(lazilySplitArg, suppliedValues(row, slot).toArray(new String[0])) : suppliedValues(row, slot);
+    }
+
+    /**
+     * Get the values of a row as they were supplied, which have not been split if the argument is split lazily.
+     */
+    List<String> suppliedValues(final int row, final int slot)
+    {
+        return columns[slot].values(row);
+    }
+
+    SimpleDslArg lazilySplitArgAt(final int slot)
+    {
+        final DslArg arg = argAt(slot);
+        return arg instanceof SimpleDslArg && ((SimpleDslArg) arg).isSplitLazily() ? (SimpleDslArg) arg : null;
+    }
+
+    @Override
+    void rowRead(final int row, final int slot)
+    {
+    }
+
+    int valueCount(final int row, final int slot)
+    {
+        return columns[slot].valueCount(row);
+    }
+
+    PackedColumn columnAt(final int slot)
+    {
+        return columns[slot];
+    }
+
+    NestedGroups getNestedGroups()
+    {
+        return nestedGroups;
+    }
+
+    /**
+     * Packs the rows of a repeating group as they are parsed.
+     */
+    static final class Builder
+    {
+        private final DslArg[] dslArgs;
+        private final PackedColumn[] columns;
+        private final NestedGroups nestedGroups;
+        private int rowCount;
+
+        Builder(final BufferArena storage, final DslArg[] dslArgs, final NestedGroups nestedGroups)
+        {
+            this.dslArgs = dslArgs;
+            this.nestedGroups = nestedGroups;
+            this.columns = new PackedColumn[dslArgs.length];
+            for (int slot = 0; slot < dslArgs.length; slot++)
+            {
+                columns[slot] = new PackedColumn(storage, dslArgs[slot].getAllowedValues());
+            }
+        }
+
+        void appendRow(final SimpleDslParam[] params)
+        {
+            for (int slot = 0; slot < columns.length; slot++)
+            {
+                columns[slot].appendRow(Arrays.asList(params[slot].getSuppliedValues()));
+            }
+            rowCount++;
+        }
+
+        int rowCount()
+        {
+            return rowCount;
+        }
+
+        PackedParamGroup build(final String name)
+        {
+            for (final PackedColumn column : columns)
+            {
+                column.finish();
+            }
+            return new PackedParamGroup(name, dslArgs, columns, rowCount, nestedGroups);
+        }
+    }
+}
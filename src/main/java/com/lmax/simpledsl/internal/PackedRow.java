@@ -0,0 +1,173 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.RepeatingGroup;
+import com.lmax.simpledsl.api.SimpleDslArg;
+import com.lmax.simpledsl.api.TypedArg;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A view of one row of a {@link PackedParamGroup}, decoding its values each time they are read.
+ */
+final class PackedRow extends AbstractDslValues implements RepeatingGroup
+{
+    private static final String[] NO_VALUES = new String[0];
+
+    private final PackedParamGroup group;
+    private final int row;
+
+    PackedRow(final PackedParamGroup group, final int row)
+    {
+        this.group = group;
+        this.row = row;
+    }
+
+    @Override
+    public boolean hasValue(final String name)
+    {
+        final int slot = group.slotOf(name);
+        return slot >= 0 && group.valueCount(row, slot) != 0;
+    }
+
+    @Override
+    public boolean hasParam(final String name)
+    {
+        return group.slotOf(name) >= 0;
+    }
+
+    @Override
+    public String value(final String name)
+    {
+        final int slot = group.slotOf(name);
+        if (slot >= 0 && group.lazilySplitArgAt(slot) != null)
+        {
+            final List<String> values = group.rowValues(row, slot);
+            return values.isEmpty() ? null : values.get(0);
+        }
+        return slot >= 0 ? group.columnAt(slot).firstValueOf(row) : null;
+    }
+
+    @Override
+    public int valueCode(final String name)
+    {
+        final int slot = group.slotOf(name);
+        return slot >= 0 && group.lazilySplitArgAt(slot) == null ? group.columnAt(slot).firstCodeOf(row) : -1;
+    }
+
+    @Override
+    public String valueForCode(final String name, final int code)
+    {
+        final int slot = group.slotOf(name);
+        if (slot < 0)
+        {
+            throw new IllegalArgumentException(name + " is not a parameter");
+        }
+        return group.columnAt(slot).valueForCode(code);
+    }
+
+    @Override
+    public String[] values(final String name)
+    {
+        final int slot = group.slotOf(name);
+        return slot >= 0 ? group.rowValues(row, slot).toArray(NO_VALUES) : NO_VALUES;
+    }
+
+    /**
+     * Scan the values of this row rather than hashing them, since a view's values are decoded again on each access
+     * and a set would not outlive the call.
+     */
+    @Override
+    public boolean containsValue(final String name, final CharSequence value)
+    {
+        final int slot = group.slotOf(name);
+        if (slot < 0)
+        {
+            return false;
+        }
+
+        final boolean ignoreCase = group.argAt(slot).getAllowedValues() != null;
+        for (final String candidate : group.rowValues(row, slot))
+        {
+            if (ignoreCase ? candidate.equalsIgnoreCase(value.toString()) : candidate.contentEquals(value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsLong(final String name, final long value)
+    {
+        final PrimitiveIterator.OfLong values = valuesAsLongIterator(name);
+        while (values.hasNext())
+        {
+            if (values.nextLong() == value)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public DslArg[] getParams()
+    {
+        return group.getArgs();
+    }
+
+    @Override
+    public RepeatingGroup[] valuesAsGroup(final String groupName)
+    {
+        return group.getNestedGroups().rows(groupName, row);
+    }
+
+    @Override
+    public Stream<RepeatingGroup> groupStream(final String groupName)
+    {
+        return StreamSupport.stream(group.getNestedGroups().spliterator(groupName, row), false);
+    }
+
+    @Override
+    SimpleDslParam findSimpleParam(final String name)
+    {
+        final int slot = group.slotOf(name);
+        if (slot < 0)
+        {
+            return null;
+        }
+
+        final SimpleDslArg lazilySplitArg = group.lazilySplitArgAt(slot);
+        if (lazilySplitArg != null)
+        {
+            return new SimpleDslParam(lazilySplitArg, group.suppliedValues(row, slot), null);
+        }
+
+        final DslArg arg = group.argAt(slot);
+        final List<String> values = group.rowValues(row, slot);
+        final Object typedValues = arg instanceof TypedArg
+                ? TypedValues.convert((TypedArg<?>) arg, values, group.getName(), ParseContext.detached())
+                : null;
+        return new SimpleDslParam(arg.getName(), values, typedValues);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.ParseError;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.ParseListener;
+import com.lmax.simpledsl.api.ValuePool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a single parse: where values are pooled and groups are stored, who is listening, how reads are tracked and the
+ * {@link ParseError ParseErrors} found.
+ * <p>
+ * The parser recovers from each error and carries on, so every error can be collected. When only the first error is
+ * wanted, later errors are discarded without being created.
+ */
+final class ParseContext
+{
+    private final String schemaName;
+    private final ValuePool valuePool;
+    private final ParseListener listener;
+    private final AccessCounts accessCounts;
+    private final boolean collectAllErrors;
+    private final BufferArena groupStorage;
+    private List<ParseError> errors = Collections.emptyList();
+
+    ParseContext(
+            final String schemaName,
+            final ValuePool valuePool,
+            final ParseListener listener,
+            final AccessCounts accessCounts,
+            final boolean collectAllErrors,
+            final BufferArena groupStorage)
+    {
+        this.schemaName = schemaName;
+        this.valuePool = valuePool;
+        this.listener = listener;
+        this.accessCounts = accessCounts;
+        this.collectAllErrors = collectAllErrors;
+        this.groupStorage = groupStorage;
+    }
+
+    /**
+     * Create a context that parses values on their own, with no schema, listener or pooling.
+     */
+    static ParseContext detached()
+    {
+        return new ParseContext(null, null, ParseListener.NONE, null, false, null);
+    }
+
+    /**
+     * Create a context for parsing a single replacement value for the {@link com.lmax.simpledsl.api.DslParams} parsed
+     * in this one, with the same value pool and listener.
+     */
+    ParseContext forReplacedValue()
+    {
+        return new ParseContext(schemaName, valuePool, listener, accessCounts, false, groupStorage);
+    }
+
+    String getSchemaName()
+    {
+        return schemaName;
+    }
+
+    boolean isTrackingAccess()
+    {
+        return accessCounts != null;
+    }
+
+    AccessRecorder accessRecorder(final DslArg[] dslArgs, final boolean[] supplied)
+    {
+        return new AccessRecorder(accessCounts.usageOf(schemaName, dslArgs), supplied);
+    }
+
+    String groupSignature(final String groupName)
+    {
+        return schemaName + " / " + groupName;
+    }
+
+    AccessCounts.SignatureUsage accessUsage(final String signature, final DslArg[] dslArgs)
+    {
+        return accessCounts.usageOf(signature, dslArgs);
+    }
+
+    /**
+     * Get the storage that repeating groups are packed into, or {@literal null} if they are held on the heap.
+     */
+    BufferArena getGroupStorage()
+    {
+        return groupStorage;
+    }
+
+    /**
+     * Find the allowed value matching a supplied value.
+     */
+    String allowedValue(final DslArg arg, final String value)
+    {
+        return arg.findAllowedValue(value);
+    }
+
+    String intern(final String value)
+    {
+        return valuePool != null ? valuePool.intern(value) : value;
+    }
+
+    void defaultApplied(final DslArg arg)
+    {
+        listener.onDefaultApplied(schemaName, arg.getName());
+    }
+
+    void groupParsed(final String groupName, final int rowCount)
+    {
+        listener.onGroupParsed(schemaName, groupName, rowCount);
+    }
+
+    void reportError(final ParseErrorCode code, final DslArg arg, final String groupName, final String argument)
+    {
+        final String paramName = arg != null ? arg.getName() : null;
+        listener.onValidationFailure(schemaName, code, paramName);
+        FlightRecorderEvents.validationFailure(schemaName, code, paramName);
+
+        if (errors.isEmpty())
+        {
+            errors = new ArrayList<>(1);
+        }
+        else if (!collectAllErrors)
+        {
+            return;
+        }
+        errors.add(new ParseError(code, arg, groupName, argument));
+    }
+
+    boolean hasErrors()
+    {
+        return !errors.isEmpty();
+    }
+
+    List<ParseError> getErrors()
+    {
+        return errors;
+    }
+}
@@ -16,18 +16,34 @@
 
 package com.lmax.simpledsl.internal;
 
+import com.lmax.simpledsl.api.DslArg;
 import com.lmax.simpledsl.api.RepeatingGroup;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 class RepeatingParamGroup extends DslParam
 {
+    private static final int[] NO_ROWS = new int[0];
+
     private final String name;
-    private final List<RepeatingParamValues> values;
+    private final DslArg[] dslArgs;
+    private final RepeatingParamValues[] values;
+    private volatile AtomicReferenceArray<RowIndex> indexesBySlot;
+
+    RepeatingParamGroup(final String name, final DslArg[] dslArgs, final List<RepeatingParamValues> values)
+    {
+        this(name, dslArgs, values.toArray(new RepeatingParamValues[0]));
+    }
 
-    RepeatingParamGroup(final String name, final List<RepeatingParamValues> values)
+    RepeatingParamGroup(final String name, final DslArg[] dslArgs, final RepeatingParamValues[] values)
     {
         this.name = name;
+        this.dslArgs = dslArgs;
         this.values = values;
     }
 
@@ -56,12 +72,181 @@ class RepeatingParamGroup extends DslParam
      */
     public RepeatingGroup[] values()
     {
-        return values.toArray(new RepeatingParamValues[0]);
+        return rows(0, rowCount());
+    }
+
+    /**
+     * Split the rows supplied for this repeating group without copying them.
+     *
+     * @return a sized, immutable {@link Spliterator} over the rows, in the order they were supplied.
+     */
+    Spliterator<RepeatingGroup> spliterator()
+    {
+        return spliterator(0, rowCount());
+    }
+
+    RepeatingGroup[] rows(final int fromRow, final int toRow)
+    {
+        return Arrays.copyOfRange(values, fromRow, toRow, RepeatingGroup[].class);
+    }
+
+    Spliterator<RepeatingGroup> spliterator(final int fromRow, final int toRow)
+    {
+        return Arrays.<RepeatingGroup>spliterator(values, fromRow, toRow);
+    }
+
+    /**
+     * Find the rows with the given value for a parameter, using an index of the parameter's values that is built the
+     * first time it is needed and kept for later lookups.
+     *
+     * @param field  the name of the parameter.
+     * @param value  the value to look for.
+     * @param limit  the maximum number of rows to return.
+     * @return the matching rows, in the order they were supplied.
+     * @throws IllegalArgumentException if {@code field} is not the name of a parameter of this group.
+     */
+    RepeatingGroup[] rowsWhere(final String field, final String value, final int limit)
+    {
+        final int slot = slotOf(field);
+        if (slot < 0)
+        {
+            throw new IllegalArgumentException(field + " is not a parameter of " + name);
+        }
+
+        final int[] rows = indexFor(slot).rowsWith(value);
+        final RepeatingGroup[] matches = new RepeatingGroup[Math.min(rows.length, limit)];
+        for (int i = 0; i < matches.length; i++)
+        {
+            rowRead(rows[i], slot);
+            matches[i] = row(rows[i]);
+        }
+        return matches;
+    }
+
+    int rowCount()
+    {
+        return values.length;
+    }
+
+    RepeatingGroup row(final int row)
+    {
+        return values[row];
+    }
+
+    int slotOf(final String field)
+    {
+        if (field != null)
+        {
+            for (int slot = 0; slot < dslArgs.length; slot++)
+            {
+                if (dslArgs[slot].getName().equalsIgnoreCase(field))
+                {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    DslArg argAt(final int slot)
+    {
+        return dslArgs[slot];
+    }
+
+    DslArg[] getArgs()
+    {
+        return dslArgs.clone();
+    }
+
+    List<String> rowValues(final int row, final int slot)
+    {
+        return values[row].paramAt(slot).getValuesAsList();
+    }
+
+    void rowRead(final int row, final int slot)
+    {
+        values[row].recordRead(slot);
+    }
+
+    private RowIndex indexFor(final int slot)
+    {
+        AtomicReferenceArray<RowIndex> indexes = indexesBySlot;
+        if (indexes == null)
+        {
+            indexes = new AtomicReferenceArray<>(dslArgs.length);
+            indexesBySlot = indexes;
+        }
+
+        RowIndex index = indexes.get(slot);
+        if (index == null)
+        {
+            index = new RowIndex(this, slot);
+            indexes.set(slot, index);
+        }
+        return index;
     }
 
     @Override
     public boolean hasValue()
     {
-        return !values.isEmpty();
+        return rowCount() != 0;
+    }
+
+    /**
+     * The rows holding each value of one parameter. Indexes are immutable once built, so a race to build one only
+     * wastes the losing thread's work.
+     */
+    private static final class RowIndex
+    {
+        private final Map<String, int[]> rowsByValue;
+
+        RowIndex(final RepeatingParamGroup group, final int slot)
+        {
+            final Map<String, RowBuffer> buffersByValue = new HashMap<>();
+            for (int row = 0; row < group.rowCount(); row++)
+            {
+                for (final String value : group.rowValues(row, slot))
+                {
+                    buffersByValue.computeIfAbsent(value, v -> new RowBuffer()).add(row);
+                }
+            }
+
+            final Map<String, int[]> rowsByValue = new HashMap<>(buffersByValue.size() * 2);
+            buffersByValue.forEach((value, buffer) -> rowsByValue.put(value, buffer.toArray()));
+            this.rowsByValue = rowsByValue;
+        }
+
+        int[] rowsWith(final String value)
+        {
+            return rowsByValue.getOrDefault(value, NO_ROWS);
+        }
+    }
+
+    /**
+     * The rows found for one value while building a {@link RowIndex}, doubling as it grows so that adding a row takes
+     * constant time.
+     */
+    private static final class RowBuffer
+    {
+        private int[] rows = new int[1];
+        private int count;
+
+        void add(final int row)
+        {
+            if (count != 0 && rows[count - 1] == row)
+            {
+                return;
+            }
+            if (count == rows.length)
+            {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = row;
+        }
+
+        int[] toArray()
+        {
+            return count == rows.length ? rows : Arrays.copyOf(rows, count);
+        }
     }
 }
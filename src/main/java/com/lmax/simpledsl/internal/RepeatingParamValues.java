@@ -3,32 +3,55 @@ package com.lmax.simpledsl.internal;
 import com.lmax.simpledsl.api.DslArg;
 import com.lmax.simpledsl.api.RepeatingGroup;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static java.util.Arrays.stream;
-
-class RepeatingParamValues implements RepeatingGroup
+class RepeatingParamValues extends AbstractDslValues implements RepeatingGroup
 {
     private final DslArg[] dslArgs;
-    private final Map<String, List<String>> valuesByName;
+    private final SimpleDslParam[] params;
+    private final AccessRecorder accessRecorder;
+    private final NestedGroups nestedGroups;
+    private final int row;
 
     RepeatingParamValues(final DslArg[] dslArgs, final Map<String, List<String>> valuesByName)
+    {
+        this(dslArgs, toParams(dslArgs, valuesByName), null);
+    }
+
+    RepeatingParamValues(final DslArg[] dslArgs, final SimpleDslParam[] params, final AccessRecorder accessRecorder)
+    {
+        this(dslArgs, params, accessRecorder, NestedGroups.NONE, -1);
+    }
+
+    RepeatingParamValues(
+            final DslArg[] dslArgs,
+            final SimpleDslParam[] params,
+            final AccessRecorder accessRecorder,
+            final NestedGroups nestedGroups,
+            final int row)
     {
         this.dslArgs = dslArgs;
-        this.valuesByName = valuesByName;
+        this.params = params;
+        this.accessRecorder = accessRecorder;
+        this.nestedGroups = nestedGroups;
+        this.row = row;
     }
 
     @Override
     public boolean hasValue(final String name)
     {
-        return valuesByName.containsKey(name.toLowerCase());
+        final int slot = findSlot(name);
+        return slot >= 0 && params[slot].hasValue();
     }
 
     @Override
     public boolean hasParam(final String name)
     {
-        return stream(dslArgs).anyMatch(arg -> arg.getName().equalsIgnoreCase(name));
+        return findSlot(name) >= 0;
     }
 
     @Override
@@ -41,18 +64,84 @@ class RepeatingParamValues implements RepeatingGroup
     @Override
     public String[] values(final String name)
     {
-        final List<String> values = getValues(name);
-        return values != null ? values.toArray(new String[0]) : new String[0];
+        final SimpleDslParam param = findSimpleParam(name);
+        return param != null ? param.getValues() : new String[0];
     }
 
     @Override
     public DslArg[] getParams()
     {
-        return dslArgs;
+        return dslArgs.clone();
+    }
+
+    @Override
+    public RepeatingGroup[] valuesAsGroup(final String groupName)
+    {
+        return nestedGroups.rows(groupName, row);
+    }
+
+    @Override
+    public Stream<RepeatingGroup> groupStream(final String groupName)
+    {
+        return StreamSupport.stream(nestedGroups.spliterator(groupName, row), false);
+    }
+
+    @Override
+    SimpleDslParam findSimpleParam(final String name)
+    {
+        final int slot = findSlot(name);
+        return slot >= 0 ? params[slot] : null;
+    }
+
+    /**
+     * Find the slot of a parameter without recording a read of it.
+     */
+    int slotOf(final String name)
+    {
+        if (name != null)
+        {
+            for (int slot = 0; slot < dslArgs.length; slot++)
+            {
+                if (dslArgs[slot].getName().equalsIgnoreCase(name))
+                {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    SimpleDslParam paramAt(final int slot)
+    {
+        return params[slot];
+    }
+
+    private int findSlot(final String name)
+    {
+        final int slot = slotOf(name);
+        if (slot >= 0)
+        {
+            recordRead(slot);
+        }
+        return slot;
+    }
+
+    void recordRead(final int slot)
+    {
+        if (accessRecorder != null)
+        {
+            accessRecorder.recordRead(slot);
+        }
     }
 
-    private List<String> getValues(final String name)
+    private static SimpleDslParam[] toParams(final DslArg[] dslArgs, final Map<String, List<String>> valuesByName)
     {
-        return name != null ? valuesByName.get(name.toLowerCase()) : null;
+        final SimpleDslParam[] params = new SimpleDslParam[dslArgs.length];
+        for (int slot = 0; slot < dslArgs.length; slot++)
+        {
+            final List<String> values = valuesByName.get(dslArgs[slot].getName().toLowerCase());
+            params[slot] = new SimpleDslParam(dslArgs[slot].getName(), values != null ? values : Collections.emptyList());
+        }
+        return params;
     }
 }
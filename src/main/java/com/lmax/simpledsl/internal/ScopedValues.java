@@ -0,0 +1,170 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DefaultScope;
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.RepeatingArgGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * The values held by a {@link DefaultScope}, resolved to the slots of a schema's {@link DslArg DslArgs}.
+ * <p>
+ * Each value is checked and changed to the case of the matching allowed value once, when the scope is first resolved
+ * for a schema. The most recently used schemas are remembered, so parsing with a scope costs a single lookup per
+ * parameter.
+ */
+public final class ScopedValues
+{
+    private static final int RESOLVED_SCHEMAS = 8;
+
+    private final Function<String, List<String>> lookup;
+    private final AtomicReferenceArray<ResolvedSlots> resolvedSlots = new AtomicReferenceArray<>(RESOLVED_SCHEMAS);
+
+    /**
+     * Create the resolved values of a scope.
+     *
+     * @param lookup finds the values held by the scope for a parameter, or {@literal null} if it holds none.
+     */
+    public ScopedValues(final Function<String, List<String>> lookup)
+    {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Get the values held by the scope for each of the given {@link DslArg DslArgs}, resolving them the first time the
+     * {@link DslArg DslArgs} are seen.
+     */
+    ResolvedSlots resolve(final DslArg[] dslArgs)
+    {
+        final int index = System.identityHashCode(dslArgs) & (RESOLVED_SCHEMAS - 1);
+        final ResolvedSlots resolved = resolvedSlots.get(index);
+        if (resolved != null && resolved.dslArgs == dslArgs)
+        {
+            return resolved;
+        }
+
+        final ResolvedSlots newlyResolved = new ResolvedSlots(dslArgs);
+        for (int slot = 0; slot < dslArgs.length; slot++)
+        {
+            if (!(dslArgs[slot] instanceof RepeatingArgGroup))
+            {
+                final List<String> values = lookup.apply(dslArgs[slot].getName());
+                if (values != null)
+                {
+                    newlyResolved.check(slot, values);
+                }
+            }
+        }
+
+        resolvedSlots.lazySet(index, newlyResolved);
+        return newlyResolved;
+    }
+
+    /**
+     * The checked values of a scope for each slot of a schema, or the reason the values of a slot were rejected.
+     */
+    static final class ResolvedSlots
+    {
+        private final DslArg[] dslArgs;
+        private final List<String>[] valuesBySlot;
+        private final ParseErrorCode[] errorsBySlot;
+        private final String[] rejectedValuesBySlot;
+
+        ResolvedSlots(final DslArg[] dslArgs)
+        {
+            this.dslArgs = dslArgs;
+            this.valuesBySlot = newSlots(dslArgs.length);
+            this.errorsBySlot = new ParseErrorCode[dslArgs.length];
+            this.rejectedValuesBySlot = new String[dslArgs.length];
+        }
+
+        /**
+         * Get the values for a slot, or {@literal null} if the scope holds no values for it or they were rejected.
+         */
+        List<String> valuesOf(final int slot)
+        {
+            return valuesBySlot[slot];
+        }
+
+        /**
+         * Get the reason the values for a slot were rejected, or {@literal null} if they were not.
+         */
+        ParseErrorCode errorOf(final int slot)
+        {
+            return errorsBySlot[slot];
+        }
+
+        /**
+         * Get the value that caused the values for a slot to be rejected.
+         */
+        String rejectedValueOf(final int slot)
+        {
+            return rejectedValuesBySlot[slot];
+        }
+
+        private void check(final int slot, final List<String> values)
+        {
+            final DslArg arg = dslArgs[slot];
+            if (values.size() > 1 && !arg.isAllowMultipleValues())
+            {
+                reject(slot, ParseErrorCode.MULTIPLE_VALUES_NOT_ALLOWED, values.get(1));
+                return;
+            }
+
+            List<String> checkedValues = values;
+            for (int i = 0; i < values.size(); i++)
+            {
+                final String value = values.get(i);
+                final String allowedValue = arg.findAllowedValue(value);
+                if (allowedValue == null)
+                {
+                    reject(slot, ParseErrorCode.VALUE_NOT_ALLOWED, value);
+                    return;
+                }
+                if (!allowedValue.equals(value))
+                {
+                    if (checkedValues == values)
+                    {
+                        checkedValues = new ArrayList<>(values);
+                    }
+                    checkedValues.set(i, allowedValue);
+                }
+            }
+            valuesBySlot[slot] = checkedValues == values ? values : Collections.unmodifiableList(checkedValues);
+        }
+
+        private void reject(final int slot, final ParseErrorCode code, final String value)
+        {
+            errorsBySlot[slot] = code;
+            rejectedValuesBySlot[slot] = value;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static List<String>[] newSlots(final int size)
+        {
+            return new List[size];
+        }
+    }
+}
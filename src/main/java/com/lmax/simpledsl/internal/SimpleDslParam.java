@@ -15,18 +15,52 @@
  */
 package com.lmax.simpledsl.internal;
 
+import com.lmax.simpledsl.api.SimpleDslArg;
+
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
 
 class SimpleDslParam extends DslParam
 {
+    private static final String[] NO_VALUES = new String[0];
+
     private final String name;
-    private final List<String> values;
+    private final String[] values;
+    private final Object typedValues;
+    private final SimpleDslArg arg;
+    private final boolean splitLazily;
+    private StringValueSet valueSet;
+    private LongValueSet longValueSet;
 
     SimpleDslParam(final String name, final List<String> values)
+    {
+        this(name, values, null);
+    }
+
+    SimpleDslParam(final String name, final List<String> values, final Object typedValues)
+    {
+        this(name, values, typedValues, null);
+    }
+
+    /**
+     * Create a parameter of the given argument. If the argument is {@link SimpleDslArg#setSplitLazily() split lazily},
+     * the values are held as supplied and split each time they are read.
+     */
+    SimpleDslParam(final SimpleDslArg arg, final List<String> values, final Object typedValues)
+    {
+        this(arg.getName(), values, typedValues, arg);
+    }
+
+    private SimpleDslParam(final String name, final List<String> values, final Object typedValues, final SimpleDslArg arg)
     {
         this.name = name;
-        this.values = values;
+        this.values = values.isEmpty() ? NO_VALUES : values.toArray(NO_VALUES);
+        this.typedValues = typedValues;
+        this.arg = arg;
+        this.splitLazily = arg != null && arg.isSplitLazily();
     }
 
     @Override
@@ -50,7 +84,7 @@ class SimpleDslParam extends DslParam
     @Override
     boolean hasValue()
     {
-        return !values.isEmpty();
+        return values.length != 0;
     }
 
     /**
@@ -61,21 +95,109 @@ class SimpleDslParam extends DslParam
      */
     public String getValue()
     {
-        if (values.size() > 1)
+        final String[] splitValues = splitLazily ? getValues() : values;
+        if (splitValues.length > 1)
         {
             throw new IllegalArgumentException("getValues() should be used when multiple values are allowed");
         }
-        final String[] strings = getValues();
-        return strings.length > 0 ? strings[0] : null;
+        return splitValues.length > 0 ? splitValues[0] : null;
     }
 
     List<String> getValuesAsList()
     {
-        return Collections.unmodifiableList(values);
+        return splitLazily ? Collections.unmodifiableList(LazyValues.split(arg, values)) : Collections.unmodifiableList(Arrays.asList(values));
     }
 
     String[] getValues()
     {
-        return getValuesAsList().toArray(new String[0]);
+        return splitLazily ? LazyValues.split(arg, values).toArray(NO_VALUES) : values.clone();
+    }
+
+    /**
+     * Check whether one of the values is equal to the given value, ignoring case if the argument has allowed values.
+     * <p>
+     * The values are hashed into a set the first time this is called. The set is immutable, so threads racing to build
+     * it each use their own.
+     */
+    boolean containsValue(final CharSequence value)
+    {
+        StringValueSet set = valueSet;
+        if (set == null)
+        {
+            set = new StringValueSet(splitLazily ? LazyValues.split(arg, values) : Arrays.asList(values), arg != null && arg.getAllowedValues() != null);
+            valueSet = set;
+        }
+        return set.contains(value);
+    }
+
+    /**
+     * Check whether one of the values is equal to the given number, hashing the values into a set of primitive values
+     * the first time this is called.
+     *
+     * @throws NumberFormatException if any of the values can not be parsed as a {@code long}.
+     */
+    boolean containsLong(final long value)
+    {
+        LongValueSet set = longValueSet;
+        if (set == null)
+        {
+            set = new LongValueSet(longValues());
+            longValueSet = set;
+        }
+        return set.contains(value);
+    }
+
+    private long[] longValues()
+    {
+        if (typedValues instanceof long[])
+        {
+            return (long[]) typedValues;
+        }
+        if (typedValues instanceof int[])
+        {
+            return Arrays.stream((int[]) typedValues).asLongStream().toArray();
+        }
+
+        if (splitLazily)
+        {
+            final LongStream.Builder longs = LongStream.builder();
+            LazyValues.longIterator(arg, values).forEachRemaining((LongConsumer) longs::add);
+            return longs.build().toArray();
+        }
+        return Arrays.stream(values).mapToLong(Long::parseLong).toArray();
+    }
+
+    /**
+     * Get the argument whose values are held as supplied, to be split as they are read.
+     *
+     * @return the argument, or {@literal null} if the values were split when parsed.
+     */
+    SimpleDslArg getLazilySplitArg()
+    {
+        return splitLazily ? arg : null;
+    }
+
+    /**
+     * Get the values as they were supplied, which have not been split if the argument is split lazily.
+     * <p>
+     * The array is not copied and must not be modified.
+     */
+    String[] getSuppliedValues()
+    {
+        return values;
+    }
+
+    /**
+     * Get the values converted when parsing a {@link com.lmax.simpledsl.api.TypedArg}.
+     * <p>
+     * The array is not copied and must not be modified.
+     *
+     * @param arrayType the type of array expected, such as {@code int[].class}.
+     * @param <A>       the type of array expected.
+     * @return the converted values, or {@literal null} if the values were not converted to {@code arrayType}.
+     */
+    <A> A getTypedValues(final Class<A> arrayType)
+    {
+        return arrayType.isInstance(typedValues) ? arrayType.cast(typedValues) : null;
     }
 }
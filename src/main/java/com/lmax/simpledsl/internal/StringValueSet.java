@@ -0,0 +1,101 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import java.util.List;
+
+/**
+ * An immutable open addressing hash set of the values of a parameter, looked up by the content of any
+ * {@link CharSequence} without converting it to a {@link String}.
+ * <p>
+ * A set can ignore case in the same way as {@link String#equalsIgnoreCase(String)}, for the values of arguments with
+ * allowed values, which are matched ignoring case when parsing.
+ */
+final class StringValueSet
+{
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int HASH_SPREAD_SHIFT = 16;
+
+    private final String[] slots;
+    private final int mask;
+    private final boolean ignoreCase;
+
+    StringValueSet(final List<String> values, final boolean ignoreCase)
+    {
+        this.slots = new String[LongValueSet.capacityFor(values.size())];
+        this.mask = slots.length - 1;
+        this.ignoreCase = ignoreCase;
+        for (final String value : values)
+        {
+            final int index = find(value);
+            if (slots[index] == null)
+            {
+                slots[index] = value;
+            }
+        }
+    }
+
+    boolean contains(final CharSequence value)
+    {
+        return slots[find(value)] != null;
+    }
+
+    /**
+     * Find the slot holding the given value, or the empty slot where it would be added.
+     */
+    private int find(final CharSequence value)
+    {
+        int index = hash(value) & mask;
+        while (slots[index] != null && !contentEquals(slots[index], value))
+        {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private int hash(final CharSequence value)
+    {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++)
+        {
+            hash = HASH_MULTIPLIER * hash + fold(value.charAt(i));
+        }
+        return hash ^ (hash >>> HASH_SPREAD_SHIFT);
+    }
+
+    private boolean contentEquals(final String member, final CharSequence value)
+    {
+        if (member.length() != value.length())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < member.length(); i++)
+        {
+            if (fold(member.charAt(i)) != fold(value.charAt(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char fold(final char c)
+    {
+        return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+    }
+}
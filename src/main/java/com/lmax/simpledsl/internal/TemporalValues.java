@@ -0,0 +1,119 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The converted values of a {@link com.lmax.simpledsl.api.TemporalArg} or {@link com.lmax.simpledsl.api.DurationArg},
+ * held as {@code long} values in the unit given by their {@link Kind}.
+ * <p>
+ * Keeping the kind alongside the values stops the temporal accessors from reading a plain {@code long[]}, and the
+ * {@code long} accessors from reading temporal values, by mistake.
+ */
+final class TemporalValues
+{
+    static final long NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+
+    enum Kind
+    {
+        EPOCH_DAY(LocalDate.class),
+        NANOS_OF_DAY(LocalTime.class),
+        EPOCH_NANOS(Instant.class),
+        DURATION_NANOS(Duration.class);
+
+        private final Class<?> type;
+
+        Kind(final Class<?> type)
+        {
+            this.type = type;
+        }
+    }
+
+    private final Kind kind;
+    private final long[] values;
+
+    TemporalValues(final Kind kind, final long[] values)
+    {
+        this.kind = kind;
+        this.values = values;
+    }
+
+    Kind getKind()
+    {
+        return kind;
+    }
+
+    int size()
+    {
+        return values.length;
+    }
+
+    long get(final int index)
+    {
+        return values[index];
+    }
+
+    /**
+     * Convert the values to the matching {@link java.time} objects.
+     *
+     * @param type the type requested.
+     * @return the objects, or {@literal null} if the values do not represent the requested type.
+     */
+    Object[] toObjects(final Class<?> type)
+    {
+        if (type != kind.type)
+        {
+            return null;
+        }
+
+        final Object[] objects = (Object[]) Array.newInstance(type, values.length);
+        for (int i = 0; i < values.length; i++)
+        {
+            objects[i] = toObject(values[i]);
+        }
+        return objects;
+    }
+
+    private Object toObject(final long value)
+    {
+        final Object object;
+        switch (kind)
+        {
+            case EPOCH_DAY:
+                object = LocalDate.ofEpochDay(value);
+                break;
+            case NANOS_OF_DAY:
+                object = LocalTime.ofNanoOfDay(value);
+                break;
+            case EPOCH_NANOS:
+                object = Instant.ofEpochSecond(0, value);
+                break;
+            default:
+                object = Duration.ofNanos(value);
+                break;
+        }
+        return object;
+    }
+
+}
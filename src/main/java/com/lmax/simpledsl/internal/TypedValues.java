@@ -0,0 +1,260 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.BooleanArg;
+import com.lmax.simpledsl.api.DateArg;
+import com.lmax.simpledsl.api.DateTimeArg;
+import com.lmax.simpledsl.api.DecimalArg;
+import com.lmax.simpledsl.api.DurationArg;
+import com.lmax.simpledsl.api.EnumArg;
+import com.lmax.simpledsl.api.IntArg;
+import com.lmax.simpledsl.api.LongArg;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.TemporalArg;
+import com.lmax.simpledsl.api.TemporalFormat;
+import com.lmax.simpledsl.api.TimeArg;
+import com.lmax.simpledsl.api.TypedArg;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts the values of a {@link TypedArg} once, as they are parsed, into the array held by its {@link SimpleDslParam}:
+ * {@code int[]}, {@code long[]}, {@code boolean[]}, {@code BigDecimal[]}, an array of the {@link Enum} type or
+ * {@link TemporalValues}.
+ * <p>
+ * Values that can not be converted, or are out of bounds, are reported to the {@link ParseContext} and left out.
+ */
+final class TypedValues
+{
+    private TypedValues()
+    {
+    }
+
+    static Object convert(final TypedArg<?> arg, final List<String> values, final String groupName, final ParseContext context)
+    {
+        if (arg instanceof IntArg)
+        {
+            return toInts((IntArg) arg, values, groupName, context);
+        }
+        else if (arg instanceof LongArg)
+        {
+            return toLongs((LongArg) arg, values, groupName, context);
+        }
+        else if (arg instanceof BooleanArg)
+        {
+            return toBooleans(values);
+        }
+        else if (arg instanceof DecimalArg)
+        {
+            return toDecimals((DecimalArg) arg, values, groupName, context);
+        }
+        else if (arg instanceof EnumArg)
+        {
+            return toEnums((EnumArg<?>) arg, values, groupName, context);
+        }
+        else if (arg instanceof TemporalArg || arg instanceof DurationArg)
+        {
+            return toTemporals(arg, values, groupName, context);
+        }
+        return null;
+    }
+
+    private static int[] toInts(final IntArg arg, final List<String> values, final String groupName, final ParseContext context)
+    {
+        final long min = arg.getMin() != null ? arg.getMin() : Integer.MIN_VALUE;
+        final long max = arg.getMax() != null ? arg.getMax() : Integer.MAX_VALUE;
+        final int[] ints = new int[values.size()];
+        int count = 0;
+        for (final String value : values)
+        {
+            final int converted;
+            try
+            {
+                converted = Integer.parseInt(value);
+            }
+            catch (final NumberFormatException e)
+            {
+                context.reportError(ParseErrorCode.INVALID_VALUE, arg, groupName, value);
+                continue;
+            }
+
+            if (converted < min || converted > max)
+            {
+                context.reportError(ParseErrorCode.VALUE_OUT_OF_RANGE, arg, groupName, value);
+                continue;
+            }
+            ints[count++] = converted;
+        }
+        return count == ints.length ? ints : Arrays.copyOf(ints, count);
+    }
+
+    private static long[] toLongs(final LongArg arg, final List<String> values, final String groupName, final ParseContext context)
+    {
+        final long min = arg.getMin() != null ? arg.getMin() : Long.MIN_VALUE;
+        final long max = arg.getMax() != null ? arg.getMax() : Long.MAX_VALUE;
+        final long[] longs = new long[values.size()];
+        int count = 0;
+        for (final String value : values)
+        {
+            final long converted;
+            try
+            {
+                converted = Long.parseLong(value);
+            }
+            catch (final NumberFormatException e)
+            {
+                context.reportError(ParseErrorCode.INVALID_VALUE, arg, groupName, value);
+                continue;
+            }
+
+            if (converted < min || converted > max)
+            {
+                context.reportError(ParseErrorCode.VALUE_OUT_OF_RANGE, arg, groupName, value);
+                continue;
+            }
+            longs[count++] = converted;
+        }
+        return count == longs.length ? longs : Arrays.copyOf(longs, count);
+    }
+
+    private static boolean[] toBooleans(final List<String> values)
+    {
+        final boolean[] booleans = new boolean[values.size()];
+        for (int i = 0; i < booleans.length; i++)
+        {
+            booleans[i] = Boolean.parseBoolean(values.get(i));
+        }
+        return booleans;
+    }
+
+    private static BigDecimal[] toDecimals(final DecimalArg arg, final List<String> values, final String groupName, final ParseContext context)
+    {
+        final BigDecimal min = arg.getMin();
+        final BigDecimal max = arg.getMax();
+        final BigDecimal[] decimals = new BigDecimal[values.size()];
+        int count = 0;
+        for (final String value : values)
+        {
+            final BigDecimal converted;
+            try
+            {
+                converted = new BigDecimal(value);
+            }
+            catch (final NumberFormatException e)
+            {
+                context.reportError(ParseErrorCode.INVALID_VALUE, arg, groupName, value);
+                continue;
+            }
+
+            if (min != null && converted.compareTo(min) < 0 || max != null && converted.compareTo(max) > 0)
+            {
+                context.reportError(ParseErrorCode.VALUE_OUT_OF_RANGE, arg, groupName, value);
+                continue;
+            }
+            decimals[count++] = converted;
+        }
+        return count == decimals.length ? decimals : Arrays.copyOf(decimals, count);
+    }
+
+    private static Object toEnums(final EnumArg<?> arg, final List<String> values, final String groupName, final ParseContext context)
+    {
+        final Object[] constants = arg.getValueType().getEnumConstants();
+        final Object enums = Array.newInstance(arg.getValueType(), values.size());
+        int count = 0;
+        for (final String value : values)
+        {
+            final Object converted = findConstant(constants, value);
+            if (converted == null)
+            {
+                context.reportError(ParseErrorCode.INVALID_VALUE, arg, groupName, value);
+                continue;
+            }
+            Array.set(enums, count++, converted);
+        }
+        return count == values.size() ? enums : Arrays.copyOf((Object[]) enums, count);
+    }
+
+    private static TemporalValues toTemporals(final TypedArg<?> arg, final List<String> values, final String groupName, final ParseContext context)
+    {
+        final TemporalValues.Kind kind = temporalKind(arg);
+        final TemporalFormat format = arg instanceof TemporalArg ? ((TemporalArg<?>) arg).getFormat() : null;
+        final long[] longs = new long[values.size()];
+        int count = 0;
+        for (final String value : values)
+        {
+            final long converted;
+            switch (kind)
+            {
+                case EPOCH_DAY:
+                    converted = format.parseEpochDay(value);
+                    break;
+                case NANOS_OF_DAY:
+                    converted = format.parseNanosOfDay(value);
+                    break;
+                case EPOCH_NANOS:
+                    converted = format.parseEpochNanos(value);
+                    break;
+                default:
+                    converted = TemporalFormat.parseDurationNanos(value);
+                    break;
+            }
+
+            if (converted == TemporalFormat.INVALID)
+            {
+                context.reportError(ParseErrorCode.INVALID_VALUE, arg, groupName, value);
+                continue;
+            }
+            longs[count++] = converted;
+        }
+        return new TemporalValues(kind, count == longs.length ? longs : Arrays.copyOf(longs, count));
+    }
+
+    private static TemporalValues.Kind temporalKind(final TypedArg<?> arg)
+    {
+        final TemporalValues.Kind kind;
+        if (arg instanceof DateArg)
+        {
+            kind = TemporalValues.Kind.EPOCH_DAY;
+        }
+        else if (arg instanceof TimeArg)
+        {
+            kind = TemporalValues.Kind.NANOS_OF_DAY;
+        }
+        else
+        {
+            kind = arg instanceof DateTimeArg ? TemporalValues.Kind.EPOCH_NANOS : TemporalValues.Kind.DURATION_NANOS;
+        }
+        return kind;
+    }
+
+    private static Object findConstant(final Object[] constants, final String value)
+    {
+        for (final Object constant : constants)
+        {
+            if (((Enum<?>) constant).name().equalsIgnoreCase(value))
+            {
+                return constant;
+            }
+        }
+        return null;
+    }
+}
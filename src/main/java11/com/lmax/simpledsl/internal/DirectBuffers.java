@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/**
+ * Frees the memory held by direct {@link ByteBuffer ByteBuffers} once they are no longer used.
+ * <p>
+ * This is the Java 11 version of this class, which frees the memory immediately through {@code sun.misc.Unsafe}, when
+ * the {@code jdk.unsupported} module makes it available. Otherwise the memory is left to be freed when the garbage
+ * collector finds that the buffer is unreachable.
+ */
+public final class DirectBuffers
+{
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private DirectBuffers()
+    {
+    }
+
+    /**
+     * Free the memory held by a direct buffer. The buffer must not be used again.
+     *
+     * @param buffer the buffer to free.
+     */
+    public static void free(final ByteBuffer buffer)
+    {
+        if (INVOKE_CLEANER != null && buffer.isDirect())
+        {
+            try
+            {
+                INVOKE_CLEANER.invokeExact(buffer);
+            }
+            catch (final Throwable e)
+            {
+                // the buffer is left for the garbage collector to free
+            }
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner()
+    {
+        try
+        {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        }
+        catch (final ReflectiveOperationException | RuntimeException e)
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.ParseErrorCode;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits Java Flight Recorder events for schema compilation, parsing, repeating group consumption, validation failures
+ * and expensive value conversions.
+ * <p>
+ * This is the Java 11 version of this class, included in the multi-release JAR. The events are disabled by default and
+ * can be enabled in a recording's settings, for example:
+ *
+ * <pre>{@code
+ *   recording.enable("com.lmax.simpledsl.Parse");
+ * }</pre>
+ * <p>
+ * Each {@code begin} method returns {@literal null} while its event is disabled, which the matching {@code end}
+ * method ignores, so a disabled event costs a single check and allocates nothing.
+ */
+public final class FlightRecorderEvents
+{
+    private static final String CATEGORY = "Simple DSL";
+
+    private static final SchemaCompileEvent SCHEMA_COMPILE_PROBE = new SchemaCompileEvent();
+    private static final ParseEvent PARSE_PROBE = new ParseEvent();
+    private static final GroupConsumeEvent GROUP_CONSUME_PROBE = new GroupConsumeEvent();
+    private static final ValidationFailureEvent VALIDATION_FAILURE_PROBE = new ValidationFailureEvent();
+    private static final ConversionEvent CONVERSION_PROBE = new ConversionEvent();
+
+    private FlightRecorderEvents()
+    {
+    }
+
+    /**
+     * Check whether any event that reports a schema name is enabled.
+     *
+     * @return {@literal true} if the schema name of each parse should be calculated.
+     */
+    public static boolean isSchemaNameRequired()
+    {
+        return PARSE_PROBE.isEnabled() || GROUP_CONSUME_PROBE.isEnabled() || VALIDATION_FAILURE_PROBE.isEnabled();
+    }
+
+    /**
+     * Start timing the creation of a schema.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginSchemaCompile()
+    {
+        if (!SCHEMA_COMPILE_PROBE.isEnabled())
+        {
+            return null;
+        }
+        final SchemaCompileEvent event = new SchemaCompileEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing the creation of a schema.
+     *
+     * @param event         the event returned by {@link #beginSchemaCompile()}.
+     * @param schemaName    the name of the schema.
+     * @param argumentCount the number of {@link com.lmax.simpledsl.api.DslArg DslArgs} in the schema.
+     */
+    public static void endSchemaCompile(final Object event, final String schemaName, final int argumentCount)
+    {
+        if (event != null)
+        {
+            final SchemaCompileEvent schemaCompileEvent = (SchemaCompileEvent) event;
+            schemaCompileEvent.end();
+            if (schemaCompileEvent.shouldCommit())
+            {
+                schemaCompileEvent.schemaName = schemaName;
+                schemaCompileEvent.argumentCount = argumentCount;
+                schemaCompileEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Start timing a parse.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginParse()
+    {
+        if (!PARSE_PROBE.isEnabled())
+        {
+            return null;
+        }
+        final ParseEvent event = new ParseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing a parse.
+     *
+     * @param event         the event returned by {@link #beginParse()}.
+     * @param schemaName    the name of the schema parsed against.
+     * @param argumentCount the number of values supplied.
+     * @param success       {@literal true} if the values were valid.
+     */
+    public static void endParse(final Object event, final String schemaName, final int argumentCount, final boolean success)
+    {
+        if (event != null)
+        {
+            final ParseEvent parseEvent = (ParseEvent) event;
+            parseEvent.end();
+            if (parseEvent.shouldCommit())
+            {
+                parseEvent.schemaName = schemaName;
+                parseEvent.argumentCount = argumentCount;
+                parseEvent.success = success;
+                parseEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Start timing the consumption of the rows of a repeating group, either a single row supplied as arguments, along
+     * with the rows of any groups nested within it, or every row of a {@link com.lmax.simpledsl.api.GroupTable}.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginGroupConsume()
+    {
+        if (!GROUP_CONSUME_PROBE.isEnabled())
+        {
+            return null;
+        }
+        final GroupConsumeEvent event = new GroupConsumeEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing the consumption of the rows of a repeating group.
+     *
+     * @param event         the event returned by {@link #beginGroupConsume()}.
+     * @param schemaName    the name of the schema parsed against.
+     * @param groupName     the name of the group.
+     * @param argumentCount the number of values consumed.
+     * @param rowCount      the number of rows of the group added.
+     */
+    public static void endGroupConsume(final Object event, final String schemaName, final String groupName, final int argumentCount, final int rowCount)
+    {
+        if (event != null)
+        {
+            final GroupConsumeEvent groupConsumeEvent = (GroupConsumeEvent) event;
+            groupConsumeEvent.end();
+            if (groupConsumeEvent.shouldCommit())
+            {
+                groupConsumeEvent.schemaName = schemaName;
+                groupConsumeEvent.groupName = groupName;
+                groupConsumeEvent.argumentCount = argumentCount;
+                groupConsumeEvent.rowCount = rowCount;
+                groupConsumeEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Record a validation failure.
+     *
+     * @param schemaName the name of the schema parsed against.
+     * @param code       the kind of failure.
+     * @param paramName  the name of the parameter at fault, or {@literal null} if the failure is not specific to one parameter.
+     */
+    public static void validationFailure(final String schemaName, final ParseErrorCode code, final String paramName)
+    {
+        if (VALIDATION_FAILURE_PROBE.isEnabled())
+        {
+            final ValidationFailureEvent event = new ValidationFailureEvent();
+            if (event.shouldCommit())
+            {
+                event.schemaName = schemaName;
+                event.code = code.name();
+                event.paramName = paramName;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Start timing the conversion of a parameter's values.
+     *
+     * @return the event to end, or {@literal null} if the event is disabled.
+     */
+    public static Object beginConversion()
+    {
+        if (!CONVERSION_PROBE.isEnabled())
+        {
+            return null;
+        }
+        final ConversionEvent event = new ConversionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finish timing the conversion of a parameter's values.
+     *
+     * @param event      the event returned by {@link #beginConversion()}.
+     * @param paramName  the name of the parameter.
+     * @param targetType the type the values were converted to.
+     * @param valueCount the number of values converted.
+     */
+    public static void endConversion(final Object event, final String paramName, final Class<?> targetType, final int valueCount)
+    {
+        if (event != null)
+        {
+            final ConversionEvent conversionEvent = (ConversionEvent) event;
+            conversionEvent.end();
+            if (conversionEvent.shouldCommit())
+            {
+                conversionEvent.paramName = paramName;
+                conversionEvent.targetType = targetType;
+                conversionEvent.valueCount = valueCount;
+                conversionEvent.commit();
+            }
+        }
+    }
+
+    @Name("com.lmax.simpledsl.SchemaCompile")
+    @Label("Schema Compile")
+    @Description("Creation of a DslSchema")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SchemaCompileEvent extends Event
+    {
+        @Label("Schema Name")
+        String schemaName;
+
+        @Label("Argument Count")
+        int argumentCount;
+    }
+
+    @Name("com.lmax.simpledsl.Parse")
+    @Label("Parse")
+    @Description("Parsing of values against a set of DslArgs")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ParseEvent extends Event
+    {
+        @Label("Schema Name")
+        String schemaName;
+
+        @Label("Argument Count")
+        int argumentCount;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("com.lmax.simpledsl.GroupConsume")
+    @Label("Group Consume")
+    @Description("Consumption of the rows of a repeating group, supplied as arguments or as a table")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class GroupConsumeEvent extends Event
+    {
+        @Label("Schema Name")
+        String schemaName;
+
+        @Label("Group Name")
+        String groupName;
+
+        @Label("Argument Count")
+        int argumentCount;
+
+        @Label("Row Count")
+        int rowCount;
+    }
+
+    @Name("com.lmax.simpledsl.ValidationFailure")
+    @Label("Validation Failure")
+    @Description("A value that failed validation against its DslArg")
+    @Category(CATEGORY)
+    @Enabled(false)
+    static final class ValidationFailureEvent extends Event
+    {
+        @Label("Schema Name")
+        String schemaName;
+
+        @Label("Error Code")
+        String code;
+
+        @Label("Parameter Name")
+        String paramName;
+    }
+
+    @Name("com.lmax.simpledsl.Conversion")
+    @Label("Conversion")
+    @Description("Conversion of a parameter's values to another type")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ConversionEvent extends Event
+    {
+        @Label("Parameter Name")
+        String paramName;
+
+        @Label("Target Type")
+        Class<?> targetType;
+
+        @Label("Value Count")
+        int valueCount;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessTrackerTest
+{
+    @Test
+    public void shouldReportSuppliedParamsThatAreNeverRead()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslSchema schema = new DslSchema(new RequiredArg("a"), new OptionalArg("b")).withAccessTracker(tracker);
+
+        final DslParams params = schema.parse("a=1", "b=2");
+        params.value("a");
+        schema.parse("a=3", "b=4");
+
+        final List<AccessTracker.UnusedParam> unusedParams = tracker.getUnusedParams();
+        assertEquals(1, unusedParams.size());
+        assertEquals("a, b", unusedParams.get(0).getSignature());
+        assertEquals("b", unusedParams.get(0).getParamName());
+        assertEquals(2, unusedParams.get(0).getSuppliedCount());
+        assertEquals("a, b: b supplied 2 times but never read" + System.lineSeparator(), tracker.report());
+    }
+
+    @Test
+    public void shouldNotReportParamsThatWereOnlyDefaulted()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslSchema schema = new DslSchema(new RequiredArg("a"), new OptionalArg("b").setDefault("x")).withAccessTracker(tracker);
+
+        final DslParams params = schema.parse("a=1");
+        params.value("a");
+
+        assertTrue(tracker.getUnusedParams().isEmpty());
+    }
+
+    @Test
+    public void shouldTreatCheckingForAValueAsARead()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslSchema schema = new DslSchema(new OptionalArg("a")).withAccessTracker(tracker);
+
+        final DslParams params = schema.parse("a=1");
+        params.hasValue("a");
+
+        assertTrue(tracker.getUnusedParams().isEmpty());
+    }
+
+    @Test
+    public void shouldReportUnreadGroupParamsAgainstTheirGroup()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslSchema schema = new DslSchema(new RequiredArg("a"), new RepeatingArgGroup(new RequiredArg("group"), new OptionalArg("value")))
+                .withAccessTracker(tracker);
+
+        final DslParams params = schema.parse("a=1", "group=g1", "value=v1", "group=g2", "value=v2");
+        params.value("a");
+        for (final RepeatingGroup group : params.valuesAsGroup("group"))
+        {
+            group.value("group");
+        }
+
+        final List<AccessTracker.UnusedParam> unusedParams = tracker.getUnusedParams();
+        assertEquals(1, unusedParams.size());
+        assertEquals("a, group / group", unusedParams.get(0).getSignature());
+        assertEquals("value", unusedParams.get(0).getParamName());
+        assertEquals(2, unusedParams.get(0).getSuppliedCount());
+    }
+
+    @Test
+    public void shouldTrackReadsThroughASchema()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslSchema schema = new DslSchema(new RequiredArg("a"), new OptionalArg("b")).withName("pair").withAccessTracker(tracker);
+
+        schema.parse("a: 1", "b: 2").value("a");
+
+        assertEquals("pair: b supplied 1 times but never read" + System.lineSeparator(), tracker.report());
+    }
+
+    @Test
+    public void shouldCountSchemasThatShareANameSeparately()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslSchema pair = new DslSchema(new RequiredArg("a"), new OptionalArg("b")).withName("order").withAccessTracker(tracker);
+        final DslSchema single = new DslSchema(new RequiredArg("c")).withName("order").withAccessTracker(tracker);
+
+        pair.parse("a: 1", "b: 2").value("a");
+        single.parse("c: 3");
+
+        assertEquals(
+                "order: b supplied 1 times but never read" + System.lineSeparator() + "order: c supplied 1 times but never read" + System.lineSeparator(),
+                tracker.report());
+    }
+}
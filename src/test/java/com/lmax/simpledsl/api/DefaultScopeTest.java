@@ -0,0 +1,119 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultScopeTest
+{
+    private static final DslSchema PLACE_ORDER = new DslSchema(
+            new RequiredArg("account"),
+            new OptionalArg("instrument").setDefault("EURUSD"),
+            IntArg.optional("quantity").setDefault("1"),
+            new OptionalArg("tags").setAllowMultipleValues());
+
+    @Test
+    public void shouldUseScopedValuesForParamsThatAreNotSupplied()
+    {
+        final DefaultScope scope = DefaultScope.EMPTY.with("account", "acc-1").with("quantity", "5").with("tags", "a", "b");
+
+        final DslParams params = PLACE_ORDER.withDefaultScope(scope).parse();
+
+        assertEquals("acc-1", params.value("account"));
+        assertEquals("EURUSD", params.value("instrument"));
+        assertEquals(5, params.valueAsInt("quantity"));
+        assertArrayEquals(new String[]{"a", "b"}, params.values("tags"));
+    }
+
+    @Test
+    public void shouldPreferSuppliedValuesToScopedValues()
+    {
+        final DslSchema placeOrder = PLACE_ORDER.withDefaultScope(DefaultScope.EMPTY.with("account", "acc-1").with("instrument", "GBPUSD"));
+
+        final DslParams params = placeOrder.parse("account: acc-2");
+
+        assertEquals("acc-2", params.value("account"));
+        assertEquals("GBPUSD", params.value("instrument"));
+    }
+
+    @Test
+    public void shouldHideEnclosingValuesInNestedScopes()
+    {
+        final DefaultScope outer = DefaultScope.EMPTY.with("account", "acc-1").with("instrument", "GBPUSD");
+        final DefaultScope inner = outer.with("account", "acc-2").with("instrument");
+
+        final DslParams params = PLACE_ORDER.withDefaultScope(inner).parse();
+
+        assertEquals("acc-2", params.value("account"));
+        assertEquals("EURUSD", params.value("instrument"));
+        assertArrayEquals(new String[]{"acc-1"}, outer.values("ACCOUNT"));
+        assertNull(inner.values("instrument"));
+    }
+
+    @Test
+    public void shouldStillRequireValuesThatAreNotScoped()
+    {
+        final DslSchema placeOrder = PLACE_ORDER.withDefaultScope(DefaultScope.EMPTY.with("instrument", "GBPUSD"));
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, placeOrder::parse);
+
+        assertEquals("Missing value for parameter: account", exception.getMessage());
+    }
+
+    @Test
+    public void shouldUseTheCaseOfTheAllowedValueForScopedValues()
+    {
+        final DslSchema schema = new DslSchema(new RequiredArg("side").setAllowedValues("buy", "sell"))
+                .withDefaultScope(DefaultScope.EMPTY.with("side", "BUY"));
+
+        assertEquals("buy", schema.parse().value("side"));
+    }
+
+    @Test
+    public void shouldRejectScopedValuesThatAreNotAllowed()
+    {
+        final DslSchema schema = new DslSchema(BooleanArg.optional("active")).withDefaultScope(DefaultScope.EMPTY.with("active", "yes"));
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, schema::parse);
+
+        assertEquals("active parameter value 'yes' must be one of: [true, false]", exception.getMessage());
+    }
+
+    @Test
+    public void shouldRejectMultipleScopedValuesForAParamThatTakesOneValue()
+    {
+        final DslSchema schema = PLACE_ORDER.withDefaultScope(DefaultScope.EMPTY.with("account", "acc-1", "acc-2"));
+
+        final ParseResult result = schema.tryParse();
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals(ParseErrorCode.MULTIPLE_VALUES_NOT_ALLOWED, result.getErrors().get(0).getCode());
+    }
+
+    @Test
+    public void shouldIgnoreRejectedScopedValuesForParamsThatAreSupplied()
+    {
+        final DslSchema schema = new DslSchema(BooleanArg.optional("active")).withDefaultScope(DefaultScope.EMPTY.with("active", "yes"));
+
+        assertTrue(schema.parse("active: TRUE").valueAsBoolean("active"));
+    }
+}
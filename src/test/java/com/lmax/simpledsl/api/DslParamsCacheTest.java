@@ -0,0 +1,138 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.DslParamsParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DslParamsCacheTest
+{
+    private final DslArg[] dslArgs = {new RequiredArg("name")};
+
+    @Test
+    public void shouldReturnCachedParamsWhenTheSameValueInstancesAreSupplied()
+    {
+        final DslParamsCache cache = new DslParamsCache(8);
+        final DslParams params = DslParams.create(new String[]{"FTSE100"}, dslArgs);
+        cache.put(dslArgs, new String[]{"FTSE100"}, params);
+
+        assertSame(params, cache.get(dslArgs, new String[]{"FTSE100"}));
+        assertEquals(1, cache.getIdentityHitCount());
+        assertEquals(0, cache.getContentHitCount());
+    }
+
+    @Test
+    public void shouldReturnCachedParamsWhenEqualValuesAreSupplied()
+    {
+        final DslParamsCache cache = new DslParamsCache(8);
+        final DslParams params = DslParams.create(new String[]{"FTSE100"}, dslArgs);
+        cache.put(dslArgs, new String[]{"FTSE100"}, params);
+
+        assertSame(params, cache.get(dslArgs, new String[]{new String("FTSE100")}));
+        assertEquals(0, cache.getIdentityHitCount());
+        assertEquals(1, cache.getContentHitCount());
+    }
+
+    @Test
+    public void shouldNotMatchDifferentArgDefinitions()
+    {
+        final DslParamsCache cache = new DslParamsCache(8);
+        final DslParams params = DslParams.create(new String[]{"FTSE100"}, dslArgs);
+        cache.put(dslArgs, new String[]{"FTSE100"}, params);
+
+        assertNull(cache.get(new DslArg[]{new RequiredArg("name")}, new String[]{"FTSE100"}));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldNotBeAffectedByChangesToTheSuppliedArray()
+    {
+        final DslParamsCache cache = new DslParamsCache(8);
+        final String[] args = {"FTSE100"};
+        final DslParams params = DslParams.create(args, dslArgs);
+        cache.put(dslArgs, args, params);
+
+        args[0] = "DOW";
+
+        assertNull(cache.get(dslArgs, args));
+        assertSame(params, cache.get(dslArgs, new String[]{"FTSE100"}));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedEntry()
+    {
+        final DslParamsCache cache = new DslParamsCache(2);
+        cache.put(dslArgs, new String[]{"a"}, DslParams.create(new String[]{"a"}, dslArgs));
+        cache.put(dslArgs, new String[]{"b"}, DslParams.create(new String[]{"b"}, dslArgs));
+        cache.get(dslArgs, new String[]{new String("a")});
+        cache.put(dslArgs, new String[]{"c"}, DslParams.create(new String[]{"c"}, dslArgs));
+
+        assertNull(cache.get(dslArgs, new String[]{"b"}));
+        assertEquals("a", cache.get(dslArgs, new String[]{"a"}).value("name"));
+        assertEquals("c", cache.get(dslArgs, new String[]{"c"}).value("name"));
+    }
+
+    @Test
+    public void shouldReportTheHitRate()
+    {
+        final DslParamsCache cache = new DslParamsCache(8);
+        cache.put(dslArgs, new String[]{"a"}, DslParams.create(new String[]{"a"}, dslArgs));
+
+        cache.get(dslArgs, new String[]{"a"});
+        cache.get(dslArgs, new String[]{"a"});
+        cache.get(dslArgs, new String[]{"a"});
+        cache.get(dslArgs, new String[]{"b"});
+
+        assertEquals(0.75, cache.getHitRate());
+    }
+
+    @Test
+    public void shouldReuseParsedParamsFromASchema()
+    {
+        final DslSchema schema = new DslSchema(
+                new DslParamsParser().withResultCache(new DslParamsCache(8)),
+                new RequiredArg("name"));
+
+        final DslParams first = schema.parse("name: FTSE100");
+        final DslParams second = schema.parse("name: FTSE100");
+        final DslParams third = schema.parse("name: DOW");
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals("DOW", third.value("name"));
+    }
+
+    @Test
+    public void shouldNotCacheInvalidArguments()
+    {
+        final DslParamsCache cache = new DslParamsCache(8);
+        final DslSchema schema = new DslSchema(
+                new DslParamsParser().withResultCache(cache),
+                new RequiredArg("name"));
+
+        assertThrows(IllegalArgumentException.class, schema::parse);
+        assertThrows(IllegalArgumentException.class, schema::parse);
+        assertEquals(0, cache.getHitCount());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DslParamsTest
+{
+    private static final DslParams PARSED = DslParams.create(
+            new String[]{"name: orders", "order: 1", "side: buy", "order: 2", "side: sell", "order: 3", "side: buy"},
+            new RequiredArg("name"),
+            new RepeatingArgGroup(new RequiredArg("order"), new OptionalArg("side")));
+
+    @Test
+    public void shouldFindGroupRowsOfImplementationsWithOnlyTheOriginalMethods()
+    {
+        final DslParams params = new MinimalDslParams(PARSED);
+
+        assertEquals("1,2,3", params.groupStream("order").map(row -> row.value("order")).collect(Collectors.joining(",")));
+        assertEquals("buy", params.groupRow("order", "3").value("side"));
+        assertNull(params.groupRow("order", "4"));
+        assertEquals(2, params.groupRowsWhere("order", "side", "buy").length);
+        assertThrows(IllegalArgumentException.class, () -> params.groupRowsWhere("order", "unknown", "buy"));
+    }
+
+    @Test
+    public void shouldNotDeriveParamsFromImplementationsWithOnlyTheOriginalMethods()
+    {
+        final DslParams params = new MinimalDslParams(PARSED);
+
+        assertThrows(UnsupportedOperationException.class, () -> params.with("name", "trades"));
+        assertThrows(UnsupportedOperationException.class, () -> params.without("name"));
+    }
+
+    private static final class MinimalDslParams implements DslParams
+    {
+        private final DslParams delegate;
+
+        MinimalDslParams(final DslParams delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public RepeatingGroup[] valuesAsGroup(final String groupName)
+        {
+            return delegate.valuesAsGroup(groupName);
+        }
+
+        @Override
+        public boolean hasValue(final String name)
+        {
+            return delegate.hasValue(name);
+        }
+
+        @Override
+        public boolean hasParam(final String name)
+        {
+            return delegate.hasParam(name);
+        }
+
+        @Override
+        public String value(final String name)
+        {
+            return delegate.value(name);
+        }
+
+        @Override
+        public String[] values(final String name)
+        {
+            return delegate.values(name);
+        }
+
+        @Override
+        public DslArg[] getParams()
+        {
+            return delegate.getParams();
+        }
+    }
+}
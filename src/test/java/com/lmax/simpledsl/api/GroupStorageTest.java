@@ -0,0 +1,133 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupStorageTest
+{
+    private static final DslSchema INSTRUMENTS = new DslSchema(
+            new RequiredArg("venue"),
+            new RepeatingArgGroup(
+                    new RequiredArg("instrument"),
+                    DecimalArg.required("price"),
+                    IntArg.optional("lotSize").setDefault("1"),
+                    new OptionalArg("aliases").setAllowMultipleValues()));
+
+    @Test
+    public void shouldPackGroupValuesIntoStorage()
+    {
+        final int rowCount = 5_000;
+        final String[] args = new String[rowCount * 3 + 1];
+        args[0] = "venue: LMAX";
+        for (int i = 0; i < rowCount; i++)
+        {
+            args[i * 3 + 1] = "instrument: I" + i;
+            args[i * 3 + 2] = "price: " + i + ".5";
+            args[i * 3 + 3] = "aliases: a" + i + ", \u00e9" + i;
+        }
+
+        try (GroupStorage storage = new GroupStorage())
+        {
+            final DslParams params = INSTRUMENTS.withGroupStorage(storage).parse(args);
+
+            final RepeatingGroup[] rows = params.valuesAsGroup("instrument");
+            assertEquals(rowCount, rows.length);
+            assertEquals("I4321", rows[4321].value("instrument"));
+            assertEquals(new BigDecimal("4321.5"), rows[4321].valueAsBigDecimal("price"));
+            assertEquals(1, rows[4321].valueAsInt("lotSize"));
+            assertArrayEquals(new String[]{"a4321", "\u00e94321"}, rows[4321].values("aliases"));
+            assertTrue(rows[0].hasValue("aliases"));
+            assertFalse(rows[0].hasParam("venue"));
+            assertNull(rows[0].value("unknown"));
+
+            assertEquals("9.5", params.groupRow("instrument", "I9").value("price"));
+            assertEquals(rowCount, params.groupStream("instrument").parallel().filter(row -> row.value("instrument").startsWith("I")).count());
+            assertTrue(storage.getAllocatedBytes() > 0);
+        }
+    }
+
+    @Test
+    public void shouldDictionaryEncodeColumnsWithFewDistinctValues()
+    {
+        final DslSchema orders = new DslSchema(new RepeatingArgGroup(
+                new RequiredArg("order"),
+                new RequiredArg("side").setAllowedValues("buy", "sell"),
+                new OptionalArg("currency")));
+        final int rowCount = 1_000;
+        final String[] args = new String[rowCount * 3];
+        for (int i = 0; i < rowCount; i++)
+        {
+            args[i * 3] = "order: " + i;
+            args[i * 3 + 1] = i % 2 == 0 ? "side: SELL" : "side: buy";
+            args[i * 3 + 2] = i % 3 == 0 ? "currency: USD" : "currency: EUR";
+        }
+
+        try (GroupStorage storage = new GroupStorage())
+        {
+            final RepeatingGroup[] rows = orders.withGroupStorage(storage).parse(args).valuesAsGroup("order");
+
+            assertEquals(1, rows[0].valueCode("side"));
+            assertEquals(0, rows[1].valueCode("side"));
+            assertEquals("sell", rows[0].valueForCode("side", rows[0].valueCode("side")));
+            assertSame(rows[0].value("side"), rows[998].value("side"));
+            assertSame(rows[3].value("currency"), rows[6].value("currency"));
+            assertEquals(rows[1].valueCode("currency"), rows[2].valueCode("currency"));
+            assertEquals(-1, rows[0].valueCode("order"));
+            assertEquals("999", rows[999].value("order"));
+            assertThrows(IllegalArgumentException.class, () -> rows[0].valueForCode("order", 0));
+            assertThrows(IllegalArgumentException.class, () -> rows[0].valueForCode("side", 2));
+        }
+    }
+
+    @Test
+    public void shouldNotReadGroupsOnceStorageIsClosed()
+    {
+        final GroupStorage storage = new GroupStorage();
+        final DslParams params = INSTRUMENTS.withGroupStorage(storage).parse("venue: LMAX", "instrument: EURUSD", "price: 1.1");
+        final RepeatingGroup row = params.valuesAsGroup("instrument")[0];
+        assertEquals("EURUSD", row.value("instrument"));
+
+        storage.close();
+
+        assertEquals(0, storage.getAllocatedBytes());
+        assertEquals("LMAX", params.value("venue"));
+        assertThrows(IllegalStateException.class, () -> row.value("instrument"));
+        assertThrows(IllegalStateException.class, () -> INSTRUMENTS.withGroupStorage(storage).parse("venue: LMAX", "instrument: GBPUSD", "price: 1.2"));
+    }
+
+    @Test
+    public void shouldPackEmptyGroups()
+    {
+        try (GroupStorage storage = new GroupStorage())
+        {
+            final DslParams params = INSTRUMENTS.withGroupStorage(storage).parse("venue: LMAX");
+
+            assertEquals(0, params.valuesAsGroup("instrument").length);
+            assertNull(params.groupRow("instrument", "EURUSD"));
+        }
+    }
+}
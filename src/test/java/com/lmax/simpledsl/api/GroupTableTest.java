@@ -0,0 +1,190 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.DslParamsParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GroupTableTest
+{
+    private static final DslSchema ORDERS = new DslSchema(
+            new RequiredArg("account"),
+            new RepeatingArgGroup(
+                    new RequiredArg("order"),
+                    new OptionalArg("side").setAllowedValues("buy", "sell"),
+                    IntArg.optional("quantity").setDefault("1"),
+                    new OptionalArg("tags").setAllowMultipleValues()));
+
+    @Test
+    public void shouldAddTableRowsAfterRowsSuppliedAsArguments()
+    {
+        final GroupTable table = GroupTable.of(
+                "order",
+                new String[]{"Order", "side", "quantity", "tags"},
+                new String[]{"o-2", "SELL", "20", "a, b"},
+                new String[]{"o-3", null, null});
+
+        final DslParams params = ORDERS.parse(table, "account: acc-1", "order: o-1", "side: buy");
+
+        final RepeatingGroup[] rows = params.valuesAsGroup("order");
+        assertEquals(3, rows.length);
+        assertEquals("o-1", rows[0].value("order"));
+        assertEquals("sell", rows[1].value("side"));
+        assertEquals(20, rows[1].valueAsInt("quantity"));
+        assertArrayEquals(new String[]{"a", "b"}, rows[1].values("tags"));
+        assertFalse(rows[2].hasValue("side"));
+        assertEquals(1, rows[2].valueAsInt("quantity"));
+    }
+
+    @Test
+    public void shouldParseCommaSeparatedValues()
+    {
+        final GroupTable table = GroupTable.parse(
+                "order",
+                "order, side, tags\r\n" +
+                "\n" +
+                "o-1,   buy,  \"x, y\"\n" +
+                "\" o-2 \", , \"say \"\"hi\"\"\"\n");
+
+        assertArrayEquals(new String[]{"order", "side", "tags"}, table.getHeader());
+        assertEquals(2, table.getRowCount());
+        assertEquals("x, y", table.value(0, 2));
+        assertEquals(" o-2 ", table.value(1, 0));
+        assertNull(table.value(1, 1));
+        assertEquals("say \"hi\"", table.value(1, 2));
+
+        final DslParams params = ORDERS.parse(table, "account: acc-1");
+        assertArrayEquals(new String[]{"x", "y"}, params.valuesAsGroup("order")[0].values("tags"));
+    }
+
+    @Test
+    public void shouldReadCommaSeparatedValues() throws IOException
+    {
+        final StringBuilder text = new StringBuilder("order,quantity\n");
+        for (int i = 0; i < 10_000; i++)
+        {
+            text.append("o-").append(i).append(',').append(i).append('\n');
+        }
+
+        final DslParams params = ORDERS.parse(GroupTable.read("order", new StringReader(text.toString())), "account: acc-1");
+
+        final RepeatingGroup[] rows = params.valuesAsGroup("order");
+        assertEquals(10_000, rows.length);
+        assertEquals(9999, rows[9999].valueAsInt("quantity"));
+    }
+
+    @Test
+    public void shouldReadRowsOnlyAsTheyAreParsed() throws IOException
+    {
+        final RowGenerator reader = new RowGenerator(100_000);
+        final GroupTable table = GroupTable.read("order", reader);
+
+        assertArrayEquals(new String[]{"order", "quantity"}, table.getHeader());
+        assertEquals(1, reader.rowsRead);
+        assertThrows(IllegalStateException.class, table::getRowCount);
+
+        final RepeatingGroup[] rows = ORDERS.parse(table, "account: acc-1").valuesAsGroup("order");
+        assertEquals(100_000, rows.length);
+        assertEquals(99_999, rows[99_999].valueAsInt("quantity"));
+        assertThrows(IllegalStateException.class, () -> ORDERS.parse(table, "account: acc-1"));
+    }
+
+    @Test
+    public void shouldApplyTheSameRulesAsNamedValues()
+    {
+        final ParseResult result = new DslParamsParser().tryParse(
+                null,
+                Arrays.asList(
+                        GroupTable.parse("order", "side, price\nhold, 1\n"),
+                        GroupTable.parse("trade", "trade\nt-1\n")),
+                new String[]{"account: acc-1"},
+                true,
+                ORDERS.getArgs());
+
+        assertEquals(4, result.getErrors().size());
+        assertEquals("Unexpected argument price", result.getErrors().get(0).getMessage());
+        assertEquals(ParseErrorCode.VALUE_NOT_ALLOWED, result.getErrors().get(1).getCode());
+        assertEquals("Did not supply a value for order in group order", result.getErrors().get(2).getMessage());
+        assertEquals("Unexpected argument trade", result.getErrors().get(3).getMessage());
+    }
+
+    @Test
+    public void shouldRejectRowsLongerThanTheHeader()
+    {
+        final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> GroupTable.parse("order", "order\no-1, buy\n"));
+
+        assertEquals("Row 1 has 2 values but the header only has 1 columns", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> GroupTable.parse("order", "order\n\"o-1\n"));
+    }
+
+    /**
+     * Generates the text of a table a line at a time, as each line is needed.
+     */
+    private static final class RowGenerator extends Reader
+    {
+        private final int rowCount;
+        private String line = "order,quantity\n";
+        private int position;
+        private int rowsRead;
+
+        RowGenerator(final int rowCount)
+        {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length)
+        {
+            if (position == line.length())
+            {
+                if (rowsRead == rowCount + 1)
+                {
+                    return -1;
+                }
+                line = "o-" + rowsRead + "," + (rowsRead - 1) + "\n";
+                position = 0;
+            }
+            if (position == 0)
+            {
+                rowsRead++;
+            }
+
+            final int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.DslParamsParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParamForwardingTest
+{
+    private static final DslSchema OUTER = new DslSchema(
+            new RequiredArg("user"),
+            new OptionalArg("side").setAllowedValues("buy", "sell"),
+            new OptionalArg("instruments").setAllowMultipleValues(),
+            new OptionalArg("note"));
+
+    @Test
+    public void shouldForwardParamsWithTheSameName()
+    {
+        final DslSchema inner = new DslSchema(new RequiredArg("user"), new OptionalArg("instruments").setAllowMultipleValues(), new OptionalArg("password"));
+
+        final DslParams outer = OUTER.parse("user: jenny", "instruments: EURUSD, GBPUSD");
+        final DslParams params = inner.parse(ParamForwarding.from(outer), "password: secret");
+
+        assertEquals("jenny", params.value("user"));
+        assertArrayEquals(new String[]{"EURUSD", "GBPUSD"}, params.values("instruments"));
+        assertEquals("secret", params.value("password"));
+    }
+
+    @Test
+    public void shouldPreferSuppliedArgumentsToForwardedParams()
+    {
+        final DslSchema inner = new DslSchema(new RequiredArg("user"), new OptionalArg("note").setDefault("none"));
+
+        final DslParams params = inner.parse(ParamForwarding.from(OUTER.parse("user: jenny")), "user: bob");
+
+        assertEquals("bob", params.value("user"));
+        assertEquals("none", params.value("note"));
+    }
+
+    @Test
+    public void shouldForwardRenamedParams()
+    {
+        final DslSchema inner = new DslSchema(new RequiredArg("loginAs"), new OptionalArg("user"));
+
+        final DslParams params = inner.parse(ParamForwarding.from(OUTER.parse("user: jenny")).rename("user", "loginAs"));
+
+        assertEquals("jenny", params.value("loginAs"));
+        assertNull(params.value("user"));
+    }
+
+    @Test
+    public void shouldCheckTheRulesOfTheReceivingArgs()
+    {
+        final DslParams outer = OUTER.parse("user: jenny", "side: buy", "instruments: EURUSD, GBPUSD");
+
+        final DslSchema canonical = new DslSchema(new RequiredArg("side").setAllowedValues("BUY", "SELL"));
+        assertEquals("BUY", canonical.parse(ParamForwarding.from(outer)).value("side"));
+
+        final DslArg restricted = new RequiredArg("side").setAllowedValues("SELL");
+        final ParseResult result = new DslParamsParser().tryParse(null, ParamForwarding.from(outer), new String[0], false, restricted);
+        assertEquals(ParseErrorCode.VALUE_NOT_ALLOWED, result.getFirstError().getCode());
+
+        final DslSchema single = new DslSchema(new RequiredArg("instruments"));
+        assertThrows(IllegalArgumentException.class, () -> single.parse(ParamForwarding.from(outer)));
+
+        final DslSchema typed = new DslSchema(IntArg.required("user"));
+        assertThrows(IllegalArgumentException.class, () -> typed.parse(ParamForwarding.from(outer)));
+    }
+
+    @Test
+    public void shouldReportMissingValuesThatAreNotForwarded()
+    {
+        final DslSchema inner = new DslSchema(new RequiredArg("user"), new RequiredArg("password"));
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> inner.parse(ParamForwarding.from(OUTER.parse("user: jenny"))));
+
+        assertEquals("Missing value for parameter: password", exception.getMessage());
+        assertFalse(OUTER.parse("user: jenny").hasValue("note"));
+    }
+
+    @Test
+    public void shouldNotGiveTwoSourceParamsTheSameName()
+    {
+        final ParamForwarding forwarding = ParamForwarding.from(OUTER.parse("user: jenny")).rename("user", "loginAs");
+
+        assertThrows(IllegalArgumentException.class, () -> forwarding.rename("note", "loginAs"));
+        assertEquals("note", forwarding.rename("user", "owner").rename("note", "loginAs").getSourceName("loginAs"));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import com.lmax.simpledsl.internal.DslParamsParser;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParseMetricsTest
+{
+    @Test
+    public void shouldCountParsesForEachSchema()
+    {
+        final ParseMetrics metrics = new ParseMetrics();
+        final DslParamsParser parser = new DslParamsParser().withParseListener(metrics);
+        final DslSchema createUser = new DslSchema(parser, new RequiredArg("user"), new OptionalArg("password").setDefault("pass")).withName("createUser");
+        final DslSchema login = new DslSchema(parser, new RequiredArg("user"));
+
+        createUser.parse("user: joan");
+        createUser.parse("user: jenny", "password: secret");
+        login.parse("joan");
+
+        final SchemaParseMetrics createUserMetrics = metrics.getSchemaMetrics("createUser");
+        assertEquals(2, createUserMetrics.getParseCount());
+        assertEquals(3, createUserMetrics.getArgumentCount());
+        assertEquals(1, createUserMetrics.getDefaultsAppliedCount());
+        assertEquals(0, createUserMetrics.getFailedParseCount());
+        assertEquals(1, metrics.getSchemaMetrics("user").getParseCount());
+        assertTrue(metrics.getSchemaNames().contains("createUser"));
+        assertNull(metrics.getSchemaMetrics("unknown"));
+    }
+
+    @Test
+    public void shouldCountFailuresAndGroupRows()
+    {
+        final ParseMetrics metrics = new ParseMetrics();
+        final DslSchema schema = new DslSchema(
+                new DslParamsParser().withParseListener(metrics),
+                new RequiredArg("a"),
+                new RepeatingArgGroup(new RequiredArg("b"), new OptionalArg("c")));
+
+        schema.parse("1", "b: 1", "c: 1", "b: 2");
+        assertThrows(IllegalArgumentException.class, () -> schema.parse("b: 3", "d: 1"));
+
+        final SchemaParseMetrics schemaMetrics = metrics.getSchemaMetrics("a, b");
+        assertEquals(2, schemaMetrics.getParseCount());
+        assertEquals(1, schemaMetrics.getFailedParseCount());
+        assertEquals(3, schemaMetrics.getGroupRowCount());
+        assertEquals(2, schemaMetrics.getValidationFailureCount());
+    }
+
+    @Test
+    public void shouldUseTheSignatureOfUnnamedArgs()
+    {
+        final ParseMetrics metrics = new ParseMetrics();
+
+        new DslParamsParser().withParseListener(metrics).parse(new String[]{"1"}, new RequiredArg("a"), new OptionalArg("b"));
+
+        assertEquals(1, metrics.getSchemaMetrics("a, b").getParseCount());
+    }
+
+    @Test
+    public void shouldRecordLatencies()
+    {
+        final ParseMetrics metrics = new ParseMetrics();
+        final DslSchema schema = new DslSchema(new DslParamsParser().withParseListener(metrics), new RequiredArg("a"));
+
+        for (int i = 0; i < 10; i++)
+        {
+            schema.parse("a: " + i);
+        }
+
+        final SchemaParseMetrics schemaMetrics = metrics.getSchemaMetrics("a");
+        long recorded = 0;
+        for (final long count : schemaMetrics.getLatencyHistogram())
+        {
+            recorded += count;
+        }
+        assertEquals(10, recorded);
+        assertTrue(schemaMetrics.getMaxLatencyNanos() > 0);
+        assertTrue(schemaMetrics.getMeanLatencyNanos() <= schemaMetrics.getMaxLatencyNanos());
+        assertTrue(schemaMetrics.getLatencyPercentileNanos(100) >= schemaMetrics.getMaxLatencyNanos());
+    }
+
+    @Test
+    public void shouldExposeMetricsOverJmx() throws Exception
+    {
+        final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        final ParseMetrics metrics = new ParseMetrics(mBeanServer);
+        final DslSchema schema = new DslSchema(new DslParamsParser().withParseListener(metrics), new RequiredArg("a")).withName("jmx");
+
+        schema.parse("a: 1");
+
+        final ObjectName objectName = new ObjectName("com.lmax.simpledsl:type=ParseMetrics,schema=" + ObjectName.quote("jmx"));
+        assertEquals(1L, mBeanServer.getAttribute(objectName, "ParseCount"));
+
+        metrics.unregisterMBeans();
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimpleDslArgTest
+{
+    @Test
+    public void shouldNotAllowAFrozenArgToBeChanged()
+    {
+        final OptionalArg arg = new OptionalArg("side");
+        arg.setDefault("buy").freeze();
+
+        assertTrue(arg.isFrozen());
+        assertThrows(IllegalStateException.class, () -> arg.setDefault("sell"));
+        assertThrows(IllegalStateException.class, () -> arg.setAllowedValues("buy", "sell"));
+        assertThrows(IllegalStateException.class, () -> arg.setAllowedValues(Boolean.class));
+        assertThrows(IllegalStateException.class, arg::setAllowMultipleValues);
+        assertEquals("buy", arg.getDefaultValue());
+    }
+
+    @Test
+    public void shouldNotExposeTheAllowedValues()
+    {
+        final String[] allowedValues = {"buy", "sell"};
+        final RequiredArg arg = new RequiredArg("side").setAllowedValues(allowedValues).freeze();
+
+        allowedValues[0] = "hold";
+        arg.getAllowedValues()[1] = "hold";
+
+        assertArrayEquals(new String[]{"buy", "sell"}, arg.getAllowedValues());
+    }
+
+    @Test
+    public void shouldFindTheMatchingAllowedValueIgnoringCase()
+    {
+        final RequiredArg arg = new RequiredArg("side").setAllowedValues("buy", "sell");
+
+        assertEquals("sell", arg.findAllowedValue("SELL"));
+        assertNull(arg.findAllowedValue("hold"));
+    }
+
+    @Test
+    public void shouldAllowAnyValueWhenAllowedValuesAreNotRestricted()
+    {
+        final String value = "anything";
+
+        assertSame(value, new OptionalArg("side").findAllowedValue(value));
+    }
+
+    @Test
+    public void shouldFreezeAllArgsInARepeatingGroup()
+    {
+        final RequiredArg identity = new RequiredArg("user");
+        final OptionalArg otherArg = new OptionalArg("password");
+
+        new RepeatingArgGroup(identity, otherArg).freeze();
+
+        assertTrue(identity.isFrozen());
+        assertTrue(otherArg.isFrozen());
+    }
+
+    @Test
+    public void shouldFreezeArgsWhenCreatingASchema()
+    {
+        final RequiredArg user = new RequiredArg("user");
+        final OptionalArg password = new OptionalArg("password");
+        final OptionalArg notInSchema = new OptionalArg("other");
+
+        new DslSchema(user, new RepeatingArgGroup(new RequiredArg("role"), password));
+
+        assertTrue(user.isFrozen());
+        assertTrue(password.isFrozen());
+        assertFalse(notInSchema.isFrozen());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TemporalFormatTest
+{
+    @Test
+    public void shouldParseIsoDates()
+    {
+        assertEquals(LocalDate.of(2026, 12, 1).toEpochDay(), TemporalFormat.ISO.parseEpochDay("2026-12-01"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), TemporalFormat.ISO.parseEpochDay("2024-02-29"));
+        assertEquals(LocalDate.of(1900, 3, 1).toEpochDay(), TemporalFormat.ISO.parseEpochDay("1900-03-01"));
+        assertEquals(LocalDate.of(1, 1, 1).toEpochDay(), TemporalFormat.ISO.parseEpochDay("0001-01-01"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochDay("2023-02-29"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochDay("2026-13-01"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochDay("2026/12/01"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochDay(null));
+    }
+
+    @Test
+    public void shouldMatchJavaTimeForEveryDayOfAFourHundredYearCycle()
+    {
+        for (LocalDate date = LocalDate.of(1900, 1, 1); date.getYear() < 2300; date = date.plusDays(1))
+        {
+            assertEquals(date.toEpochDay(), TemporalFormat.ISO.parseEpochDay(date.toString()));
+        }
+    }
+
+    @Test
+    public void shouldParseIsoTimes()
+    {
+        assertEquals(LocalTime.of(10, 30).toNanoOfDay(), TemporalFormat.ISO.parseNanosOfDay("10:30"));
+        assertEquals(LocalTime.of(10, 30).toNanoOfDay(), TemporalFormat.ISO.parseNanosOfDay("10:30:00"));
+        assertEquals(LocalTime.parse("10:30:00.125").toNanoOfDay(), TemporalFormat.ISO.parseNanosOfDay("10:30:00.125"));
+        assertEquals(LocalTime.parse("23:59:59.999999999").toNanoOfDay(), TemporalFormat.ISO.parseNanosOfDay("23:59:59.999999999"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseNanosOfDay("24:00"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseNanosOfDay("10:30:00."));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseNanosOfDay("10:3"));
+    }
+
+    @Test
+    public void shouldParseIsoDateTimes()
+    {
+        assertEquals(epochNanos(Instant.parse("2026-12-01T10:30:00.125Z")), TemporalFormat.ISO.parseEpochNanos("2026-12-01T10:30:00.125Z"));
+        assertEquals(epochNanos(Instant.parse("2026-12-01T10:30:00Z")), TemporalFormat.ISO.parseEpochNanos("2026-12-01 10:30"));
+        assertEquals(epochNanos(Instant.parse("2026-12-01T00:00:00Z")), TemporalFormat.ISO.parseEpochNanos("2026-12-01"));
+        assertEquals(epochNanos(OffsetDateTime.parse("2026-12-01T10:30:00+01:00").toInstant()), TemporalFormat.ISO.parseEpochNanos("2026-12-01T10:30:00+01:00"));
+        assertEquals(epochNanos(OffsetDateTime.parse("2026-12-01T10:30:00-05:30").toInstant()), TemporalFormat.ISO.parseEpochNanos("2026-12-01T10:30-0530"));
+        assertEquals(epochNanos(OffsetDateTime.parse("1969-12-31T23:00:00-02:00").toInstant()), TemporalFormat.ISO.parseEpochNanos("1969-12-31T23:00-02"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochNanos("2026-12-01X10:30"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochNanos("2026-12-01T10:30+1"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.ISO.parseEpochNanos("3000-01-01"));
+    }
+
+    @Test
+    public void shouldParseCompiledPatterns()
+    {
+        final TemporalFormat format = TemporalFormat.ofPattern("dd/MM/yyyy HH:mm:ss.SSS");
+
+        assertEquals(epochNanos(Instant.parse("2026-12-01T10:30:05.125Z")), format.parseEpochNanos("01/12/2026 10:30:05.125"));
+        assertEquals(LocalDate.of(2026, 12, 1).toEpochDay(), format.parseEpochDay("01/12/2026 10:30:05.125"));
+        assertEquals(LocalDate.of(2026, 12, 1).toEpochDay(), TemporalFormat.ofPattern("yyyyMMdd").parseEpochDay("20261201"));
+        assertEquals(LocalTime.of(10, 30).toNanoOfDay(), TemporalFormat.ofPattern("HHmm").parseNanosOfDay("1030"));
+        assertEquals(TemporalFormat.INVALID, format.parseEpochDay("01/12/2026"));
+        assertEquals(TemporalFormat.INVALID, format.parseEpochDay("01-12-2026 10:30:05.125"));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedPatterns()
+    {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> TemporalFormat.ofPattern("yy-MM-dd"));
+
+        assertEquals("Unsupported field 'yy' in pattern: yy-MM-dd", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> TemporalFormat.ofPattern("EEE dd MMM"));
+    }
+
+    @Test
+    public void shouldParseDurationsWithUnits()
+    {
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), TemporalFormat.parseDurationNanos("250ms"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), TemporalFormat.parseDurationNanos("250 ms"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), TemporalFormat.parseDurationNanos("1.5s"));
+        assertEquals(TimeUnit.MINUTES.toNanos(90), TemporalFormat.parseDurationNanos("1h 30m"));
+        assertEquals(TimeUnit.MINUTES.toNanos(90), TemporalFormat.parseDurationNanos("1h30min"));
+        assertEquals(TimeUnit.DAYS.toNanos(2), TemporalFormat.parseDurationNanos("2d"));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(5), TemporalFormat.parseDurationNanos("5us"));
+        assertEquals(7, TemporalFormat.parseDurationNanos("7ns"));
+        assertEquals(-TimeUnit.SECONDS.toNanos(3), TemporalFormat.parseDurationNanos("-3s"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("250"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("250 weeks"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("ms"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("999999999999d"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos(""));
+    }
+
+    @Test
+    public void shouldParseIsoDurations()
+    {
+        assertEquals(Duration.parse("PT0.25S").toNanos(), TemporalFormat.parseDurationNanos("PT0.25S"));
+        assertEquals(Duration.parse("P1DT2H3M4.000000005S").toNanos(), TemporalFormat.parseDurationNanos("P1DT2H3M4.000000005S"));
+        assertEquals(Duration.parse("PT90M").toNanos(), TemporalFormat.parseDurationNanos("pt90m"));
+        assertEquals(Duration.parse("-PT1S").toNanos(), TemporalFormat.parseDurationNanos("-PT1S"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("P1M"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("PT1S2H"));
+        assertEquals(TemporalFormat.INVALID, TemporalFormat.parseDurationNanos("PT"));
+    }
+
+    private static long epochNanos(final Instant instant)
+    {
+        return ChronoUnit.NANOS.between(Instant.EPOCH, instant);
+    }
+}
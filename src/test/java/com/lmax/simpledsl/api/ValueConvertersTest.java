@@ -0,0 +1,175 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValueConvertersTest
+{
+    @Test
+    public void shouldConvertBuiltInTypes()
+    {
+        final DslParams params = DslParams.create(
+                new String[]{"instant: 2024-01-02T03:04:05Z", "dates: 2024-01-02, 2024-02-03", "count: 7"},
+                new RequiredArg("instant"),
+                new RequiredArg("dates").setAllowMultipleValues(),
+                new RequiredArg("count"));
+
+        assertEquals(Instant.parse("2024-01-02T03:04:05Z"), params.valueAsType("instant", Instant.class));
+        assertArrayEquals(
+                new LocalDate[]{LocalDate.of(2024, 1, 2), LocalDate.of(2024, 2, 3)},
+                params.valuesAsType("dates", LocalDate.class));
+        assertEquals(Integer.valueOf(7), params.valueAsType("count", int.class));
+        assertEquals(Integer[].class, params.valuesAsType("count", int.class).getClass());
+    }
+
+    @Test
+    public void shouldConvertWithAStaticFactoryMethod()
+    {
+        final DslParams params = DslParams.create(new String[]{"a: VOD.L, BT.L"}, new RequiredArg("a").setAllowMultipleValues());
+
+        final Symbol[] symbols = params.valuesAsType("a", Symbol.class);
+
+        assertEquals(Symbol[].class, symbols.getClass());
+        assertArrayEquals(new Symbol[]{Symbol.of("VOD.L"), Symbol.of("BT.L")}, symbols);
+    }
+
+    @Test
+    public void shouldConvertWithAStringConstructor()
+    {
+        final DslParams params = DslParams.create(new String[]{"a: 12"}, new RequiredArg("a"));
+
+        assertEquals(new Quantity("12"), params.valueAsType("a", Quantity.class));
+    }
+
+    @Test
+    public void shouldPreferARegisteredConverter()
+    {
+        ValueConverters.register(Account.class, value -> new Account("registered " + value), Account[]::new);
+        final DslParams params = DslParams.create(new String[]{"a: 1"}, new RequiredArg("a"));
+
+        assertEquals(new Account("registered 1"), params.valueAsType("a", Account.class));
+        assertEquals(Account[].class, params.valuesAsType("a", Account.class).getClass());
+    }
+
+    @Test
+    public void shouldReturnNullWhenNoValueWasSupplied()
+    {
+        final DslParams params = DslParams.create(new String[0], new OptionalArg("a"));
+
+        assertNull(params.valueAsType("a", Instant.class));
+        assertEquals(0, params.valuesAsType("a", Instant.class).length);
+    }
+
+    @Test
+    public void shouldThrowWhenNoConverterIsAvailable()
+    {
+        final DslParams params = DslParams.create(new String[]{"a: 1"}, new RequiredArg("a"));
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> params.valueAsType("a", Object.class));
+
+        assertEquals("No converter available for java.lang.Object", exception.getMessage());
+    }
+
+    @Test
+    public void shouldCacheConvertersForEachType()
+    {
+        assertSame(ValueConverters.conversionFor(Symbol.class), ValueConverters.conversionFor(Symbol.class));
+    }
+
+    public static final class Symbol
+    {
+        private final String value;
+
+        private Symbol(final String value)
+        {
+            this.value = value;
+        }
+
+        public static Symbol of(final String value)
+        {
+            return new Symbol(value);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof Symbol && ((Symbol) o).value.equals(value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return value.hashCode();
+        }
+    }
+
+    public static final class Quantity
+    {
+        private final String value;
+
+        public Quantity(final String value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof Quantity && ((Quantity) o).value.equals(value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return value.hashCode();
+        }
+    }
+
+    public static final class Account
+    {
+        private final String value;
+
+        public Account(final String value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            return o instanceof Account && Objects.equals(((Account) o).value, value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return value.hashCode();
+        }
+    }
+}
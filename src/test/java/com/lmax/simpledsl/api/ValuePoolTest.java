@@ -0,0 +1,91 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ValuePoolTest
+{
+    @Test
+    public void shouldReturnTheSameInstanceForRepeatedContent()
+    {
+        final ValuePool pool = new ValuePool(16);
+        final String first = new String("FTSE100");
+        final String second = new String("FTSE100");
+
+        assertNotSame(first, second);
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+    }
+
+    @Test
+    public void shouldPoolARegionOfACharSequence()
+    {
+        final ValuePool pool = new ValuePool(16);
+        final String pooled = pool.intern("FTSE100");
+
+        assertSame(pooled, pool.intern(new StringBuilder("name: FTSE100"), 6, 13));
+        assertEquals("FTSE", pool.intern("name: FTSE100", 6, 10));
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses()
+    {
+        final ValuePool pool = new ValuePool(16);
+
+        pool.intern("a");
+        pool.intern("a");
+        pool.intern("b");
+        pool.intern(new String("a"));
+
+        assertEquals(2, pool.getHitCount());
+        assertEquals(2, pool.getMissCount());
+    }
+
+    @Test
+    public void shouldEvictWhenDifferentContentMapsToTheSameSlot()
+    {
+        final ValuePool pool = new ValuePool(1);
+
+        final String first = pool.intern("a");
+        pool.intern("b");
+        final String third = pool.intern(new String("a"));
+
+        assertNotSame(first, third);
+        assertEquals(2, pool.getEvictionCount());
+        assertEquals(0, pool.getHitCount());
+    }
+
+    @Test
+    public void shouldRoundCapacityUpToAPowerOfTwo()
+    {
+        assertEquals(1, new ValuePool(1).getCapacity());
+        assertEquals(8, new ValuePool(5).getCapacity());
+        assertEquals(16, new ValuePool(16).getCapacity());
+    }
+
+    @Test
+    public void shouldRejectNonPositiveCapacity()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ValuePool(0));
+    }
+}
@@ -15,8 +15,17 @@
  */
 package com.lmax.simpledsl.internal;
 
+import com.lmax.simpledsl.api.AccessTracker;
 import com.lmax.simpledsl.api.DslArg;
 import com.lmax.simpledsl.api.DslParams;
+import com.lmax.simpledsl.api.IntArg;
+import com.lmax.simpledsl.api.DslSchema;
+import com.lmax.simpledsl.api.OptionalArg;
+import com.lmax.simpledsl.api.ParseMetrics;
+import com.lmax.simpledsl.api.RepeatingArgGroup;
+import com.lmax.simpledsl.api.RepeatingGroup;
+import com.lmax.simpledsl.api.RequiredArg;
+import com.lmax.simpledsl.api.ValuePool;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
@@ -27,6 +36,7 @@ import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.Spliterator;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -36,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -580,6 +591,167 @@ public class DslParamsImplTest
         assertTrue(params.hasParamAndValue("A"));
     }
 
+    @Test
+    public void shouldDeriveParamsWithANewValueSharingTheOtherParams()
+    {
+        final DslArg[] args = {new RequiredArg("a"), new OptionalArg("b").setDefault("defaultB"), IntArg.optional("c")};
+        final DslParams original = new DslParamsParser().parse(new String[]{"a: 1", "c: 5"}, args);
+
+        final DslParams derived = original.with("c", "7");
+
+        assertEquals(7, derived.valueAsInt("c"));
+        assertEquals(5, original.valueAsInt("c"));
+        assertEquals("1", derived.value("a"));
+        assertEquals("defaultB", derived.value("b"));
+        assertSame(((DslParamsImpl) original).findSimpleParam("a"), ((DslParamsImpl) derived).findSimpleParam("a"));
+    }
+
+    @Test
+    public void shouldValidateTheNewValueWhenDerivingParams()
+    {
+        final DslArg[] args = {new RequiredArg("side").setAllowedValues("buy", "sell"), IntArg.optional("qty").setMin(1)};
+        final DslParams original = new DslParamsParser().parse(new String[]{"side: buy", "qty: 5"}, args);
+
+        assertEquals("sell", original.with("side", "SELL").value("side"));
+
+        final IllegalArgumentException disallowed = assertThrows(IllegalArgumentException.class, () -> original.with("side", "hold"));
+        assertEquals("side parameter value 'hold' must be one of: [buy, sell]", disallowed.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> original.with("qty", "0"));
+        assertThrows(IllegalArgumentException.class, () -> original.with("qty", "many"));
+    }
+
+    @Test
+    public void shouldDeriveParamsWithTheParsersConfiguration()
+    {
+        final ParseMetrics metrics = new ParseMetrics();
+        final ValuePool valuePool = new ValuePool(16);
+        final DslParamsParser parser = new DslParamsParser().withParseListener(metrics).withValuePool(valuePool);
+        final DslArg[] args = {new RequiredArg("side").setAllowedValues("buy", "sell"), new OptionalArg("note")};
+        final DslParams original = new DslSchema(parser, args).withName("order").parse("side: buy", "note: a");
+
+        final String note = new String("shared note");
+        assertSame(valuePool.intern(note), original.with("note", note).value("note"));
+        assertThrows(IllegalArgumentException.class, () -> original.with("side", "hold"));
+        assertTrue(metrics.getSchemaMetrics("order").getValidationFailureCount() != 0);
+    }
+
+    @Test
+    public void shouldTrackReadsOfDerivedParamsSeparately()
+    {
+        final AccessTracker tracker = new AccessTracker();
+        final DslArg[] args = {new RequiredArg("side"), new OptionalArg("note")};
+        final DslParams original = new DslSchema(args).withName("order").withAccessTracker(tracker).parse("side: buy", "note: a");
+
+        final DslParams derived = original.with("side", "sell");
+        original.value("side");
+        assertEquals("order: note supplied 2 times but never read" + System.lineSeparator(), tracker.report());
+
+        derived.value("note");
+        assertEquals("", tracker.report());
+    }
+
+    @Test
+    public void shouldSplitMultipleValuesWhenDerivingParams()
+    {
+        final DslArg[] args = {new OptionalArg("a").setAllowMultipleValues()};
+        final DslParams original = new DslParamsParser().parse(new String[]{"a: x"}, args);
+
+        assertArrayEquals(new String[]{"y", "z"}, original.with("a", "y, z").values("a"));
+    }
+
+    @Test
+    public void shouldDeriveParamsWithoutAValueUsingTheDefault()
+    {
+        final DslArg[] args = {new RequiredArg("a"), new OptionalArg("b").setDefault("defaultB"), new OptionalArg("c")};
+        final DslParams original = new DslParamsParser().parse(new String[]{"a: 1", "b: 2", "c: 3"}, args);
+
+        assertEquals("defaultB", original.without("b").value("b"));
+        assertFalse(original.without("c").hasValue("c"));
+        assertEquals("3", original.value("c"));
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> original.without("a"));
+        assertEquals("Missing value for parameter: a", exception.getMessage());
+    }
+
+    @Test
+    public void shouldNotDeriveParamsForUnknownParamsOrGroups()
+    {
+        final DslArg[] args = {new RequiredArg("a"), new RepeatingArgGroup(new RequiredArg("group"))};
+        final DslParams original = new DslParamsParser().parse(new String[]{"a: 1", "group: g"}, args);
+
+        assertThrows(IllegalArgumentException.class, () -> original.with("unknown", "1"));
+        assertThrows(IllegalArgumentException.class, () -> original.with("group", "h"));
+        assertThrows(IllegalArgumentException.class, () -> original.without("group"));
+    }
+
+    @Test
+    public void shouldFindGroupRowsByIdentityValue()
+    {
+        final DslArg[] args = {new RepeatingArgGroup(new RequiredArg("instrument"), new OptionalArg("price"))};
+        final DslParams params = new DslParamsParser().parse(
+                new String[]{"instrument: EURUSD", "price: 1.1", "instrument: GBPUSD", "price: 1.3", "instrument: EURUSD", "price: 1.2"}, args);
+
+        assertEquals("1.3", params.groupRow("instrument", "GBPUSD").value("price"));
+        assertEquals("1.1", params.groupRow("INSTRUMENT", "EURUSD").value("price"));
+        assertSame(params.groupRow("instrument", "GBPUSD"), params.groupRow("instrument", "GBPUSD"));
+        assertNull(params.groupRow("instrument", "USDJPY"));
+        assertThrows(IllegalArgumentException.class, () -> params.groupRow("price", "1.1"));
+    }
+
+    @Test
+    public void shouldFindGroupRowsByAnyValueOfAField()
+    {
+        final DslArg[] args = {new RepeatingArgGroup(new RequiredArg("order"), new OptionalArg("side"), new OptionalArg("tags").setAllowMultipleValues())};
+        final DslParams params = new DslParamsParser().parse(
+                new String[]{"order: 1", "side: buy", "tags: a, b", "order: 2", "side: sell", "tags: b", "order: 3", "side: buy", "tags: a, a"}, args);
+
+        final RepeatingGroup[] buys = params.groupRowsWhere("order", "side", "buy");
+        assertEquals(2, buys.length);
+        assertEquals("1", buys[0].value("order"));
+        assertEquals("3", buys[1].value("order"));
+
+        assertEquals(2, params.groupRowsWhere("order", "tags", "a").length);
+        assertEquals(2, params.groupRowsWhere("order", "tags", "b").length);
+        assertEquals(0, params.groupRowsWhere("order", "side", "hold").length);
+        assertEquals(
+                "unknown is not a parameter of order",
+                assertThrows(IllegalArgumentException.class, () -> params.groupRowsWhere("order", "unknown", "buy")).getMessage());
+    }
+
+    @Test
+    public void shouldCheckFieldsWhenFindingRowsOfAnEmptyGroup()
+    {
+        final DslArg[] args = {new RequiredArg("a"), new RepeatingArgGroup(new RequiredArg("order"), new OptionalArg("side"))};
+        final DslParams params = new DslParamsParser().parse(new String[]{"a: 1"}, args);
+
+        assertEquals(0, params.groupRowsWhere("order", "side", "buy").length);
+        assertNull(params.groupRow("order", "1"));
+        assertThrows(IllegalArgumentException.class, () -> params.groupRowsWhere("order", "unknown", "buy"));
+    }
+
+    @Test
+    public void shouldStreamGroupRowsInParallel()
+    {
+        final int rowCount = 10_000;
+        final String[] values = new String[rowCount * 2];
+        for (int i = 0; i < rowCount; i++)
+        {
+            values[i * 2] = "order: " + i;
+            values[i * 2 + 1] = "quantity: " + (i % 10);
+        }
+        final DslArg[] args = {new RepeatingArgGroup(new RequiredArg("order"), IntArg.required("quantity"))};
+        final DslParams params = new DslParamsParser().parse(values, args);
+
+        final Spliterator<RepeatingGroup> spliterator = params.groupStream("order").spliterator();
+        assertEquals(rowCount, spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.IMMUTABLE | Spliterator.ORDERED));
+        assertEquals(rowCount / 2, spliterator.trySplit().getExactSizeIfKnown());
+
+        assertEquals(45_000, params.groupStream("order").parallel().mapToInt(row -> row.valueAsInt("quantity")).sum());
+        assertEquals("9999", params.groupStream("order").skip(rowCount - 1).findFirst().map(row -> row.value("order")).orElse(null));
+        assertThrows(IllegalArgumentException.class, () -> params.groupStream("quantity"));
+    }
+
     private enum TestValues
     {
         VALUE_1,
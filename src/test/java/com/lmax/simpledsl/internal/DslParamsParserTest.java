@@ -19,15 +19,20 @@ package com.lmax.simpledsl.internal;
 import com.lmax.simpledsl.api.DslArg;
 import com.lmax.simpledsl.api.DslParams;
 import com.lmax.simpledsl.api.OptionalArg;
+import com.lmax.simpledsl.api.ParseError;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.ParseResult;
 import com.lmax.simpledsl.api.RepeatingArgGroup;
 import com.lmax.simpledsl.api.RepeatingGroup;
 import com.lmax.simpledsl.api.RequiredArg;
+import com.lmax.simpledsl.api.ValuePool;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -508,6 +513,85 @@ class DslParamsParserTest
         assertEquals("2", groups[1].values("value")[1]);
     }
 
+    @Test
+    public void shouldBeAbleToRetrieveNestedGroups()
+    {
+        final String[] args = {
+                "account: acc-1",
+                "order: o-1", "fill: f-1", "price: 10", "fill: f-2", "price: 11", "side: buy",
+                "order: o-2", "side: sell",
+                "order: o-3", "fill: f-3"
+        };
+        final DslArg[] parameters = {
+                new RequiredArg("account"),
+                new RepeatingArgGroup(
+                        new RequiredArg("order"),
+                        new OptionalArg("side"),
+                        new RepeatingArgGroup(
+                                new RequiredArg("fill"),
+                                new OptionalArg("price")))
+        };
+
+        final DslParams params = new DslParamsParser().parse(args, parameters);
+
+        final RepeatingGroup[] orders = params.valuesAsGroup("order");
+        assertEquals(3, orders.length);
+        assertEquals("buy", orders[0].value("side"));
+        final RepeatingGroup[] fills = orders[0].valuesAsGroup("fill");
+        assertEquals(2, fills.length);
+        assertEquals("f-2", fills[1].value("fill"));
+        assertEquals("11", fills[1].value("price"));
+        assertEquals(0, orders[1].valuesAsGroup("fill").length);
+        assertEquals("sell", orders[1].value("side"));
+        assertEquals(1, orders[2].groupStream("fill").count());
+        assertThrows(IllegalArgumentException.class, () -> orders[0].valuesAsGroup("side"));
+        assertThrows(IllegalArgumentException.class, () -> params.valuesAsGroup("fill"));
+    }
+
+    @Test
+    public void shouldBeAbleToNestGroupsMoreThanOneLevelDeep()
+    {
+        final String[] args = {
+                "book: b-1", "order: o-1", "fill: f-1", "fill: f-2", "order: o-2", "fill: f-3",
+                "book: b-2", "order: o-3", "fill: f-4"
+        };
+        final DslArg[] parameters = {
+                new RepeatingArgGroup(
+                        new RequiredArg("book"),
+                        new RepeatingArgGroup(
+                                new RequiredArg("order"),
+                                new RepeatingArgGroup(new RequiredArg("fill"))))
+        };
+
+        try (BufferArena storage = new BufferArena())
+        {
+            for (final DslParamsParser parser : new DslParamsParser[]{new DslParamsParser(), new DslParamsParser().withGroupStorage(storage)})
+            {
+                final RepeatingGroup[] books = parser.parse(args, parameters).valuesAsGroup("book");
+
+                assertEquals(2, books.length);
+                final RepeatingGroup[] orders = books[0].valuesAsGroup("order");
+                assertEquals(2, orders.length);
+                assertEquals("f-3", orders[1].valuesAsGroup("fill")[0].value("fill"));
+                assertEquals("f-4", books[1].valuesAsGroup("order")[0].valuesAsGroup("fill")[0].value("fill"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldReportMissingValuesInNestedGroups()
+    {
+        final DslArg[] parameters = {
+                new RepeatingArgGroup(
+                        new RequiredArg("order"),
+                        new RepeatingArgGroup(new RequiredArg("fill"), new RequiredArg("price")))
+        };
+
+        final ParseResult result = new DslParamsParser().tryParse(new String[]{"order: o-1", "fill: f-1"}, parameters);
+
+        assertEquals("Did not supply a value for price in group fill", result.getErrors().get(0).getMessage());
+    }
+
     @Test
     public void shouldBeAbleToSpecifyMultipleValuesForParamInGroupUsingTheDefaultSeparator()
     {
@@ -936,6 +1020,183 @@ class DslParamsParserTest
         assertEquals("Unexpected ambiguous argument 1", exception.getMessage());
     }
 
+    @Test
+    public void shouldShareValuesThroughAValuePool()
+    {
+        final DslArg[] parameters = {
+                new RequiredArg("a"),
+                new OptionalArg("b").setAllowMultipleValues(),
+                new RepeatingArgGroup(
+                        new RequiredArg("c"),
+                        new OptionalArg("d"))
+        };
+
+        final DslParamsParser parser = new DslParamsParser().withValuePool(new ValuePool(64));
+
+        final DslParams first = parser.parse(new String[]{"a: " + "FTSE100", "b: x, y", "c: 1", "d: " + "GBP"}, parameters);
+        final DslParams second = parser.parse(new String[]{"a=" + "FTSE100", "b: y", "c: 2", "d=" + "GBP"}, parameters);
+
+        assertEquals("FTSE100", second.value("a"));
+        assertSame(first.value("a"), second.value("a"));
+        assertSame(first.values("b")[1], second.values("b")[0]);
+        assertSame(first.valuesAsGroup("c")[0].value("d"), second.valuesAsGroup("c")[0].value("d"));
+    }
+
+    @Test
+    public void shouldReturnASuccessfulResultWhenTryingToParseValidArguments()
+    {
+        final String[] args = {"a=1", "b=2"};
+        final DslArg[] parameters = {
+                new RequiredArg("a"),
+                new OptionalArg("b")
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final ParseResult result = parser.tryParse(args, parameters);
+
+        assertTrue(result.isSuccess());
+        assertNull(result.getFirstError());
+        assertEquals("2", result.getParams().value("b"));
+    }
+
+    @Test
+    public void shouldReportTheFirstErrorWithoutThrowing()
+    {
+        final String[] args = {"b: 2", "c: 3", "b: 4"};
+        final DslArg[] parameters = {
+                new RequiredArg("a"),
+                new OptionalArg("b")
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final ParseResult result = parser.tryParse(args, parameters);
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getErrors().size());
+        final ParseError error = result.getFirstError();
+        assertEquals(ParseErrorCode.UNEXPECTED_ARGUMENT, error.getCode());
+        assertEquals("c: 3", error.getArgument());
+        assertNull(error.getParamName());
+        assertEquals("Unexpected argument c: 3", error.getMessage());
+    }
+
+    @Test
+    public void shouldCollectAllErrorsWhenRequested()
+    {
+        final String[] args = {"b: 2", "c: 3", "b: 4", "d: cat", "e: 1", "e: 2"};
+        final DslArg[] parameters = {
+                new RequiredArg("a"),
+                new OptionalArg("b"),
+                new OptionalArg("d").setAllowedValues("dog"),
+                new OptionalArg("e").setAllowMultipleValues(),
+                new RepeatingArgGroup(
+                        new RequiredArg("f"),
+                        new OptionalArg("g"))
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final ParseResult result = parser.tryParse(args, true, parameters);
+
+        assertFalse(result.isSuccess());
+        assertEquals(4, result.getErrors().size());
+        assertEquals(ParseErrorCode.UNEXPECTED_ARGUMENT, result.getErrors().get(0).getCode());
+        assertEquals(ParseErrorCode.MULTIPLE_VALUES_NOT_ALLOWED, result.getErrors().get(1).getCode());
+        assertEquals("4", result.getErrors().get(1).getArgument());
+        assertEquals(ParseErrorCode.VALUE_NOT_ALLOWED, result.getErrors().get(2).getCode());
+        assertEquals("d parameter value 'cat' must be one of: [dog]", result.getErrors().get(2).getMessage());
+        assertEquals(ParseErrorCode.MISSING_VALUE, result.getErrors().get(3).getCode());
+        assertEquals("a", result.getErrors().get(3).getParamName());
+    }
+
+    @Test
+    public void shouldReportTheGroupForErrorsWithinARepeatingGroup()
+    {
+        final String[] args = {"a: 1", "c: 2"};
+        final DslArg[] parameters = {
+                new OptionalArg("a"),
+                new RepeatingArgGroup(
+                        new RequiredArg("b"),
+                        new RequiredArg("c"))
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final ParseResult result = parser.tryParse(new String[]{"a: 1", "b: 1", "d: 2"}, true, parameters);
+
+        assertEquals(2, result.getErrors().size());
+        assertEquals(ParseErrorCode.MISSING_GROUP_VALUE, result.getErrors().get(0).getCode());
+        assertEquals("b", result.getErrors().get(0).getGroupName());
+        assertEquals("Did not supply a value for c in group b", result.getErrors().get(0).getMessage());
+        assertEquals(ParseErrorCode.UNEXPECTED_ARGUMENT, result.getErrors().get(1).getCode());
+
+        final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> parser.tryParse(args, parameters).getParams());
+
+        assertEquals("Unexpected argument c: 2", exception.getMessage());
+    }
+
+    @Test
+    public void shouldParseTheSameWhetherArgumentsAreNamedInOrderOrOutOfOrder()
+    {
+        final DslArg[] parameters = {
+                new RequiredArg("a"),
+                new OptionalArg("b").setAllowMultipleValues(),
+                new OptionalArg("c").setDefault("3")
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final DslParams inOrder = parser.parse(new String[]{"a=1", "b=2, 4", "5"}, parameters);
+        final DslParams outOfOrder = parser.parse(new String[]{"b=2, 4", "5", "a=1"}, parameters);
+
+        for (final DslParams params : new DslParams[]{inOrder, outOfOrder})
+        {
+            assertEquals("1", params.value("a"));
+            assertArrayEquals(new String[]{"2", "4", "5"}, params.values("b"));
+            assertEquals("3", params.value("c"));
+        }
+    }
+
+    @Test
+    public void shouldSkipAPositionalArgumentWhenGivenANullValueInOrder()
+    {
+        final DslArg[] parameters = {
+                new OptionalArg("a"),
+                new OptionalArg("b"),
+                new OptionalArg("c")
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final DslParams params = parser.parse(new String[]{null, "2", "c=3"}, parameters);
+
+        assertFalse(params.hasValue("a"));
+        assertEquals("2", params.value("b"));
+        assertEquals("3", params.value("c"));
+    }
+
+    @Test
+    public void shouldReportTheSameErrorsForInvalidValuesSuppliedInOrder()
+    {
+        final DslArg[] parameters = {
+                new RequiredArg("a").setAllowedValues("1"),
+                new OptionalArg("b")
+        };
+
+        final DslParamsParser parser = new DslParamsParser();
+
+        final ParseResult result = parser.tryParse(new String[]{"2", "b=1", "b=2"}, true, parameters);
+
+        assertEquals(3, result.getErrors().size());
+        assertEquals(ParseErrorCode.VALUE_NOT_ALLOWED, result.getErrors().get(0).getCode());
+        assertEquals(ParseErrorCode.MULTIPLE_VALUES_NOT_ALLOWED, result.getErrors().get(1).getCode());
+        assertEquals(ParseErrorCode.MISSING_VALUE, result.getErrors().get(2).getCode());
+    }
+
     private enum PossiblePets
     {
         COW,
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslParams;
+import com.lmax.simpledsl.api.RequiredArg;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlightRecorderEventsTest
+{
+    @Test
+    public void shouldBeDisabledByDefault()
+    {
+        assertFalse(FlightRecorderEvents.isSchemaNameRequired());
+        assertNull(FlightRecorderEvents.beginSchemaCompile());
+        assertNull(FlightRecorderEvents.beginParse());
+        assertNull(FlightRecorderEvents.beginGroupConsume());
+        assertNull(FlightRecorderEvents.beginConversion());
+    }
+
+    @Test
+    public void shouldParseAndConvertWhileEventsAreDisabled()
+    {
+        final DslParams params = new DslParamsParser().parse(new String[]{"a=1.50"}, new RequiredArg("a"));
+
+        assertEquals(new BigDecimal("1.50"), params.valueAsBigDecimal("a"));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslParams;
+import com.lmax.simpledsl.api.IntArg;
+import com.lmax.simpledsl.api.LongArg;
+import com.lmax.simpledsl.api.OptionalArg;
+import com.lmax.simpledsl.api.RepeatingArgGroup;
+import com.lmax.simpledsl.api.RepeatingGroup;
+import com.lmax.simpledsl.api.RequiredArg;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyValuesTest
+{
+    private final DslParamsParser parser = new DslParamsParser();
+
+    @Test
+    public void shouldSplitValuesTheSameWayAsWhenParsing()
+    {
+        final String[] args = {"ids: , a ,b,,  c ,,", "ids: ", "ids: ,,", "ids: d;e"};
+        final DslParams eager = parser.parse(args, new OptionalArg("ids").setAllowMultipleValues());
+        final DslParams lazy = parser.parse(args, new OptionalArg("ids").setSplitLazily());
+
+        final List<String> iterated = new ArrayList<>();
+        lazy.valuesIterator("ids").forEachRemaining(value -> iterated.add(value.toString()));
+
+        assertArrayEquals(eager.values("ids"), iterated.toArray(new String[0]));
+        assertArrayEquals(eager.values("ids"), lazy.values("ids"));
+    }
+
+    @Test
+    public void shouldSplitOnMultiCharacterSeparatorsTheSameWayAsWhenParsing()
+    {
+        assertSplitsTheSame("::", "1:::", "::", "a::::b:::", "::1", " : ");
+        assertSplitsTheSame("||", "a||||b|||", "||||", "|", "a|||");
+        assertSplitsTheSame("aa", "aaa", "aaaa", "baaab", "aaaaab aaa");
+    }
+
+    @Test
+    public void shouldSplitRandomValuesTheSameWayAsWhenParsing()
+    {
+        final String[] separators = {",", "::", "||", "aa", "aba"};
+        final char[] alphabet = {'a', 'b', ':', '|', ',', ' '};
+        final Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++)
+        {
+            final String[] suppliedValues = new String[1 + random.nextInt(3)];
+            for (int j = 0; j < suppliedValues.length; j++)
+            {
+                final char[] value = new char[random.nextInt(10)];
+                for (int k = 0; k < value.length; k++)
+                {
+                    value[k] = alphabet[random.nextInt(alphabet.length)];
+                }
+                suppliedValues[j] = new String(value);
+            }
+            assertSplitsTheSame(separators[random.nextInt(separators.length)], suppliedValues);
+        }
+    }
+
+    private void assertSplitsTheSame(final String separator, final String... suppliedValues)
+    {
+        final String[] args = new String[suppliedValues.length];
+        for (int i = 0; i < args.length; i++)
+        {
+            args[i] = "ids: " + suppliedValues[i];
+        }
+        final DslParams eager = parser.parse(args, new OptionalArg("ids").setAllowMultipleValues(separator));
+        final DslParams lazy = parser.parse(args, new OptionalArg("ids").setAllowMultipleValues(separator).setSplitLazily());
+
+        final List<String> iterated = new ArrayList<>();
+        lazy.valuesIterator("ids").forEachRemaining(value -> iterated.add(value.toString()));
+
+        final String message = separator + " " + Arrays.toString(suppliedValues);
+        assertArrayEquals(eager.values("ids"), lazy.values("ids"), message);
+        assertArrayEquals(eager.values("ids"), iterated.toArray(new String[0]), message);
+    }
+
+    @Test
+    public void shouldConvertValuesAsTheyAreRead()
+    {
+        final StringBuilder ids = new StringBuilder("ids: ");
+        for (int i = 0; i < 100_000; i++)
+        {
+            ids.append(i).append(", ");
+        }
+
+        final DslParams params = parser.parse(new String[]{ids.toString(), "prices: 1.5;-2", "counts: -7, +8"},
+                LongArg.optional("ids").setSplitLazily(),
+                new OptionalArg("prices").setAllowMultipleValues(";").setSplitLazily(),
+                IntArg.optional("counts").setSplitLazily());
+
+        final PrimitiveIterator.OfLong longs = params.valuesAsLongIterator("ids");
+        long sum = 0;
+        while (longs.hasNext())
+        {
+            sum += longs.nextLong();
+        }
+        assertEquals(4_999_950_000L, sum);
+
+        final PrimitiveIterator.OfDouble doubles = params.valuesAsDoubleIterator("prices");
+        assertEquals(1.5, doubles.nextDouble());
+        assertEquals(-2.0, doubles.nextDouble());
+        assertFalse(doubles.hasNext());
+
+        final PrimitiveIterator.OfInt ints = params.valuesAsIntIterator("counts");
+        assertEquals(-7, ints.nextInt());
+        assertEquals(8, ints.nextInt());
+        assertArrayEquals(new long[]{-7, 8}, params.valuesAsLongs("counts"));
+    }
+
+    @Test
+    public void shouldCheckValuesAsTheyAreRead()
+    {
+        final DslParams params = parser.parse(
+                new String[]{"sides: buy, SELL, hold", "quantities: 5, 500, x", "ids: 9223372036854775808"},
+                new OptionalArg("sides").setAllowedValues("buy", "sell").setSplitLazily(),
+                IntArg.optional("quantities").setMax(100).setSplitLazily(),
+                new OptionalArg("ids").setSplitLazily());
+
+        final Iterator<CharSequence> sides = params.valuesIterator("sides");
+        assertEquals("buy", sides.next());
+        assertEquals("sell", sides.next());
+        assertEquals(
+                "sides parameter value 'hold' must be one of: [buy, sell]",
+                assertThrows(IllegalArgumentException.class, sides::next).getMessage());
+
+        final PrimitiveIterator.OfInt quantities = params.valuesAsIntIterator("quantities");
+        assertEquals(5, quantities.nextInt());
+        assertEquals(
+                "quantities parameter value '500' must be at most 100",
+                assertThrows(IllegalArgumentException.class, quantities::nextInt).getMessage());
+        assertThrows(NumberFormatException.class, quantities::nextInt);
+        assertFalse(quantities.hasNext());
+
+        assertThrows(NumberFormatException.class, () -> params.valuesAsLongIterator("ids").nextLong());
+    }
+
+    @Test
+    public void shouldSplitPackedGroupValuesLazily()
+    {
+        try (BufferArena storage = new BufferArena())
+        {
+            final DslParams params = parser.withGroupStorage(storage).parse(
+                    new String[]{"order: o-1", "fills: 1, 2, 3"},
+                    new RepeatingArgGroup(new RequiredArg("order"), LongArg.optional("fills").setSplitLazily()));
+
+            final RepeatingGroup order = params.valuesAsGroup("order")[0];
+            assertEquals(3, order.valuesAsLongIterator("fills").nextLong() + 2);
+            assertArrayEquals(new String[]{"1", "2", "3"}, order.values("fills"));
+            assertEquals("1", order.value("fills"));
+            assertTrue(order.valuesIterator("fills").hasNext());
+        }
+    }
+}
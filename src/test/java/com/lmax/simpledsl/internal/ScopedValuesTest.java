@@ -0,0 +1,71 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.DslArg;
+import com.lmax.simpledsl.api.OptionalArg;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.RequiredArg;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ScopedValuesTest
+{
+    private final Map<String, List<String>> values = new HashMap<>();
+    private final AtomicInteger lookupCount = new AtomicInteger();
+    private final ScopedValues scopedValues = new ScopedValues(name ->
+    {
+        lookupCount.incrementAndGet();
+        return values.get(name);
+    });
+
+    @Test
+    void shouldResolveTheSlotsOfASchemaOnce()
+    {
+        values.put("instrument", Arrays.asList("GBPUSD"));
+        final DslArg[] dslArgs = {new RequiredArg("account"), new OptionalArg("instrument")};
+
+        final ScopedValues.ResolvedSlots resolvedSlots = scopedValues.resolve(dslArgs);
+
+        assertSame(resolvedSlots, scopedValues.resolve(dslArgs));
+        assertEquals(2, lookupCount.get());
+        assertNull(resolvedSlots.valuesOf(0));
+        assertEquals(Arrays.asList("GBPUSD"), resolvedSlots.valuesOf(1));
+    }
+
+    @Test
+    void shouldRecordTheValueThatWasRejected()
+    {
+        values.put("side", Arrays.asList("hold"));
+        final DslArg[] dslArgs = {new RequiredArg("side").setAllowedValues("buy", "sell")};
+
+        final ScopedValues.ResolvedSlots resolvedSlots = scopedValues.resolve(dslArgs);
+
+        assertNull(resolvedSlots.valuesOf(0));
+        assertEquals(ParseErrorCode.VALUE_NOT_ALLOWED, resolvedSlots.errorOf(0));
+        assertEquals("hold", resolvedSlots.rejectedValueOf(0));
+    }
+}
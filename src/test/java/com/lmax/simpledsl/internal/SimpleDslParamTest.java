@@ -15,14 +15,21 @@
  */
 package com.lmax.simpledsl.internal;
 
+import com.lmax.simpledsl.api.DslParams;
+import com.lmax.simpledsl.api.LongArg;
+import com.lmax.simpledsl.api.OptionalArg;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SimpleDslParamTest
 {
@@ -53,4 +60,46 @@ public class SimpleDslParamTest
 
         assertEquals("getValues() should be used when multiple values are allowed", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotBeAffectedByChangesToTheSuppliedOrReturnedValues()
+    {
+        final List<String> values = new ArrayList<>(asList("12", "34"));
+        final SimpleDslParam param = new SimpleDslParam("foo", values);
+
+        values.set(0, "56");
+        param.getValues()[1] = "78";
+
+        assertArrayEquals(new String[]{"12", "34"}, param.getValues());
+        assertThrows(UnsupportedOperationException.class, () -> param.getValuesAsList().set(0, "90"));
+    }
+
+    @Test
+    public void shouldCheckMembershipOfValues()
+    {
+        final StringBuilder ids = new StringBuilder("ids: ");
+        for (int i = -500; i < 500; i++)
+        {
+            ids.append(i * 7).append(',');
+        }
+
+        final DslParams params = new DslParamsParser().parse(
+                new String[]{ids.toString(), "sides: buy, SELL", "names: Joe, joe"},
+                LongArg.optional("ids").setAllowMultipleValues(),
+                new OptionalArg("sides").setAllowedValues("buy", "sell").setAllowMultipleValues(),
+                new OptionalArg("names").setSplitLazily());
+
+        assertTrue(params.containsLong("ids", 0));
+        assertTrue(params.containsLong("ids", -3500));
+        assertTrue(params.containsLong("ids", 3493));
+        assertFalse(params.containsLong("ids", 1));
+        assertFalse(params.containsLong("ids", 3500));
+        assertTrue(params.containsValue("ids", new StringBuilder("-7")));
+
+        assertTrue(params.containsValue("sides", "Sell"));
+        assertFalse(params.containsValue("sides", "hold"));
+        assertTrue(params.containsValue("names", "joe"));
+        assertFalse(params.containsValue("names", "JOE"));
+        assertThrows(NumberFormatException.class, () -> params.containsLong("names", 1));
+    }
+}
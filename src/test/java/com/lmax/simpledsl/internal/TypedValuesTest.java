@@ -0,0 +1,216 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.lmax.simpledsl.internal;
+
+import com.lmax.simpledsl.api.BooleanArg;
+import com.lmax.simpledsl.api.DateArg;
+import com.lmax.simpledsl.api.DateTimeArg;
+import com.lmax.simpledsl.api.DecimalArg;
+import com.lmax.simpledsl.api.DslParams;
+import com.lmax.simpledsl.api.DurationArg;
+import com.lmax.simpledsl.api.EnumArg;
+import com.lmax.simpledsl.api.IntArg;
+import com.lmax.simpledsl.api.LongArg;
+import com.lmax.simpledsl.api.ParseErrorCode;
+import com.lmax.simpledsl.api.ParseResult;
+import com.lmax.simpledsl.api.RepeatingArgGroup;
+import com.lmax.simpledsl.api.RepeatingGroup;
+import com.lmax.simpledsl.api.RequiredArg;
+import com.lmax.simpledsl.api.TimeArg;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypedValuesTest
+{
+    private final DslParamsParser parser = new DslParamsParser();
+
+    @Test
+    public void shouldConvertTypedValuesWhenParsing()
+    {
+        final DslParams params = parser.parse(
+                new String[]{"1", "2", "3.50", "buy", "TRUE"},
+                IntArg.required("quantity"),
+                LongArg.required("account"),
+                DecimalArg.required("price"),
+                EnumArg.required("side", Side.class),
+                BooleanArg.required("active"));
+
+        assertEquals(1, params.valueAsInt("quantity"));
+        assertEquals(2L, params.valueAsLong("account"));
+        assertEquals(new BigDecimal("3.50"), params.valueAsBigDecimal("price"));
+        assertEquals(Side.BUY, params.valueAs("side", Side.class));
+        assertTrue(params.valueAsBoolean("active"));
+    }
+
+    @Test
+    public void shouldContinueToReturnValuesAsStrings()
+    {
+        final DslParams params = parser.parse(
+                new String[]{"quantity: 1, 2", "side: sell"},
+                IntArg.required("quantity").setAllowMultipleValues(),
+                EnumArg.required("side", Side.class));
+
+        assertArrayEquals(new String[]{"1", "2"}, params.values("quantity"));
+        assertArrayEquals(new int[]{1, 2}, params.valuesAsInts("quantity"));
+        assertArrayEquals(new long[]{1, 2}, params.valuesAsLongs("quantity"));
+        assertEquals("SELL", params.value("side"));
+    }
+
+    @Test
+    public void shouldConvertDefaultValues()
+    {
+        final DslParams params = parser.parse(new String[0], IntArg.optional("retries").setDefault("3"), BooleanArg.optional("active"));
+
+        assertEquals(3, params.valueAsInt("retries"));
+        assertFalse(params.hasValue("active"));
+        assertEquals(0, params.valuesAsInts("active").length);
+    }
+
+    @Test
+    public void shouldReportValuesThatCanNotBeConverted()
+    {
+        final ParseResult result = parser.tryParse(
+                new String[]{"many", "lots"},
+                IntArg.required("quantity"),
+                DecimalArg.required("price"));
+
+        assertFalse(result.isSuccess());
+        assertEquals(ParseErrorCode.INVALID_VALUE, result.getFirstError().getCode());
+        assertEquals("quantity parameter value 'many' is not a valid Integer", result.getFirstError().getMessage());
+    }
+
+    @Test
+    public void shouldReportValuesOutsideTheirBounds()
+    {
+        final ParseResult result = parser.tryParse(
+                new String[]{"0", "11", "12", "-0.01"},
+                true,
+                IntArg.required("a").setMin(1).setMax(10),
+                LongArg.required("b").setMax(10),
+                IntArg.required("c").setMin(1).setMax(10),
+                DecimalArg.required("d").setMin(BigDecimal.ZERO));
+
+        assertEquals(4, result.getErrors().size());
+        assertEquals(ParseErrorCode.VALUE_OUT_OF_RANGE, result.getFirstError().getCode());
+        assertEquals("a parameter value '0' must be between 1 and 10", result.getErrors().get(0).getMessage());
+        assertEquals("b parameter value '11' must be at most 10", result.getErrors().get(1).getMessage());
+        assertEquals("d parameter value '-0.01' must be at least 0", result.getErrors().get(3).getMessage());
+    }
+
+    @Test
+    public void shouldRejectValuesThatAreNotEnumConstants()
+    {
+        final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"hold"}, EnumArg.required("side", Side.class)));
+
+        assertEquals("side parameter value 'hold' must be one of: [BUY, SELL]", exception.getMessage());
+    }
+
+    @Test
+    public void shouldConvertTemporalValuesWhenParsing()
+    {
+        final DslParams params = parser.parse(
+                new String[]{"time: 10:30:00.125", "expiry: 01/12/2026", "at: 2026-12-01T10:30:00Z", "timeout: 250ms"},
+                TimeArg.required("time"),
+                DateArg.required("expiry").setPattern("dd/MM/yyyy"),
+                DateTimeArg.required("at"),
+                DurationArg.required("timeout"));
+
+        assertEquals(LocalTime.parse("10:30:00.125").toNanoOfDay(), params.valueAsNanosOfDay("time"));
+        assertEquals(LocalDate.of(2026, 12, 1).toEpochDay(), params.valueAsEpochDay("expiry"));
+        assertEquals(Instant.parse("2026-12-01T10:30:00Z").toEpochMilli(), params.valueAsEpochMillis("at"));
+        assertEquals(LocalDate.of(2026, 12, 1).toEpochDay(), params.valueAsEpochDay("at"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), params.valueAsDurationNanos("timeout"));
+        assertEquals(LocalDate.of(2026, 12, 1), params.valueAsType("expiry", LocalDate.class));
+        assertEquals("01/12/2026", params.value("expiry"));
+    }
+
+    @Test
+    public void shouldNotReadTemporalValuesAsLongs()
+    {
+        final DslParams params = parser.parse(new String[]{"timeout: 5s"}, DurationArg.required("timeout"));
+
+        assertThrows(NumberFormatException.class, () -> params.valueAsLong("timeout"));
+        assertThrows(IllegalArgumentException.class, () -> params.valueAsEpochNanos("timeout"));
+    }
+
+    @Test
+    public void shouldReportTemporalValuesThatCanNotBeParsed()
+    {
+        final ParseResult result = parser.tryParse(
+                new String[]{"expiry: 2026-02-30", "timeout: soon"},
+                true,
+                DateArg.required("expiry"),
+                DurationArg.required("timeout"));
+
+        assertEquals(2, result.getErrors().size());
+        assertEquals(ParseErrorCode.INVALID_VALUE, result.getFirstError().getCode());
+        assertEquals("expiry parameter value '2026-02-30' is not a valid LocalDate", result.getErrors().get(0).getMessage());
+        assertEquals("timeout parameter value 'soon' is not a valid Duration", result.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    public void shouldConvertTypedValuesInRepeatingGroups()
+    {
+        final DslParams params = parser.parse(
+                new String[]{"order: a", "quantity: 5", "order: b", "quantity: 7"},
+                new RepeatingArgGroup(new RequiredArg("order"), IntArg.required("quantity").setMax(10)));
+
+        final RepeatingGroup[] orders = params.valuesAsGroup("order");
+        assertEquals(5, orders[0].valueAsInt("quantity"));
+        assertEquals(7L, orders[1].valueAsLong("quantity"));
+
+        final ParseResult result = parser.tryParse(
+                new String[]{"order: a", "quantity: 11"},
+                new RepeatingArgGroup(new RequiredArg("order"), IntArg.required("quantity").setMax(10)));
+        assertEquals("order", result.getFirstError().getGroupName());
+        assertEquals(ParseErrorCode.VALUE_OUT_OF_RANGE, result.getFirstError().getCode());
+    }
+
+    @Test
+    public void shouldNotAllowADefaultForARequiredTypedArg()
+    {
+        assertThrows(IllegalArgumentException.class, () -> IntArg.required("quantity").setDefault("1"));
+    }
+
+    @Test
+    public void shouldNotAllowBoundsToChangeOnceFrozen()
+    {
+        final IntArg arg = IntArg.required("quantity").freeze();
+
+        assertThrows(IllegalStateException.class, () -> arg.setMin(1));
+    }
+
+    private enum Side
+    {
+        BUY,
+        SELL
+    }
+}